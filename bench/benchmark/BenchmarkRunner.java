@@ -0,0 +1,39 @@
+package benchmark;
+
+import control.RejectedCandidateBenchmark;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkRunner.java - Runs the benchmarks in this package, and the {@link RejectedCandidateBenchmark} that sits in
+ * the control package, with the GC profiler attached, so every result comes with its allocation rate.  Any of the
+ * usual JMH command line options can be passed in to override the defaults, for example "-p words=10,50" to only run
+ * the small dictionaries.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ */
+public class BenchmarkRunner {
+	/**
+	 * Run the benchmarks.
+	 *
+	 * @param args JMH command line options.
+	 * @throws RunnerException            Thrown if a benchmark fails to run.
+	 * @throws CommandLineOptionException Thrown if the options can't be parsed.
+	 */
+	public static void main( String[] args ) throws RunnerException, CommandLineOptionException {
+		Options options = new OptionsBuilder( )
+				.parent( new CommandLineOptions( args ) )
+				.include( BenchmarkRunner.class.getPackage( ).getName( ) + "\\..*" )
+				.include( RejectedCandidateBenchmark.class.getName( ) )
+				.addProfiler( GCProfiler.class )
+				.build( );
+
+		new Runner( options ).run( );
+	}
+}
@@ -0,0 +1,106 @@
+package benchmark;
+
+import control.GridController;
+import model.DictionaryFile;
+import model.Grid;
+import model.IncompleteWordException;
+import model.PuzzleGenerationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GridControllerBenchmark.java - Measures {@link GridController#createGrid(DictionaryFile)} across dictionary sizes.
+ * Throughput and sampled latency (p99 and the other percentiles) are reported by JMH, the allocation rate by the GC
+ * profiler that {@link BenchmarkRunner} attaches, and the restarts and failures by {@link GenerationCounters}.
+ *
+ * Each invocation reshuffles the dictionary from the trial seed before building, so the sequence of {@link Grid}s,
+ * and therefore the result, is the same from run to run.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see BenchmarkRunner
+ */
+@State( Scope.Thread )
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime } )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 5, time = 5 )
+@Fork( 2 )
+public class GridControllerBenchmark {
+	/** The number of words in the generated dictionary. */
+	@Param( { "10", "50", "200", "1000", "10000" } )
+	public int words;
+
+	/** The seed of the dictionary words, their order and the {@link GridController}. */
+	@Param( "20170215" )
+	public long seed;
+
+	/** The dictionary the {@link Grid}s are built from. */
+	private DictionaryFile dictionaryFile;
+
+	/** The {@link GridController} under test. */
+	private GridController gridController;
+
+	/** Reshuffles the dictionary before each {@link Grid}. */
+	private Random random;
+
+	/**
+	 * Generate the dictionary and a seeded {@link GridController} for this trial.
+	 *
+	 * @throws IOException             Thrown if the dictionary could not be written.
+	 * @throws IncompleteWordException Never thrown for a generated dictionary.
+	 */
+	@Setup( Level.Trial )
+	public void setUp() throws IOException, IncompleteWordException {
+		dictionaryFile = SeededDictionary.create( words, seed );
+		gridController = new GridController( seed );
+		random = new Random( seed );
+	}
+
+	/**
+	 * Build one {@link Grid}.
+	 *
+	 * @param counters Where the restarts and failures of this invocation are added up.
+	 * @return The {@link Grid}, returned so that it is not optimized away, or null if generation gave up.
+	 */
+	@Benchmark
+	public Grid createGrid( GenerationCounters counters ) {
+		Grid grid = null;
+		dictionaryFile.reset( random );
+
+		try {
+			grid = gridController.createGrid( dictionaryFile );
+		} catch ( PuzzleGenerationException pge ) {
+			counters.failures++;
+		}
+
+		counters.restarts += gridController.getRestarts( );
+		return grid;
+	}
+
+	/**
+	 * GenerationCounters - Extra results reported next to the timings.  JMH reports each public field as a total per
+	 * iteration, divide by the number of operations for a per-{@link Grid} figure.
+	 */
+	@State( Scope.Thread )
+	@AuxCounters( AuxCounters.Type.EVENTS )
+	public static class GenerationCounters {
+		/** How many times the board was cleared and started over. */
+		public long restarts;
+
+		/** How many {@link Grid}s could not be built at all. */
+		public long failures;
+
+		/**
+		 * Start each iteration from zero.
+		 */
+		@Setup( Level.Iteration )
+		public void clear() {
+			restarts = 0;
+			failures = 0;
+		}
+	}
+}
@@ -0,0 +1,301 @@
+package benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PuzzleServerLoadTest.java - Sends puzzle requests to a running {@link control.PuzzleServer} from several threads at
+ * once and reports the throughput, the status codes and the spread of the latencies.  Every request gets its own seed
+ * counted up from the first one.  The first seed is random unless one is given, since a second run with the same seeds
+ * is answered from the {@link control.GridCache} of the server and no longer measures generation.  For JSON the
+ * number of puzzles the server took from its cache is reported too.
+ *
+ * Usage: PuzzleServerLoadTest [-u url] [-c clients] [-n requests] [-w warmup] [-f format] [-s seed]
+ * (-d dictionary id | -l word list file)
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ */
+public class PuzzleServerLoadTest {
+	/** Where the server listens unless told otherwise. {@value} */
+	private static final String DEFAULT_URL = "http://localhost:8080";
+
+	/** The base URL of the server. */
+	private final String url;
+
+	/** The dictionary id to ask for, or null to send the word list. */
+	private final String dictionary;
+
+	/** The word list sent in the body of every request, used when there is no dictionary id. */
+	private final byte[] wordList;
+
+	/** The format to ask for. */
+	private final String format;
+
+	/**
+	 * Create a load test.
+	 *
+	 * @param url        The base URL of the server.
+	 * @param dictionary The dictionary id to ask for, or null to send the word list.
+	 * @param wordList   The word list to send, used when there is no dictionary id.
+	 * @param format     The format to ask for.
+	 */
+	private PuzzleServerLoadTest( String url, String dictionary, byte[] wordList, String format ) {
+		this.url = url;
+		this.dictionary = dictionary;
+		this.wordList = wordList;
+		this.format = format;
+	}
+
+	/**
+	 * Parse the options, warm the server up and run the load test.
+	 *
+	 * @param args The options, see the class comment.
+	 * @throws IOException          Thrown if the word list can't be read.
+	 * @throws InterruptedException Thrown if interrupted while waiting for the clients.
+	 * @throws ExecutionException   Thrown if a client fails unexpectedly.
+	 */
+	public static void main( String[] args ) throws IOException, InterruptedException, ExecutionException {
+		String url = DEFAULT_URL;
+		String dictionary = null;
+		byte[] wordList = null;
+		String format = "json";
+		int clients = 8;
+		int requests = 200;
+		int warmup = 20;
+		long seed = new Random( ).nextLong( );
+
+		for ( int i = 0; i + 1 < args.length; i += 2 ) {
+			switch ( args[i] ) {
+				case "-u":
+					url = args[i + 1];
+					break;
+				case "-d":
+					dictionary = args[i + 1];
+					break;
+				case "-l":
+					wordList = Files.readAllBytes( new File( args[i + 1] ).toPath( ) );
+					break;
+				case "-f":
+					format = args[i + 1];
+					break;
+				case "-c":
+					clients = Integer.parseInt( args[i + 1] );
+					break;
+				case "-n":
+					requests = Integer.parseInt( args[i + 1] );
+					break;
+				case "-w":
+					warmup = Integer.parseInt( args[i + 1] );
+					break;
+				case "-s":
+					seed = Long.parseLong( args[i + 1] );
+					break;
+				default:
+					throw new IllegalArgumentException( "Unknown option " + args[i] );
+			}
+		}
+
+		if ( dictionary == null && wordList == null )
+			throw new IllegalArgumentException( "Expected a dictionary id (-d) or a word list file (-l)." );
+
+		System.out.println( "Seeds counted up from " + seed );
+		PuzzleServerLoadTest test = new PuzzleServerLoadTest( url, dictionary, wordList, format );
+		test.run( clients, warmup, seed - warmup );
+		test.run( clients, requests, seed ).print( System.out );
+	}
+
+	/**
+	 * Send a number of requests from several clients at once.
+	 *
+	 * @param clients   How many requests are open at the same time.
+	 * @param requests  How many requests to send in all.
+	 * @param firstSeed The seed of the first request.
+	 * @return The {@link Results}.
+	 * @throws InterruptedException Thrown if interrupted while waiting for the clients.
+	 * @throws ExecutionException   Thrown if a client fails unexpectedly.
+	 */
+	private Results run( int clients, int requests, long firstSeed ) throws InterruptedException, ExecutionException {
+		Results results = new Results( requests );
+		AtomicInteger next = new AtomicInteger( );
+		ExecutorService pool = Executors.newFixedThreadPool( Math.max( 1, clients ) );
+
+		long start = System.nanoTime( );
+		try {
+			ArrayList< Future< ? > > running = new ArrayList< Future< ? > >( );
+			for ( int c = 0; c < clients; c++ ) {
+				running.add( pool.submit( () -> {
+					for ( int i = next.getAndIncrement( ); i < requests; i = next.getAndIncrement( ) )
+						results.record( i, send( firstSeed + i ) );
+				} ) );
+			}
+
+			for ( Future< ? > client : running )
+				client.get( );
+		} finally {
+			pool.shutdownNow( );
+		}
+		results.nanos = System.nanoTime( ) - start;
+
+		return results;
+	}
+
+	/**
+	 * Send one request and time it, reading the whole response.
+	 *
+	 * @param seed The seed of the puzzle.
+	 * @return The status, the latency in nanoseconds, the size of the body and 1 if the body is JSON that says the
+	 * puzzle was cached, a status of 0 if the connection failed.
+	 */
+	private long[] send( long seed ) {
+		long start = System.nanoTime( );
+		int status;
+		long received = 0;
+		long cached = 0;
+
+		try {
+			String query = "/puzzles?format=" + format + "&seed=" + seed;
+			if ( dictionary != null )
+				query += "&dictionary=" + URLEncoder.encode( dictionary, "UTF-8" );
+
+			HttpURLConnection connection = ( HttpURLConnection ) new URL( url + query ).openConnection( );
+			if ( dictionary == null ) {
+				connection.setRequestMethod( "POST" );
+				connection.setDoOutput( true );
+				connection.setFixedLengthStreamingMode( wordList.length );
+				try ( OutputStream out = connection.getOutputStream( ) ) {
+					out.write( wordList );
+				}
+			}
+
+			status = connection.getResponseCode( );
+			InputStream in = status < 400 ? connection.getInputStream( ) : connection.getErrorStream( );
+			if ( in != null ) {
+				ByteArrayOutputStream json = new ByteArrayOutputStream( );
+				try ( InputStream body = in ) {
+					byte[] buffer = new byte[ 8192 ];
+					for ( int read = body.read( buffer ); read != -1; read = body.read( buffer ) ) {
+						received += read;
+						if ( format.equals( "json" ) )
+							json.write( buffer, 0, read );
+					}
+				}
+
+				if ( json.toString( "UTF-8" ).contains( "\"cached\": true" ) )
+					cached = 1;
+			}
+		} catch ( IOException ioe ) {
+			status = 0;
+		}
+
+		return new long[]{ status, System.nanoTime( ) - start, received, cached };
+	}
+
+	/**
+	 * Results - The status and latency of every request of a run.
+	 */
+	private static class Results {
+		/** The status of each request. */
+		private final int[] statuses;
+
+		/** The latency of each request in nanoseconds. */
+		private final long[] latencies;
+
+		/** The size of the body of each response in bytes. */
+		private final long[] sizes;
+
+		/** Whether each puzzle was taken from the cache of the server, only known for JSON. */
+		private final boolean[] cached;
+
+		/** How long the whole run took in nanoseconds. */
+		private long nanos;
+
+		/**
+		 * Create empty results.
+		 *
+		 * @param requests How many requests the run sends.
+		 */
+		Results( int requests ) {
+			statuses = new int[ requests ];
+			latencies = new long[ requests ];
+			sizes = new long[ requests ];
+			cached = new boolean[ requests ];
+		}
+
+		/**
+		 * Record one request, each index is only written by one client.
+		 *
+		 * @param index    The index of the request.
+		 * @param response The status, the latency, the size of the body and whether the puzzle was cached.
+		 */
+		void record( int index, long[] response ) {
+			statuses[index] = ( int ) response[0];
+			latencies[index] = response[1];
+			sizes[index] = response[2];
+			cached[index] = response[3] == 1;
+		}
+
+		/**
+		 * Print the throughput, the count of every status, the latency percentiles, the average response size and how
+		 * many puzzles were cached.
+		 *
+		 * @param out Where to print.
+		 */
+		void print( PrintStream out ) {
+			TreeMap< Integer, Integer > counts = new TreeMap< Integer, Integer >( );
+			for ( int status : statuses )
+				counts.merge( status, 1, Integer::sum );
+
+			long[] sorted = latencies.clone( );
+			Arrays.sort( sorted );
+
+			out.printf( "%d requests in %.2f s, %.1f requests/s%n", statuses.length, nanos / 1e9,
+					statuses.length / ( nanos / 1e9 ) );
+			for ( Map.Entry< Integer, Integer > count : counts.entrySet( ) )
+				out.printf( "  status %s: %d%n", count.getKey( ) == 0 ? "failed" : count.getKey( ), count.getValue( ) );
+			if ( sorted.length > 0 )
+				out.printf( "  latency ms: p50 %.1f, p90 %.1f, p99 %.1f, max %.1f%n", percentile( sorted, .5 ),
+						percentile( sorted, .9 ), percentile( sorted, .99 ), sorted[sorted.length - 1] / 1e6 );
+			if ( sizes.length > 0 )
+				out.printf( "  average response: %d bytes%n", Arrays.stream( sizes ).sum( ) / sizes.length );
+
+			int cachedCount = 0;
+			for ( boolean c : cached ) {
+				if ( c )
+					cachedCount++;
+			}
+			if ( cachedCount > 0 )
+				out.printf( "  cached by the server: %d of %d, they don't measure generation%n", cachedCount,
+						cached.length );
+		}
+
+		/**
+		 * Get a percentile of sorted latencies.
+		 *
+		 * @param sorted   The latencies in nanoseconds, sorted.
+		 * @param fraction The percentile as a fraction.
+		 * @return The latency in milliseconds.
+		 */
+		private static double percentile( long[] sorted, double fraction ) {
+			return sorted[Math.min( sorted.length - 1, ( int ) ( fraction * sorted.length ) )] / 1e6;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import model.DictionaryFile;
+import model.IncompleteWordException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+/**
+ * SeededDictionary.java - Builds reproducible {@link DictionaryFile}s for the benchmarks.  The same size and seed
+ * always produce the same words, so runs on different machines and different versions of the engine can be compared.
+ * Letters are drawn with roughly the frequencies of English text so that crossings are about as common as in a real
+ * dictionary.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ */
+public class SeededDictionary {
+	/** The letters words are built from, repeated roughly by how often they occur in English text. */
+	private static final String LETTERS =
+			"eeeeeeeeeeeetttttttttaaaaaaaaoooooooiiiiiiinnnnnnnsssssshhhhhhrrrrrrddddllllcccuuummmwwffggyyppbbvkjxqz";
+
+	/** The length of the shortest generated word. {@value} */
+	private static final int MIN_LENGTH = 3;
+
+	/** The length of the longest generated word. {@value} */
+	private static final int MAX_LENGTH = 10;
+
+	/**
+	 * Generate a dictionary of distinct words and load it through the normal {@link DictionaryFile} parser.
+	 *
+	 * @param words How many words the dictionary should contain.
+	 * @param seed  The seed that decides the words.
+	 * @return The loaded {@link DictionaryFile}.
+	 * @throws IOException             Thrown if the temporary dictionary file could not be written.
+	 * @throws IncompleteWordException Never thrown for a generated file.
+	 */
+	public static DictionaryFile create( int words, long seed ) throws IOException, IncompleteWordException {
+		File file = File.createTempFile( "dictionary-" + words + "-" + seed, ".txt" );
+
+		try {
+			PrintWriter writer = new PrintWriter( file, "UTF-8" );
+			for ( String word : generateWords( words, new Random( seed ) ) )
+				writer.println( word + " Definition of " + word );
+			writer.close( );
+
+			return new DictionaryFile( file );
+		} finally {
+			file.delete( );
+		}
+	}
+
+	/**
+	 * Draw random words until there are enough distinct ones.
+	 *
+	 * @param words  How many words to generate.
+	 * @param random The {@link Random} to draw letters and lengths from.
+	 * @return The words in the order they were generated.
+	 */
+	private static LinkedHashSet< String > generateWords( int words, Random random ) {
+		LinkedHashSet< String > generated = new LinkedHashSet< String >( );
+		StringBuilder builder = new StringBuilder( MAX_LENGTH );
+
+		while ( generated.size( ) < words ) {
+			int length = MIN_LENGTH + random.nextInt( MAX_LENGTH - MIN_LENGTH + 1 );
+
+			builder.setLength( 0 );
+			for ( int i = 0; i < length; i++ )
+				builder.append( LETTERS.charAt( random.nextInt( LETTERS.length( ) ) ) );
+
+			generated.add( builder.toString( ) );
+		}
+
+		return generated;
+	}
+}
@@ -0,0 +1,106 @@
+package control;
+
+import benchmark.BenchmarkRunner;
+import benchmark.SeededDictionary;
+import model.DictionaryFile;
+import model.Grid;
+import model.IncompleteWordException;
+import model.PuzzleGenerationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RejectedCandidateBenchmark.java - Measures the candidate search of {@link GridController} on its own, for a word
+ * that crosses the board in many places but fits in none of them.  The board is built once per trial, then every
+ * invocation generates and tests all the placements of the same word and rejects every one.  Run through
+ * {@link BenchmarkRunner}, the GC profiler should report about 0 B/op in gc.alloc.rate.norm: rejecting a candidate
+ * allocates nothing once the scratch buffers have grown.
+ *
+ * It lives in the control package so it can reach {@link GridController#generateCandidates(String)}.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see BenchmarkRunner
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 2 )
+public class RejectedCandidateBenchmark {
+	/** The number of words in the generated dictionary the board is built from. */
+	@Param( { "200", "1000" } )
+	public int words;
+
+	/** The seed of the dictionary words, their order and the {@link GridController}. */
+	@Param( "20170215" )
+	public long seed;
+
+	/** Pads the letters of the rejected word, never a letter of the generated dictionaries. */
+	private static final char FILLER = '#';
+
+	/** The letters, most common in English text first. */
+	private static final String LETTERS = "etaoinshrdlcumwfgypbvkjxqz";
+
+	/** The {@link GridController} holding the finished board. */
+	private GridController gridController;
+
+	/** The word whose every candidate is rejected, null until one is found. */
+	private String rejected;
+
+	/**
+	 * Build the board and pick a word whose every placement is rejected: a letter padded on both sides with a filler
+	 * that is not on the board, longer than the board is wide or tall.  The word can only cross at that letter, and any
+	 * placement through it runs the whole width or height of the board, so it nearly always runs into another word.
+	 * The most common letter that is rejected at every one of its crossings is used.
+	 *
+	 * @throws IOException               Thrown if the dictionary could not be written.
+	 * @throws IncompleteWordException   Never thrown for a generated dictionary.
+	 * @throws PuzzleGenerationException Thrown if the board could not be built.
+	 * @throws IllegalStateException     Thrown if no letter of the board is rejected everywhere.
+	 */
+	@Setup( Level.Trial )
+	public void setUp() throws IOException, IncompleteWordException, PuzzleGenerationException {
+		DictionaryFile dictionaryFile = SeededDictionary.create( words, seed );
+		gridController = new GridController( seed );
+		Grid grid = gridController.createGrid( dictionaryFile );
+
+		String padding = repeat( FILLER, Math.max( grid.getWidth( ), grid.getHeight( ) ) );
+		for ( int i = 0; i < LETTERS.length( ) && rejected == null; i++ ) {
+			String word = padding + LETTERS.charAt( i ) + padding;
+			if ( gridController.generateCandidates( word ) == 0 )
+				rejected = word;
+		}
+
+		if ( rejected == null )
+			throw new IllegalStateException( "No letter of the board is rejected at every crossing." );
+	}
+
+	/**
+	 * Generate and test every placement of the rejected word.
+	 *
+	 * @return The number of candidates that passed, always 0, returned so the search is not optimized away.
+	 */
+	@Benchmark
+	public int rejectCandidates() {
+		return gridController.generateCandidates( rejected );
+	}
+
+	/**
+	 * Repeat a char.
+	 *
+	 * @param c       The char.
+	 * @param repeats How many times to repeat it.
+	 * @return The repeated char.
+	 */
+	private static String repeat( char c, int repeats ) {
+		char[] chars = new char[ repeats ];
+		Arrays.fill( chars, c );
+
+		return new String( chars );
+	}
+}
@@ -0,0 +1,217 @@
+import control.BatchController;
+import control.GenerationMetrics;
+import control.PngEncoder;
+import model.CompiledDictionary;
+import model.IncompleteWordException;
+import model.OutputFormat;
+import model.PageSetup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * BatchDriver.java - Headless driver that generates puzzle packs from the command line, see {@link #USAGE}.
+ *
+ * @author - Andrew M.
+ * @version - 16/Feb/2017
+ * @see BatchController
+ */
+public class BatchDriver {
+	/** The help text printed when the arguments can't be understood. */
+	private static final String USAGE =
+			"Usage: BatchDriver [options] <dictionary file or directory>...\n" +
+			"       BatchDriver --compile <dictionary.txt> <dictionary" + CompiledDictionary.EXTENSION + ">\n" +
+			"  -c, --compile        compile a text dictionary into the faster loading " + CompiledDictionary.EXTENSION +
+			" format and exit\n" +
+			"  -n, --count <n>      puzzles to generate per dictionary (default 1)\n" +
+			"  -s, --seed <seed>    seed for the whole batch (default random)\n" +
+			"  -o, --output <dir>   directory for the images and " + BatchController.SUMMARY_FILE +
+			" (default puzzles)\n" +
+			"  -t, --threads <n>    puzzles generated at the same time (default one per core)\n" +
+			"  -f, --format <fmt>   png, svg or pdf (default png)\n" +
+			"  -p, --page <WxH>     paper size in inches, like 24x36 for a poster (default 8.5x11)\n" +
+			"  -d, --dpi <n>        pixels per inch of the pages (default " + PageSetup.LETTER.getPixelsPerInch( ) +
+			")\n" +
+			"  -z, --compression <level>\n" +
+			"                       PNG deflate level 0-9, or fast or small (default " + PngEncoder.DEFAULT_LEVEL +
+			")\n" +
+			"      --portfolio <n>  race n attempts for every puzzle, puzzles no longer follow from the seed\n" +
+			"      --budget <ms>    with --portfolio, keep the most compact grid found in ms (default first found)";
+
+	/**
+	 * Parse the arguments and run the batch, with its {@link GenerationMetrics} visible over JMX, or compile a
+	 * dictionary if the first argument is --compile.  Exits with 1 if any puzzle failed and 2 if the arguments are
+	 * invalid.
+	 *
+	 * @param args {@link String} array of arguments passed via the commandline.
+	 */
+	public static void main( String[] args ) {
+		System.setProperty( "java.awt.headless", "true" );
+
+		if ( args.length > 0 && ( args[0].equals( "-c" ) || args[0].equals( "--compile" ) ) )
+			System.exit( compile( args ) );
+
+		int count = 1;
+		long seed = new Random( ).nextLong( );
+		File output = new File( "puzzles" );
+		int threads = Runtime.getRuntime( ).availableProcessors( );
+		int compression = PngEncoder.DEFAULT_LEVEL;
+		OutputFormat format = OutputFormat.PNG;
+		String paperSize = PageSetup.LETTER.getPaperSize( );
+		int dpi = PageSetup.LETTER.getPixelsPerInch( );
+		int portfolio = 0;
+		long budget = 0;
+		List< File > paths = new ArrayList< File >( );
+
+		int status = 0;
+		try {
+			for ( int i = 0; i < args.length; i++ ) {
+				switch ( args[i] ) {
+					case "-n":
+					case "--count":
+						count = Integer.parseInt( valueOf( args, ++i ) );
+						break;
+					case "-s":
+					case "--seed":
+						seed = Long.parseLong( valueOf( args, ++i ) );
+						break;
+					case "-o":
+					case "--output":
+						output = new File( valueOf( args, ++i ) );
+						break;
+					case "-t":
+					case "--threads":
+						threads = Integer.parseInt( valueOf( args, ++i ) );
+						break;
+					case "-f":
+					case "--format":
+						format = OutputFormat.valueOf( valueOf( args, ++i ).toUpperCase( Locale.ROOT ) );
+						break;
+					case "-p":
+					case "--page":
+						paperSize = valueOf( args, ++i );
+						break;
+					case "-d":
+					case "--dpi":
+						dpi = Integer.parseInt( valueOf( args, ++i ) );
+						break;
+					case "-z":
+					case "--compression":
+						compression = compressionOf( valueOf( args, ++i ) );
+						break;
+					case "--portfolio":
+						portfolio = Integer.parseInt( valueOf( args, ++i ) );
+						break;
+					case "--budget":
+						budget = Long.parseLong( valueOf( args, ++i ) );
+						break;
+					default:
+						paths.add( new File( args[i] ) );
+						break;
+				}
+			}
+
+			if ( paths.isEmpty( ) || count < 1 || threads < 1 )
+				throw new IllegalArgumentException( "Expected at least one dictionary and positive counts." );
+			if ( compression < 0 || compression > 9 )
+				throw new IllegalArgumentException( "The compression level must be between 0 and 9." );
+			if ( portfolio < 0 || budget < 0 || ( budget > 0 && portfolio == 0 ) )
+				throw new IllegalArgumentException( "Expected a positive portfolio, and a budget only with one." );
+
+			BatchController batch = new BatchController( output, count, seed, threads, compression, format,
+					PageSetup.parse( paperSize, dpi ) );
+			batch.setPortfolio( portfolio, budget );
+			List< File > dictionaries = BatchController.findDictionaries( paths );
+
+			GenerationMetrics.register( );
+			System.out.println( "Generating " + count * dictionaries.size( ) + " puzzles with seed " + seed + "..." );
+			int failures = batch.run( dictionaries );
+			System.out.println( "Done, " + failures + " failed.  See " +
+					new File( output, BatchController.SUMMARY_FILE ) );
+
+			if ( failures > 0 )
+				status = 1;
+		} catch ( IllegalArgumentException iae ) {
+			System.err.println( iae.getMessage( ) );
+			System.err.println( USAGE );
+			status = 2;
+		} catch ( IOException ioe ) {
+			System.err.println( ioe.getMessage( ) );
+			status = 2;
+		} catch ( InterruptedException ie ) {
+			System.err.println( "Interrupted." );
+			status = 1;
+		}
+
+		System.exit( status );
+	}
+
+	/**
+	 * Compile a text dictionary into a {@link CompiledDictionary}, for the "--compile <in> <out>" mode.
+	 *
+	 * @param args The arguments, the option followed by the text dictionary and the compiled file.
+	 * @return 0 if the dictionary was compiled, 1 if it could not be and 2 if the arguments are invalid.
+	 */
+	private static int compile( String[] args ) {
+		int status = 0;
+
+		if ( args.length != 3 ) {
+			System.err.println( "Expected a text dictionary and a compiled file to write." );
+			System.err.println( USAGE );
+			status = 2;
+		}
+		else {
+			try {
+				CompiledDictionary.compile( new File( args[1] ), new File( args[2] ) );
+				System.out.println( "Compiled " + args[1] + " into " + args[2] );
+			} catch ( IncompleteWordException iwe ) {
+				System.err.println( iwe.getMessage( ) );
+				status = 1;
+			} catch ( IOException ioe ) {
+				System.err.println( ioe.getMessage( ) );
+				status = 1;
+			}
+		}
+
+		return status;
+	}
+
+	/**
+	 * Get the value that follows an option.
+	 *
+	 * @param args  The arguments.
+	 * @param index The index of the value.
+	 * @return The value.
+	 * @throws IllegalArgumentException Thrown if the option is the last argument.
+	 */
+	private static String valueOf( String[] args, int index ) {
+		if ( index >= args.length )
+			throw new IllegalArgumentException( "Missing value for " + args[index - 1] );
+
+		return args[index];
+	}
+
+	/**
+	 * Read a compression level, either a number or one of the names fast and small.
+	 *
+	 * @param value The value given on the command line.
+	 * @return The deflate level.
+	 * @throws NumberFormatException Thrown if the value is neither a name nor a number.
+	 */
+	private static int compressionOf( String value ) {
+		int level;
+
+		if ( value.equals( "fast" ) )
+			level = PngEncoder.FAST;
+		else if ( value.equals( "small" ) )
+			level = PngEncoder.SMALL;
+		else
+			level = Integer.parseInt( value );
+
+		return level;
+	}
+}
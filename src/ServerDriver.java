@@ -0,0 +1,109 @@
+import control.GenerationMetrics;
+import control.PuzzleServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * ServerDriver.java - Headless driver that serves puzzles over HTTP until it is stopped, see {@link #USAGE}.
+ *
+ * @author - Andrew M.
+ * @version - 16/Feb/2017
+ * @see PuzzleServer
+ */
+public class ServerDriver {
+	/** The help text printed when the arguments can't be understood. */
+	private static final String USAGE =
+			"Usage: ServerDriver [options] <dictionary directory>\n" +
+			"  -p, --port <n>       port to listen on (default " + PuzzleServer.DEFAULT_PORT + ")\n" +
+			"  -b, --bind <host>    address to listen on (default localhost)\n" +
+			"  -t, --threads <n>    puzzles generated at the same time (default one per core)\n" +
+			"      --portfolio <n>  race n attempts for every puzzle, puzzles no longer follow from the seed\n" +
+			"      --budget <ms>    with --portfolio, keep the most compact grid found in ms (default first found)";
+
+	/**
+	 * Parse the arguments and start the server, with its {@link GenerationMetrics} visible over JMX.  Exits with 2 if
+	 * the arguments are invalid or the server can't start.
+	 *
+	 * @param args {@link String} array of arguments passed via the commandline.
+	 */
+	public static void main( String[] args ) {
+		System.setProperty( "java.awt.headless", "true" );
+
+		int port = PuzzleServer.DEFAULT_PORT;
+		String host = "localhost";
+		int threads = Runtime.getRuntime( ).availableProcessors( );
+		int portfolio = 0;
+		long budget = 0;
+		File directory = null;
+
+		try {
+			for ( int i = 0; i < args.length; i++ ) {
+				switch ( args[i] ) {
+					case "-p":
+					case "--port":
+						port = Integer.parseInt( valueOf( args, ++i ) );
+						break;
+					case "-b":
+					case "--bind":
+						host = valueOf( args, ++i );
+						break;
+					case "-t":
+					case "--threads":
+						threads = Integer.parseInt( valueOf( args, ++i ) );
+						break;
+					case "--portfolio":
+						portfolio = Integer.parseInt( valueOf( args, ++i ) );
+						break;
+					case "--budget":
+						budget = Long.parseLong( valueOf( args, ++i ) );
+						break;
+					default:
+						if ( directory != null )
+							throw new IllegalArgumentException( "Expected a single dictionary directory." );
+						directory = new File( args[i] );
+						break;
+				}
+			}
+
+			if ( directory == null || !directory.isDirectory( ) )
+				throw new IllegalArgumentException( "Expected a dictionary directory." );
+			if ( threads < 1 )
+				throw new IllegalArgumentException( "Expected a positive thread count." );
+			if ( portfolio < 0 || budget < 0 || ( budget > 0 && portfolio == 0 ) )
+				throw new IllegalArgumentException( "Expected a positive portfolio, and a budget only with one." );
+
+			PuzzleServer server = new PuzzleServer( new InetSocketAddress( host, port ), directory, threads );
+			server.setPortfolio( portfolio, budget );
+			Runtime.getRuntime( ).addShutdownHook( new Thread( () -> server.stop( 1 ) ) );
+			GenerationMetrics.register( );
+			server.start( );
+
+			System.out.println( "Serving " + server.getDictionaryIds( ).size( ) + " dictionaries on http://" + host + ":"
+					+ server.getPort( ) + "/ with " + threads + " generator threads." );
+		} catch ( IllegalArgumentException iae ) {
+			System.err.println( iae.getMessage( ) );
+			System.err.println( USAGE );
+			System.exit( 2 );
+		} catch ( IOException ioe ) {
+			System.err.println( ioe.getMessage( ) );
+			System.exit( 2 );
+		}
+	}
+
+	/**
+	 * Get the value that follows an option.
+	 *
+	 * @param args  The arguments.
+	 * @param index The index of the value.
+	 * @return The value.
+	 * @throws IllegalArgumentException Thrown if the option is the last argument.
+	 */
+	private static String valueOf( String[] args, int index ) {
+		if ( index >= args.length )
+			throw new IllegalArgumentException( "Missing value for " + args[index - 1] );
+
+		return args[index];
+	}
+}
@@ -4,12 +4,15 @@ package control;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 import model.ApplicationState;
 import model.DictionaryFile;
 import model.Grid;
+import model.PuzzleImage;
 
 import java.io.IOException;
+import java.util.Random;
 
 /**
  * ApplicationController.java - Main Controller class for the {@link Application}.  Controls {@link Scene} switching and
@@ -33,8 +36,14 @@ public class ApplicationController {
 	 */
 	private CrosswordViewController crosswordViewController;
 
-	/** The {@link GridController} that is used to build a {@link Grid} from the {@link DictionaryFile}. */
-	private GridController gridController;
+	/** How long a {@link GridController} may search for a {@link Grid} before it gives up, in milliseconds. {@value} */
+	private static final long GENERATION_TIMEOUT = 30000;
+
+	/** The {@link PlacementScorer} handed to the {@link GridController} of each {@link GenerationTask}. */
+	private PlacementScorer placementScorer;
+
+	/** The {@link GenerationTask} that is building the current puzzle, null before the first generation. */
+	private GenerationTask generationTask;
 
 	/** The {@link PuzzleImageController} that is used to build a {@link model.PuzzleImage} from the {@link Grid}. */
 	private PuzzleImageController puzzleImageController;
@@ -54,7 +63,8 @@ public class ApplicationController {
 
 	/**
 	 * Called by the system to Start the {@link ApplicationController}.  This will initialize the view and contoler
-	 * references.  It then changes the view to the DictionaryLoaderView, which is the default.
+	 * references and makes the {@link GenerationMetrics} visible over JMX.  It then changes the view to the
+	 * DictionaryLoaderView, which is the default.
 	 *
 	 * @param primaryStage {@link Stage} passed in by the system when the {@link ApplicationController} launches.
 	 * @throws IOException Exception thrown if either of the views fails to load.
@@ -66,7 +76,9 @@ public class ApplicationController {
 		initCrosswordViewer( );
 
 		puzzleImageController = new PuzzleImageController( );
-		gridController = new GridController( );
+		GenerationMetrics.register( );
+		placementScorer = new AspectRatioScorer(
+				PuzzleImageController.getPrintableAspectRatio( PuzzleImageController.DEFAULT_BUFFER ) );
 
 		primaryStage.setTitle( "Crossword Generator 2K17" );
 		changeScene( ApplicationState.DICTIONARY_LOADER );
@@ -133,15 +145,73 @@ public class ApplicationController {
 	}
 
 	/**
-	 * Generate a {@link Grid} using the {@link GridController}, then use that to create a {@link model.PuzzleImage}
-	 * using the {@link PuzzleImageController} and display it using the {@link CrosswordViewController}.
+	 * Generate a new puzzle from the current {@link DictionaryFile} with a random seed, see {@link
+	 * #generateCrossword(long)}.
 	 */
 	public void generateCrossword() {
-		currentDictionaryFile.reset( );
+		generateCrossword( new Random( ).nextLong( ) );
+	}
 
-		Grid grid = gridController.createGrid( currentDictionaryFile );
+	/**
+	 * Generate a {@link Grid} using a {@link GridController}, then use that to create a {@link model.PuzzleImage} using
+	 * the {@link PuzzleImageController} and display it using the {@link CrosswordViewController}.  The work runs as a
+	 * {@link GenerationTask} on a background thread, the CrosswordView shows its progress and can cancel it.  If the
+	 * {@link GridController} gives up or runs out of time, an {@link Alert} is shown.  Does nothing if a puzzle is
+	 * already being generated.  A puzzle already generated from the same dictionary and seed is taken from the shared
+	 * {@link GridCache}.
+	 *
+	 * @param seed The seed of the puzzle.
+	 */
+	public void generateCrossword( long seed ) {
+		if ( generationTask == null || generationTask.isDone( ) ) {
+			currentDictionaryFile.reset( new Random( seed ) );
+
+			GridController gridController = new GridController( seed );
+			gridController.setPlacementScorer( placementScorer );
+
+			final GenerationTask task = new GenerationTask( gridController, puzzleImageController, currentDictionaryFile,
+					GENERATION_TIMEOUT, GridCache.getShared( ), seed );
+			task.setOnSucceeded( event -> showPuzzle( task.getValue( ) ) );
+			task.setOnFailed( event -> generationFailed( task.getException( ) ) );
+			task.setOnCancelled( event -> generationStopped( ) );
+
+			generationTask = task;
+			crosswordViewController.showProgress( task );
+			changeScene( ApplicationState.IMAGE_VIEWER );
+
+			Thread worker = new Thread( task, "crossword-generation" );
+			worker.setDaemon( true );
+			worker.start( );
+		}
+	}
 
-		crosswordViewController.loadImage( puzzleImageController.createPuzzleImage( grid, 50 ) );
-		changeScene( ApplicationState.IMAGE_VIEWER );
+	/**
+	 * Display a finished {@link PuzzleImage}.  Called on the JavaFX application thread.
+	 *
+	 * @param puzzleImage The {@link PuzzleImage} built by the {@link GenerationTask}.
+	 */
+	private void showPuzzle( PuzzleImage puzzleImage ) {
+		crosswordViewController.loadImage( puzzleImage );
+	}
+
+	/**
+	 * Tell the user why the {@link GenerationTask} failed.  Called on the JavaFX application thread.
+	 *
+	 * @param cause The exception thrown by the {@link GenerationTask}.
+	 */
+	private void generationFailed( Throwable cause ) {
+		Alert alert = new Alert( Alert.AlertType.ERROR, cause.getMessage( ) );
+		alert.showAndWait( );
+
+		generationStopped( );
+	}
+
+	/**
+	 * Go back to the DictionaryLoaderView when generation stopped before any puzzle was shown, otherwise keep showing
+	 * the previous puzzle.
+	 */
+	private void generationStopped() {
+		if ( !crosswordViewController.hasPuzzle( ) )
+			changeScene( ApplicationState.DICTIONARY_LOADER );
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package control;
+
+import model.BoundingBox;
+import model.Orientation;
+
+/**
+ * AspectRatioScorer.java - A {@link PlacementScorer} that steers the board towards a target width to height ratio.
+ * Cells are square and sized to fit the printable area, so a {@link model.Grid} with the same shape as that area gets
+ * the largest cells.  Placements are scored by how far the finished {@link model.Grid}, border included, would stray
+ * from the target ratio, with the area they add and then the number of crossings breaking ties.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see PlacementScorer
+ * @see PuzzleImageController#getPrintableAspectRatio(int)
+ */
+public class AspectRatioScorer implements PlacementScorer {
+	/** How much one unit of distance from the target ratio outweighs one added cell of area. {@value} */
+	private static final double RATIO_WEIGHT = 1000;
+
+	/** The width to height ratio to aim for. */
+	private final double targetRatio;
+
+	/**
+	 * Create an {@link AspectRatioScorer} that aims for the given ratio.
+	 *
+	 * @param targetRatio The width divided by the height of the area the {@link model.Grid} will be drawn in.
+	 */
+	public AspectRatioScorer( double targetRatio ) {
+		if ( !( targetRatio > 0 ) )
+			throw new IllegalArgumentException( "The target ratio must be positive: " + targetRatio );
+
+		this.targetRatio = targetRatio;
+	}
+
+	@Override
+	public double score( int x, int y, Orientation orientation, int length, int crossings, BoundingBox extents ) {
+		int width = PlacementScorer.widthAfter( x, orientation, length, extents );
+		int height = PlacementScorer.heightAfter( y, orientation, length, extents );
+		int areaBefore = ( extents.getMaxX( ) - extents.getMinX( ) + 1 ) *
+				( extents.getMaxY( ) - extents.getMinY( ) + 1 );
+
+		//Compare ratios on a log scale so that too wide and too tall by the same factor score the same
+		double distance = Math.abs( Math.log( ( width + 2 ) / ( double ) ( height + 2 ) / targetRatio ) );
+
+		return -distance * RATIO_WEIGHT + ( areaBefore - width * height ) +
+				PlacementScorer.crossingTieBreak( crossings, length );
+	}
+
+	/**
+	 * Describe the scorer and its target ratio, used in the key of a {@link GridCache}.
+	 *
+	 * @return The class name and target ratio.
+	 */
+	@Override
+	public String toString() {
+		return "AspectRatioScorer(" + targetRatio + ")";
+	}
+}
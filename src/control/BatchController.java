@@ -0,0 +1,484 @@
+package control;
+
+import model.CompiledDictionary;
+import model.DictionaryCache;
+import model.DictionaryFile;
+import model.Grid;
+import model.IncompleteWordException;
+import model.OutputFormat;
+import model.PageSetup;
+import model.PuzzleGenerationException;
+import model.PuzzleImage;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * BatchController.java - Generates puzzle packs without a display.  Every dictionary gets the requested number of
+ * puzzles, each one built by its own {@link GridController} and {@link PuzzleImageController} on a fixed pool of
+ * worker threads.  PNG images are handed to a {@link PngEncoder} so the next puzzle can start while they are
+ * compressed, SVG and PDF pages are streamed straight to their files by a {@link VectorPuzzleController}.  PNG pages
+ * of more than {@value #TILED_PIXELS} pixels, like posters, are drawn in bands straight into their files instead of
+ * being held in memory.  Both pages of every puzzle are written to the output directory together with a summary.json
+ * that lists every puzzle, its seed, its size and where its pages are, or why it failed.
+ *
+ * The seed of every puzzle is drawn from the batch seed before any work starts, so the same batch seed and
+ * dictionaries produce the same puzzles no matter how many threads are used.  With {@link #setPortfolio(int, long)}
+ * every puzzle is raced by a {@link PortfolioGridController} instead, which trades that for a faster or more compact
+ * {@link Grid}.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see GridController
+ * @see PortfolioGridController
+ * @see PuzzleImageController
+ */
+public class BatchController {
+	/** The name of the summary written to the output directory. {@value} */
+	public static final String SUMMARY_FILE = "summary.json";
+
+	/** The most pixels a PNG page may have before it is drawn in bands instead of in memory. {@value} */
+	public static final int TILED_PIXELS = 1 << 22;
+
+	/** The directory the images and summary are written to. */
+	private final File outputDirectory;
+
+	/** How many puzzles to generate from each dictionary. */
+	private final int puzzlesPerDictionary;
+
+	/** The seed every puzzle seed is drawn from. */
+	private final long seed;
+
+	/** How many puzzles are generated at the same time. */
+	private final int threads;
+
+	/** The deflate level the images are written with. */
+	private final int compressionLevel;
+
+	/** The {@link OutputFormat} of the pages. */
+	private final OutputFormat format;
+
+	/** The {@link PageSetup} of the pages. */
+	private final PageSetup page;
+
+	/** How many attempts race for each puzzle, 0 to build it with a single {@link GridController}. */
+	private int portfolio = 0;
+
+	/** How long each portfolio keeps looking for a more compact {@link Grid} in milliseconds, 0 to take the first. */
+	private long timeBudget = 0;
+
+	/**
+	 * Create a {@link BatchController}.
+	 *
+	 * @param outputDirectory      The directory the images and summary are written to, created if missing.
+	 * @param puzzlesPerDictionary How many puzzles to generate from each dictionary.
+	 * @param seed                 The seed every puzzle seed is drawn from.
+	 * @param threads              How many puzzles are generated at the same time.
+	 * @param compressionLevel     The deflate level the images are written with, from {@link PngEncoder#FAST} to
+	 *                             {@link PngEncoder#SMALL}, only used for {@link OutputFormat#PNG}.
+	 * @param format               The {@link OutputFormat} of the pages.
+	 * @param page                 The {@link PageSetup} of the pages.
+	 */
+	public BatchController( File outputDirectory, int puzzlesPerDictionary, long seed, int threads, int compressionLevel,
+							OutputFormat format, PageSetup page ) {
+		this.outputDirectory = outputDirectory;
+		this.puzzlesPerDictionary = puzzlesPerDictionary;
+		this.seed = seed;
+		this.threads = Math.max( 1, threads );
+		this.compressionLevel = compressionLevel;
+		this.format = format;
+		this.page = page;
+	}
+
+	/**
+	 * Race several {@link GridController}s for every puzzle with a {@link PortfolioGridController}.  Each puzzle being
+	 * generated then uses that many threads of its own on top of the worker threads, and its {@link Grid} is no longer
+	 * decided by its seed alone.
+	 *
+	 * @param attempts   How many attempts race for each puzzle, 0 to build it with a single {@link GridController}.
+	 * @param timeBudget How long to keep looking for a more compact {@link Grid} in milliseconds, 0 to take the first
+	 *                   one found.
+	 */
+	public void setPortfolio( int attempts, long timeBudget ) {
+		this.portfolio = Math.max( 0, attempts );
+		this.timeBudget = Math.max( 0, timeBudget );
+	}
+
+	/**
+	 * Expand a list of dictionary files and directories into the dictionary files to use.  Directories contribute
+	 * their .txt and {@value CompiledDictionary#EXTENSION} files, sorted by name, without descending further.
+	 *
+	 * @param paths The files and directories given by the user.
+	 * @return The dictionary files, in the order given.
+	 * @throws IOException Thrown if a path does not exist or a directory can't be listed.
+	 */
+	public static List< File > findDictionaries( List< File > paths ) throws IOException {
+		ArrayList< File > dictionaries = new ArrayList< File >( );
+
+		for ( File path : paths ) {
+			if ( path.isDirectory( ) ) {
+				File[] files = path.listFiles( ( dir, name ) ->
+						name.endsWith( ".txt" ) || name.endsWith( CompiledDictionary.EXTENSION ) );
+				if ( files == null )
+					throw new IOException( "Can't list the directory " + path );
+
+				Arrays.sort( files );
+				dictionaries.addAll( Arrays.asList( files ) );
+			}
+			else if ( path.isFile( ) ) {
+				dictionaries.add( path );
+			}
+			else {
+				throw new IOException( "No such dictionary file or directory: " + path );
+			}
+		}
+
+		return dictionaries;
+	}
+
+	/**
+	 * Generate every puzzle of the batch and write the summary.  Failed puzzles are recorded in the summary and do not
+	 * stop the rest of the batch.
+	 *
+	 * @param dictionaries The dictionary files to generate puzzles from.
+	 * @return The number of puzzles that failed.
+	 * @throws IOException          Thrown if the output directory or the summary can't be written.
+	 * @throws InterruptedException Thrown if the calling thread is interrupted while waiting for the workers.
+	 */
+	public int run( List< File > dictionaries ) throws IOException, InterruptedException {
+		if ( !outputDirectory.isDirectory( ) && !outputDirectory.mkdirs( ) )
+			throw new IOException( "Can't create the output directory " + outputDirectory );
+
+		ArrayList< BatchPuzzle > puzzles = planPuzzles( dictionaries );
+		ExecutorService workers = Executors.newFixedThreadPool( threads );
+		PngEncoder encoder = new PngEncoder( threads, compressionLevel );
+
+		try {
+			ArrayList< Future< ? > > results = new ArrayList< Future< ? > >( );
+			for ( BatchPuzzle puzzle : puzzles )
+				results.add( workers.submit( () -> generate( puzzle, encoder ) ) );
+
+			for ( Future< ? > result : results ) {
+				try {
+					result.get( );
+				} catch ( ExecutionException ee ) {
+					throw new IllegalStateException( "A batch worker failed unexpectedly.", ee.getCause( ) );
+				}
+			}
+
+			for ( BatchPuzzle puzzle : puzzles )
+				awaitImages( puzzle );
+		} finally {
+			workers.shutdownNow( );
+			encoder.shutdown( );
+		}
+
+		writeSummary( puzzles );
+
+		int failures = 0;
+		for ( BatchPuzzle puzzle : puzzles )
+			if ( puzzle.error != null )
+				failures++;
+
+		return failures;
+	}
+
+	/**
+	 * Lay out every puzzle of the batch with its seed and image names before any work starts.  Dictionaries with the
+	 * same name apart from the extension get a number added to the name until it is unique.
+	 *
+	 * @param dictionaries The dictionary files to generate puzzles from.
+	 * @return One {@link BatchPuzzle} per puzzle, in dictionary order.
+	 */
+	private ArrayList< BatchPuzzle > planPuzzles( List< File > dictionaries ) {
+		ArrayList< BatchPuzzle > puzzles = new ArrayList< BatchPuzzle >( );
+		HashSet< String > usedNames = new HashSet< String >( );
+		Random seeds = new Random( seed );
+
+		for ( int d = 0; d < dictionaries.size( ); d++ ) {
+			File dictionary = dictionaries.get( d );
+
+			String base = dictionary.getName( );
+			if ( base.lastIndexOf( '.' ) > 0 )
+				base = base.substring( 0, base.lastIndexOf( '.' ) );
+
+			//A renamed dictionary can still collide with one that is really called that, so keep counting
+			String name = base;
+			for ( int n = d + 1; !usedNames.add( name ); n++ )
+				name = base + "-" + n;
+
+			for ( int i = 0; i < puzzlesPerDictionary; i++ )
+				puzzles.add( new BatchPuzzle( dictionary, String.format( "%s-%03d", name, i + 1 ), seeds.nextLong( ) ) );
+		}
+
+		return puzzles;
+	}
+
+	/**
+	 * Build one puzzle and write its pages, PNG images are handed to the {@link PngEncoder} unless the page is too large
+	 * to hold in memory.  Any failure is stored on the {@link BatchPuzzle} instead of thrown.
+	 *
+	 * @param puzzle  The puzzle to generate.
+	 * @param encoder The {@link PngEncoder} that writes the images.
+	 */
+	private void generate( BatchPuzzle puzzle, PngEncoder encoder ) {
+		long start = System.nanoTime( );
+
+		try {
+			DictionaryFile dictionaryFile = DictionaryCache.getShared( ).load( puzzle.dictionary );
+			dictionaryFile.reset( new Random( puzzle.seed ) );
+
+			Grid grid = createGrid( puzzle, dictionaryFile );
+			puzzle.width = grid.getWidth( );
+			puzzle.height = grid.getHeight( );
+			puzzle.words = grid.getWordsOnGrid( ).size( );
+
+			File blankFile = new File( outputDirectory, blankName( puzzle ) );
+			File answeredFile = new File( outputDirectory, answeredName( puzzle ) );
+
+			if ( format.isVector( ) ) {
+				VectorPuzzleController vectorPuzzle = new VectorPuzzleController( page );
+				vectorPuzzle.writePuzzle( grid, PuzzleImageController.DEFAULT_BUFFER, false, format, blankFile );
+				vectorPuzzle.writePuzzle( grid, PuzzleImageController.DEFAULT_BUFFER, true, format, answeredFile );
+			}
+			else if ( ( long ) page.getPixelWidth( ) * page.getPixelHeight( ) > TILED_PIXELS ) {
+				PuzzleImageController tiledPuzzle = new PuzzleImageController( page );
+				tiledPuzzle.writeTiledPng( grid, PuzzleImageController.DEFAULT_BUFFER, false, blankFile,
+						compressionLevel );
+				tiledPuzzle.writeTiledPng( grid, PuzzleImageController.DEFAULT_BUFFER, true, answeredFile,
+						compressionLevel );
+			}
+			else {
+				PuzzleImage puzzleImage = new PuzzleImageController( page ).createPuzzleImage( grid,
+						PuzzleImageController.DEFAULT_BUFFER );
+				puzzle.images = encoder.encode( puzzleImage, blankFile, answeredFile )
+						.whenComplete( ( done, failure ) -> puzzle.millis = ( System.nanoTime( ) - start ) / 1000000 );
+			}
+		} catch ( IncompleteWordException | IOException | PuzzleGenerationException e ) {
+			puzzle.error = e.getMessage( );
+		}
+
+		if ( puzzle.images == null )
+			puzzle.millis = ( System.nanoTime( ) - start ) / 1000000;
+	}
+
+	/**
+	 * Build the {@link Grid} of one puzzle with a {@link GridController}, or a {@link PortfolioGridController} if one
+	 * was asked for, and record how many times it had to start over.
+	 *
+	 * @param puzzle         The puzzle to build.
+	 * @param dictionaryFile The {@link DictionaryFile}, already shuffled with the seed of the puzzle.
+	 * @return The {@link Grid}.
+	 * @throws PuzzleGenerationException Thrown if no {@link Grid} was found.
+	 */
+	private Grid createGrid( BatchPuzzle puzzle, DictionaryFile dictionaryFile ) throws PuzzleGenerationException {
+		PlacementScorer scorer = new AspectRatioScorer(
+				PuzzleImageController.getPrintableAspectRatio( page, PuzzleImageController.DEFAULT_BUFFER ) );
+		Grid grid;
+
+		if ( portfolio > 0 ) {
+			PortfolioGridController portfolioController = new PortfolioGridController( portfolio, puzzle.seed );
+			portfolioController.setPlacementScorer( scorer );
+			try {
+				grid = portfolioController.createGrid( dictionaryFile, timeBudget );
+			} finally {
+				puzzle.restarts = portfolioController.getRestarts( );
+			}
+		}
+		else {
+			GridController gridController = new GridController( puzzle.seed );
+			gridController.setPlacementScorer( scorer );
+			try {
+				grid = gridController.createGrid( dictionaryFile );
+			} finally {
+				puzzle.restarts = gridController.getRestarts( );
+			}
+		}
+
+		return grid;
+	}
+
+	/**
+	 * Wait until the images of a puzzle are written, recording a failed write on the {@link BatchPuzzle}.
+	 *
+	 * @param puzzle The puzzle to wait for.
+	 */
+	private void awaitImages( BatchPuzzle puzzle ) {
+		if ( puzzle.images != null ) {
+			try {
+				puzzle.images.join( );
+			} catch ( CompletionException ce ) {
+				Throwable cause = ce.getCause( );
+				if ( cause instanceof UncheckedIOException )
+					cause = cause.getCause( );
+				puzzle.error = cause.getMessage( );
+			}
+		}
+	}
+
+	/**
+	 * Write the summary.json of the batch.
+	 *
+	 * @param puzzles Every puzzle of the batch, generated or failed.
+	 * @throws IOException Thrown if the summary can't be written.
+	 */
+	private void writeSummary( ArrayList< BatchPuzzle > puzzles ) throws IOException {
+		PrintWriter out = new PrintWriter( new OutputStreamWriter(
+				new FileOutputStream( new File( outputDirectory, SUMMARY_FILE ) ), StandardCharsets.UTF_8 ) );
+
+		try {
+			out.println( "{" );
+			out.println( "  \"seed\": " + seed + "," );
+			out.println( "  \"threads\": " + threads + "," );
+			out.println( "  \"format\": " + quote( format.name( ).toLowerCase( Locale.ROOT ) ) + "," );
+			out.println( "  \"page\": " + quote( page.getPaperSize( ) ) + "," );
+			out.println( "  \"dpi\": " + page.getPixelsPerInch( ) + "," );
+			if ( format == OutputFormat.PNG )
+				out.println( "  \"compression\": " + compressionLevel + "," );
+			if ( portfolio > 0 )
+				out.println( "  \"portfolio\": " + portfolio + ", \"budget\": " + timeBudget + "," );
+			out.println( "  \"puzzles\": [" );
+
+			for ( int i = 0; i < puzzles.size( ); i++ ) {
+				BatchPuzzle puzzle = puzzles.get( i );
+
+				out.print( "    { \"dictionary\": " + quote( puzzle.dictionary.getPath( ) ) );
+				out.print( ", \"name\": " + quote( puzzle.name ) );
+				out.print( ", \"seed\": " + puzzle.seed );
+				if ( puzzle.error == null ) {
+					out.print( ", \"status\": \"ok\"" );
+					out.print( ", \"width\": " + puzzle.width + ", \"height\": " + puzzle.height );
+					out.print( ", \"words\": " + puzzle.words );
+					out.print( ", \"blank\": " + quote( blankName( puzzle ) ) );
+					out.print( ", \"answers\": " + quote( answeredName( puzzle ) ) );
+				}
+				else {
+					out.print( ", \"status\": \"failed\", \"error\": " + quote( puzzle.error ) );
+				}
+				out.print( ", \"restarts\": " + puzzle.restarts + ", \"millis\": " + puzzle.millis + " }" );
+				out.println( i < puzzles.size( ) - 1 ? "," : "" );
+			}
+
+			out.println( "  ]" );
+			out.println( "}" );
+		} finally {
+			out.close( );
+		}
+
+		if ( out.checkError( ) )
+			throw new IOException( "Failed to write the batch summary." );
+	}
+
+	/**
+	 * Get the file name of the blank page of a puzzle.
+	 *
+	 * @param puzzle The puzzle.
+	 * @return The file name, inside the output directory.
+	 */
+	private String blankName( BatchPuzzle puzzle ) {
+		return puzzle.name + "-blank" + format.getExtension( );
+	}
+
+	/**
+	 * Get the file name of the answer key of a puzzle.
+	 *
+	 * @param puzzle The puzzle.
+	 * @return The file name, inside the output directory.
+	 */
+	private String answeredName( BatchPuzzle puzzle ) {
+		return puzzle.name + "-answers" + format.getExtension( );
+	}
+
+	/**
+	 * Quote a {@link String} as a JSON string.
+	 *
+	 * @param string The {@link String} to quote, may be null.
+	 * @return The JSON string literal, or null.
+	 */
+	static String quote( String string ) {
+		StringBuilder quoted = new StringBuilder( );
+
+		if ( string == null ) {
+			quoted.append( "null" );
+		}
+		else {
+			quoted.append( '"' );
+			for ( int i = 0; i < string.length( ); i++ ) {
+				char c = string.charAt( i );
+				if ( c == '"' || c == '\\' )
+					quoted.append( '\\' ).append( c );
+				else if ( c < 0x20 )
+					quoted.append( String.format( "\\u%04x", ( int ) c ) );
+				else
+					quoted.append( c );
+			}
+			quoted.append( '"' );
+		}
+
+		return quoted.toString( );
+	}
+
+	/**
+	 * BatchPuzzle - One puzzle of a batch, filled in by the worker that generates it.
+	 */
+	private static class BatchPuzzle {
+		/** The dictionary the puzzle is built from. */
+		private final File dictionary;
+
+		/** The file name prefix of the images. */
+		private final String name;
+
+		/** The seed of the puzzle. */
+		private final long seed;
+
+		/** The dimensions of the finished {@link Grid}. */
+		private int width, height;
+
+		/** The number of {@link model.Word}s on the finished {@link Grid}. */
+		private int words;
+
+		/** How many times the {@link GridController} had to start over. */
+		private int restarts;
+
+		/** How long the puzzle took, including writing its images, in milliseconds. */
+		private volatile long millis;
+
+		/**
+		 * Completes once both PNG images are written, null for vector or tiled pages or if the puzzle failed first.
+		 */
+		private CompletableFuture< Void > images;
+
+		/** Why the puzzle failed, or null if it was generated. */
+		private String error;
+
+		/**
+		 * Create a planned puzzle.
+		 *
+		 * @param dictionary The dictionary the puzzle is built from.
+		 * @param name       The file name prefix of the images.
+		 * @param seed       The seed of the puzzle.
+		 */
+		BatchPuzzle( File dictionary, String name, long seed ) {
+			this.dictionary = dictionary;
+			this.name = name;
+			this.seed = seed;
+		}
+	}
+}
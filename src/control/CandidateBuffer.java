@@ -0,0 +1,131 @@
+package control;
+
+import model.Orientation;
+
+import java.util.Arrays;
+
+/**
+ * CandidateBuffer.java - Reusable scratch space that keeps the best few candidate placements of the {@link model.Word}
+ * currently being placed.  A candidate is packed into a single long holding its start position and {@link
+ * Orientation}, so weighing and rejecting candidates allocates nothing.  Only the candidates that end up being written
+ * are turned into {@link model.WordPlacement}s by the {@link GridController}.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see GridController
+ * @see PlacementFrame
+ */
+class CandidateBuffer {
+	/** The packed candidates that are kept, best first. */
+	private final long[] candidates;
+
+	/** The score of each kept candidate. */
+	private final double[] scores;
+
+	/** How many candidates are currently kept. */
+	private int size = 0;
+
+	/**
+	 * Create an empty {@link CandidateBuffer}.
+	 *
+	 * @param capacity How many of the best candidates to keep.
+	 */
+	CandidateBuffer( int capacity ) {
+		candidates = new long[ capacity ];
+		scores = new double[ capacity ];
+	}
+
+	/**
+	 * Pack a candidate placement into a long.
+	 *
+	 * @param x           The x position of the first letter.
+	 * @param y           The y position of the first letter.
+	 * @param orientation The {@link Orientation} of the {@link model.Word}, horizontal or vertical.
+	 * @return The packed candidate.
+	 */
+	static long encode( int x, int y, Orientation orientation ) {
+		return ( ( long ) x << 33 ) | ( ( y & 0xFFFFFFFFL ) << 1 ) | ( orientation == Orientation.VERTICAL ? 1 : 0 );
+	}
+
+	/**
+	 * Unpack the x position of a candidate.
+	 *
+	 * @param candidate The packed candidate.
+	 * @return The x position of the first letter.
+	 */
+	static int xOf( long candidate ) {
+		return ( int ) ( candidate >> 33 );
+	}
+
+	/**
+	 * Unpack the y position of a candidate.
+	 *
+	 * @param candidate The packed candidate.
+	 * @return The y position of the first letter.
+	 */
+	static int yOf( long candidate ) {
+		return ( int ) ( candidate >>> 1 );
+	}
+
+	/**
+	 * Unpack the {@link Orientation} of a candidate.
+	 *
+	 * @param candidate The packed candidate.
+	 * @return The {@link Orientation} of the {@link model.Word}.
+	 */
+	static Orientation orientationOf( long candidate ) {
+		return ( candidate & 1 ) != 0 ? Orientation.VERTICAL : Orientation.HORIZONTAL;
+	}
+
+	/**
+	 * Forget every kept candidate.
+	 */
+	void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Offer a candidate.  It is kept if it scores better than one of the kept candidates or there is still room.  Ties
+	 * keep the candidate that was offered first, and a candidate that is already kept is ignored.
+	 *
+	 * @param candidate The packed candidate.
+	 * @param score     The score of the candidate, higher is better.
+	 */
+	void offer( long candidate, double score ) {
+		boolean duplicate = false;
+		for ( int i = 0; i < size; i++ )
+			duplicate |= candidates[i] == candidate;
+
+		int position = size;
+		while ( position > 0 && scores[position - 1] < score )
+			position--;
+
+		if ( !duplicate && position < candidates.length ) {
+			int moved = Math.min( size, candidates.length - 1 ) - position;
+			System.arraycopy( candidates, position, candidates, position + 1, moved );
+			System.arraycopy( scores, position, scores, position + 1, moved );
+
+			candidates[position] = candidate;
+			scores[position] = score;
+			size = Math.min( size + 1, candidates.length );
+		}
+	}
+
+	/**
+	 * Get the number of kept candidates.
+	 *
+	 * @return How many candidates are kept.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Copy the kept candidates out of the buffer so it can be reused.
+	 *
+	 * @return The packed candidates, best first.
+	 */
+	long[] toArray() {
+		return Arrays.copyOf( candidates, size );
+	}
+}
@@ -0,0 +1,302 @@
+package control;
+
+import model.Grid;
+import model.Orientation;
+import model.Word;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ClueLayout.java - Lays out the "Down" and "Across" clues in the space under the grid.  The clues are numbered like
+ * the grid and built once, then measured with the cached {@link FontMetrics} of the {@link FontCache}, wrapped to the
+ * width of a column and flowed down the columns, left to right.  The largest font size whose clues fit is used, with as
+ * few columns as it needs, so the clues of a large puzzle get more columns instead of running off the page.  Both the
+ * raster and the vector pages draw the {@link Run}s it hands out.
+ *
+ * Laying out at one size and column count is linear in the length of the clues, and the font size is found by a
+ * binary search.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see PuzzleLayout
+ */
+class ClueLayout {
+	/** The heading of the clues that are not {@link Orientation#HORIZONTAL}. {@value} */
+	private static final String DOWN = "Down: ";
+
+	/** The heading of the {@link Orientation#HORIZONTAL} clues. {@value} */
+	private static final String ACROSS = "Across: ";
+
+	/** The narrowest a column may get, in multiples of the font size. {@value} */
+	private static final int MIN_COLUMN_EMS = 12;
+
+	/** The left and right edge of the space for the clues. */
+	private final int left, right;
+
+	/** The top of the space for the clues, the bottom of the grid. */
+	private final int top;
+
+	/** The lowest a line of clues may reach. */
+	private final int bottom;
+
+	/** The numbered clues of each section, without their heading. */
+	private final ArrayList< String > down = new ArrayList< String >( ), across = new ArrayList< String >( );
+
+	/** The font size the clues fit at, also the height of each of their rows. */
+	private final int fontSize;
+
+	/** The clues at their place on the page. */
+	private final List< Run > runs;
+
+	/**
+	 * Lay out the clues of a {@link Grid}.
+	 *
+	 * @param grid    The {@link Grid} whose {@link Word}s are the clues.
+	 * @param left    The left edge of the space for the clues.
+	 * @param right   The right edge of the space for the clues.
+	 * @param top     The top of the space for the clues.
+	 * @param bottom  The lowest a line of clues may reach.
+	 * @param maxSize The largest font size to use.
+	 */
+	ClueLayout( Grid grid, int left, int right, int top, int bottom, int maxSize ) {
+		this.left = left;
+		this.right = right;
+		this.top = top;
+		this.bottom = bottom;
+
+		StringBuilder clue = new StringBuilder( );
+		int wordNumber = 1;
+		for ( Word word : grid.getWordsOnGrid( ) ) {
+			clue.setLength( 0 );
+			clue.append( wordNumber ).append( " : " ).append( word.getDefinitionString( ) );
+
+			if ( word.getWordPlacement( ).getOrientation( ) == Orientation.HORIZONTAL )
+				across.add( clue.toString( ) );
+			else
+				down.add( clue.toString( ) );
+			wordNumber++;
+		}
+
+		int low = 1;
+		int high = Math.max( 1, maxSize );
+		List< Run > fitting = null;
+		int fittingSize = 1;
+
+		while ( low <= high ) {
+			int size = ( low + high ) >>> 1;
+			List< Run > laidOut = layOut( size );
+
+			if ( laidOut != null ) {
+				fitting = laidOut;
+				fittingSize = size;
+				low = size + 1;
+			}
+			else {
+				high = size - 1;
+			}
+		}
+
+		//Not even the smallest font fits, so use it in as many columns as there is room for and let the end run over
+		if ( fitting == null )
+			fitting = flow( 1, maxColumns( 1 ), false );
+
+		fontSize = fittingSize;
+		runs = Collections.unmodifiableList( fitting );
+	}
+
+	/**
+	 * Get the font size of the clues.
+	 *
+	 * @return The font size in pixels, also the height of each row.
+	 */
+	int getFontSize() {
+		return fontSize;
+	}
+
+	/**
+	 * Get the lines of the clues at their place on the page, in the order they flow.
+	 *
+	 * @return The {@link Run}s.
+	 */
+	List< Run > getRuns() {
+		return runs;
+	}
+
+	/**
+	 * Lay the clues out at a font size, in as few columns as they fit in.
+	 *
+	 * @param size The font size.
+	 * @return The {@link Run}s, or null if the clues don't fit at this size.
+	 */
+	private List< Run > layOut( int size ) {
+		List< Run > laidOut = null;
+
+		for ( int columns = 1; columns <= maxColumns( size ) && laidOut == null; columns++ )
+			laidOut = flow( size, columns, true );
+
+		return laidOut;
+	}
+
+	/**
+	 * Get how many columns fit across the space at a font size without getting narrower than {@value
+	 * #MIN_COLUMN_EMS} times the font size.  The gap between columns is one font size.
+	 *
+	 * @param size The font size.
+	 * @return The number of columns, at least one.
+	 */
+	private int maxColumns( int size ) {
+		return Math.max( 1, ( right - left + size ) / ( MIN_COLUMN_EMS * size + size ) );
+	}
+
+	/**
+	 * Wrap the clues to the width of a column and flow them down the columns.  Each section starts with its heading,
+	 * which is never left alone at the bottom of a column, and the sections are a row apart.  Clues are indented by one
+	 * font size and the lines they wrap onto by two.
+	 *
+	 * @param size    The font size.
+	 * @param columns The number of columns.
+	 * @param fit     True to give up as soon as the clues run past the bottom, false to lay them all out anyway.
+	 * @return The {@link Run}s, or null if they don't fit and fit is true.
+	 */
+	private List< Run > flow( int size, int columns, boolean fit ) {
+		FontMetrics metrics = FontCache.getMetrics( Font.PLAIN, size );
+		int columnWidth = ( right - left - ( columns - 1 ) * size ) / columns;
+		int firstBaseline = top + 2 * size;
+		int rows = Math.max( 1, ( bottom - metrics.getDescent( ) - firstBaseline ) / size + 1 );
+
+		ArrayList< Run > laidOut = new ArrayList< Run >( down.size( ) + across.size( ) + 2 );
+		ArrayList< String > lines = new ArrayList< String >( );
+		int column = 0;
+		int row = 0;
+
+		for ( int section = 0; section < 2 && laidOut != null; section++ ) {
+			List< String > clues = section == 0 ? down : across;
+
+			if ( row > 0 )
+				row++;
+			if ( row + 1 >= rows ) {
+				column++;
+				row = 0;
+			}
+			laidOut.add( new Run( section == 0 ? DOWN : ACROSS, left + column * ( columnWidth + size ),
+					firstBaseline + row * size ) );
+			row++;
+
+			for ( int c = 0; c < clues.size( ) && laidOut != null; c++ ) {
+				lines.clear( );
+				wrap( clues.get( c ), columnWidth - 2 * size, columnWidth - size, metrics, lines );
+
+				for ( int l = 0; l < lines.size( ); l++ ) {
+					if ( row >= rows ) {
+						column++;
+						row = 0;
+					}
+					int x = left + column * ( columnWidth + size ) + ( l == 0 ? size : 2 * size );
+					laidOut.add( new Run( lines.get( l ), x, firstBaseline + row * size ) );
+					row++;
+				}
+
+				if ( fit && column >= columns )
+					laidOut = null;
+			}
+		}
+
+		if ( laidOut != null && fit && column >= columns )
+			laidOut = null;
+
+		return laidOut;
+	}
+
+	/**
+	 * Break a clue into lines at its spaces, greedily.  A word wider than a whole line is broken between its letters.
+	 *
+	 * @param clue       The clue.
+	 * @param width      The width of the lines it wraps onto.
+	 * @param firstWidth The width of its first line.
+	 * @param metrics    The {@link FontMetrics} to measure with.
+	 * @param lines      The list the lines are added to.
+	 */
+	private static void wrap( String clue, int width, int firstWidth, FontMetrics metrics, List< String > lines ) {
+		int start = 0;
+		int lineWidth = 0;
+		int lastSpace = -1;
+		int available = firstWidth;
+
+		for ( int i = 0; i < clue.length( ); i++ ) {
+			char c = clue.charAt( i );
+			if ( c == ' ' )
+				lastSpace = i;
+			lineWidth += metrics.charWidth( c );
+
+			if ( lineWidth > available && i > start ) {
+				int end = lastSpace > start ? lastSpace : i;
+				lines.add( clue.substring( start, end ) );
+
+				start = lastSpace > start ? lastSpace + 1 : i;
+				lastSpace = -1;
+				available = width;
+
+				lineWidth = 0;
+				for ( int j = start; j <= i; j++ )
+					lineWidth += metrics.charWidth( clue.charAt( j ) );
+			}
+		}
+
+		lines.add( clue.substring( start ) );
+	}
+
+	/**
+	 * Run - One line of the clues and the start of its baseline on the page.
+	 */
+	static class Run {
+		/** The text of the line. */
+		private final String text;
+
+		/** The start of the baseline. */
+		private final int x, y;
+
+		/**
+		 * Place a line.
+		 *
+		 * @param text The text of the line.
+		 * @param x    The left end of the baseline.
+		 * @param y    The baseline.
+		 */
+		Run( String text, int x, int y ) {
+			this.text = text;
+			this.x = x;
+			this.y = y;
+		}
+
+		/**
+		 * Get the text of the line.
+		 *
+		 * @return The text.
+		 */
+		String getText() {
+			return text;
+		}
+
+		/**
+		 * Get the left end of the baseline.
+		 *
+		 * @return The x of the line.
+		 */
+		int getX() {
+			return x;
+		}
+
+		/**
+		 * Get the baseline.
+		 *
+		 * @return The y of the line.
+		 */
+		int getY() {
+			return y;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package control;
+
+import model.BoundingBox;
+import model.Orientation;
+
+/**
+ * CompactScorer.java - A {@link PlacementScorer} that prefers the placements that grow the area of the
+ * board the least.  Between placements that grow it by the same amount, the one with more crossings wins.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see PlacementScorer
+ */
+public class CompactScorer implements PlacementScorer {
+	@Override
+	public double score( int x, int y, Orientation orientation, int length, int crossings, BoundingBox extents ) {
+		int areaBefore = ( extents.getMaxX( ) - extents.getMinX( ) + 1 ) * ( extents.getMaxY( ) - extents.getMinY( ) + 1 );
+		int areaAfter = PlacementScorer.widthAfter( x, orientation, length, extents ) *
+				PlacementScorer.heightAfter( y, orientation, length, extents );
+
+		return areaBefore - areaAfter + PlacementScorer.crossingTieBreak( crossings, length );
+	}
+
+	/**
+	 * Describe the scorer, used in the key of a {@link GridCache}.
+	 *
+	 * @return The class name.
+	 */
+	@Override
+	public String toString() {
+		return "CompactScorer";
+	}
+}
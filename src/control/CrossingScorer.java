@@ -0,0 +1,29 @@
+package control;
+
+import model.BoundingBox;
+import model.Orientation;
+
+/**
+ * CrossingScorer.java - The original {@link PlacementScorer}.  Prefers the placements that cross the most
+ * {@link model.Word}s already on the board, which packs the puzzle densely but pays no attention to its shape.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see PlacementScorer
+ */
+public class CrossingScorer implements PlacementScorer {
+	@Override
+	public double score( int x, int y, Orientation orientation, int length, int crossings, BoundingBox extents ) {
+		return crossings;
+	}
+
+	/**
+	 * Describe the scorer, used in the key of a {@link GridCache}.
+	 *
+	 * @return The class name.
+	 */
+	@Override
+	public String toString() {
+		return "CrossingScorer";
+	}
+}
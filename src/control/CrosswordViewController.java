@@ -1,17 +1,18 @@
 package control;
 
+import javafx.embed.swing.SwingFXUtils;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.scene.image.Image;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.image.ImageView;
 import javafx.stage.FileChooser;
 import model.ApplicationState;
 import model.PuzzleImage;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.IOException;
 
 /**
  * CrosswordViewController.java - The controller for the CrosswordView.  JavaFX injects this controller into the
@@ -35,6 +36,36 @@ public class CrosswordViewController {
 	@FXML
 	private ImageView blankImage;
 
+	/** The {@link Button} that generates a new puzzle from the same {@link model.DictionaryFile}. */
+	@FXML
+	private Button regenerateButton;
+
+	/** The {@link Button} that goes back to the DictionaryLoaderView. */
+	@FXML
+	private Button newDictionaryButton;
+
+	/** The {@link Button} that saves the {@link PuzzleImage} to disk. */
+	@FXML
+	private Button saveButton;
+
+	/** The {@link Button} that cancels the {@link GenerationTask} that is running. */
+	@FXML
+	private Button cancelButton;
+
+	/** The {@link ProgressBar} that shows how many {@link model.Word}s the running {@link GenerationTask} has placed. */
+	@FXML
+	private ProgressBar generationProgress;
+
+	/** The {@link Label} that shows the attempt, the {@link model.Word}s placed and the time left. */
+	@FXML
+	private Label generationStatus;
+
+	/** The {@link GenerationTask} shown by the progress controls. */
+	private GenerationTask generationTask;
+
+	/** Writes the {@link PuzzleImage} to disk without blocking the JavaFX application thread. */
+	private PngEncoder pngEncoder;
+
 	/** The cached reference for a {@link FileChooser} that is used for saving files to the disk. */
 	private FileChooser fileChooser;
 
@@ -47,25 +78,28 @@ public class CrosswordViewController {
 	@FXML
 	public void saveButtonClicked( ActionEvent event ) {
 		fileChooser.setTitle( "Save Answer Key To..." );
-		writeImageFile( fileChooser.showSaveDialog( null ), puzzleImage.getAnsweredImage( ) );
+		File answeredFile = fileChooser.showSaveDialog( null );
 
 		fileChooser.setTitle( "Save Blank Puzzle To..." );
-		writeImageFile( fileChooser.showSaveDialog( null ), puzzleImage.getBlankImage( ) );
+		File blankFile = fileChooser.showSaveDialog( null );
+
+		writeImageFile( answeredFile, puzzleImage.getAnsweredImage( ) );
+		writeImageFile( blankFile, puzzleImage.getBlankImage( ) );
 	}
 
 	/**
-	 * Write a {@link BufferedImage} to the file chosen with a {@link FileChooser}.
+	 * Write a {@link BufferedImage} to the file chosen with a {@link FileChooser}.  The {@link PngEncoder} writes it in
+	 * the background, so both images of a save are compressed at the same time.
 	 *
 	 * @param file          {@link File} that the {@link BufferedImage} should be written to.
 	 * @param bufferedImage The {@link BufferedImage} pulled from a {@link PuzzleImage}.
 	 */
 	private void writeImageFile( File file, BufferedImage bufferedImage ) {
 		if ( file != null ) {
-			try {
-				ImageIO.write( bufferedImage, "png", file );
-			} catch ( IOException ex ) {
-				System.out.println( ex.getMessage( ) );
-			}
+			pngEncoder.encode( bufferedImage, file ).exceptionally( failure -> {
+				System.out.println( failure.getCause( ).getMessage( ) );
+				return null;
+			} );
 		}
 	}
 
@@ -79,6 +113,17 @@ public class CrosswordViewController {
 		applicationController.generateCrossword( );
 	}
 
+	/**
+	 * {@link ActionEvent} Listener that is called when the cancel button is clicked on the CrossWordView.
+	 *
+	 * @param event Not Used.
+	 */
+	@FXML
+	public void cancelButtonClicked( ActionEvent event ) {
+		if ( generationTask != null )
+			generationTask.cancel( );
+	}
+
 	/**
 	 * {@link ActionEvent} Listener that is called when the new dictionary button is clicked on the CrossWordView.
 	 *
@@ -97,23 +142,49 @@ public class CrosswordViewController {
 	public void init( ApplicationController loader ) {
 		this.applicationController = loader;
 
+		pngEncoder = new PngEncoder( PngEncoder.DEFAULT_LEVEL );
+
 		fileChooser = new FileChooser( );
 		fileChooser.getExtensionFilters( ).add( new FileChooser.ExtensionFilter( "Image", "*.png" ) );
 	}
 
 	/**
-	 * Loads a {@link PuzzleImage}'s image {@link File}s from disk into the two {@link ImageView}s.
+	 * Bind the progress controls to a {@link GenerationTask}.  The buttons that start new work or save are disabled
+	 * while it runs and the cancel button is only enabled while it runs.
+	 *
+	 * @param generationTask The {@link GenerationTask} that is about to start.
+	 */
+	public void showProgress( GenerationTask generationTask ) {
+		this.generationTask = generationTask;
+
+		generationProgress.progressProperty( ).bind( generationTask.progressProperty( ) );
+		generationStatus.textProperty( ).bind( generationTask.messageProperty( ) );
+
+		regenerateButton.disableProperty( ).bind( generationTask.runningProperty( ) );
+		newDictionaryButton.disableProperty( ).bind( generationTask.runningProperty( ) );
+		saveButton.disableProperty( ).bind( generationTask.runningProperty( ) );
+		cancelButton.disableProperty( ).bind( generationTask.runningProperty( ).not( ) );
+	}
+
+	/**
+	 * Check if a {@link PuzzleImage} has been loaded into the view yet.
 	 *
-	 * @param puzzleImage The {@link PuzzleImage} to use to access the {@link File} images.
+	 * @return True if {@link #loadImage(PuzzleImage)} has been called.
+	 */
+	public boolean hasPuzzle() {
+		return puzzleImage != null;
+	}
+
+	/**
+	 * Loads a {@link PuzzleImage}'s {@link BufferedImage}s into the two {@link ImageView}s.  The pixels are copied
+	 * straight into a {@link javafx.scene.image.WritableImage}, nothing is written to or read from disk.
+	 *
+	 * @param puzzleImage The {@link PuzzleImage} holding the {@link BufferedImage}s to show.
 	 */
 	public void loadImage( PuzzleImage puzzleImage ) {
 		this.puzzleImage = puzzleImage;
 
-		try {
-			answeredImage.setImage( new Image( "file:" + puzzleImage.getAnsweredImageFile( ).getPath( ) ) );
-			blankImage.setImage( new Image( "file:" + puzzleImage.getBlankImageFile( ).getPath( ) ) );
-		} catch ( Exception e ) {
-			System.out.println( "unable to load image" );
-		}
+		answeredImage.setImage( SwingFXUtils.toFXImage( puzzleImage.getAnsweredImage( ), null ) );
+		blankImage.setImage( SwingFXUtils.toFXImage( puzzleImage.getBlankImage( ), null ) );
 	}
 }
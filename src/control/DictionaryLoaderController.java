@@ -6,11 +6,13 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.stage.FileChooser;
+import model.CompiledDictionary;
+import model.DictionaryCache;
 import model.DictionaryFile;
 import model.IncompleteWordException;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 
 /**
  * DictionaryLoaderController.java - Control the JavaFX GUI that will allow the user to select a {@link File} to load
@@ -29,6 +31,12 @@ public class DictionaryLoaderController {
 	/** The actual {@link String} filter of the {@link java.io.FileFilter} set in the {@link FileChooser}. */
 	private final String FILTER_EXTENSION = "*.txt";
 
+	/** The {@link String} description of the compiled dictionary {@link java.io.FileFilter}. */
+	private final String COMPILED_FILTER_DESCRIPTION = "Compiled Dictionary";
+
+	/** The {@link String} filter of the compiled dictionary {@link java.io.FileFilter}. */
+	private final String COMPILED_FILTER_EXTENSION = "*" + CompiledDictionary.EXTENSION;
+
 	/** The {@link String} message to display to the user on the {@link Alert} message. */
 	private final String INVALID_FILE_MSG = "That file is not valid.";
 
@@ -71,23 +79,28 @@ public class DictionaryLoaderController {
 
 		FileChooser.ExtensionFilter filter = new FileChooser.ExtensionFilter( FILTER_DESCRIPTION, FILTER_EXTENSION );
 		dictionaryChooser.getExtensionFilters( ).add( filter );
+
+		FileChooser.ExtensionFilter compiledFilter =
+				new FileChooser.ExtensionFilter( COMPILED_FILTER_DESCRIPTION, COMPILED_FILTER_EXTENSION );
+		dictionaryChooser.getExtensionFilters( ).add( compiledFilter );
 	}
 
 	/**
 	 * {@link ActionEvent} Listener method for when the generate button is clicked.  It is disabled until a Valid {@link
-	 * File} is selected or typed in and processed.
+	 * File} is selected or typed in and processed.  Dictionaries that were loaded before come from the shared {@link
+	 * DictionaryCache} instead of being parsed again.
 	 *
 	 * @param event Not Used.
 	 */
 	@FXML
 	public void generateButtonClicked( ActionEvent event ) {
 		try {
-			DictionaryFile dictionaryFile = new DictionaryFile( selectedFile );
+			DictionaryFile dictionaryFile = DictionaryCache.getShared( ).load( selectedFile );
 			launchLoader.generateCrossword( dictionaryFile );
 		} catch ( IncompleteWordException iwe ) {
-			displayInvalidAlert( );
+			displayInvalidAlert( iwe.getMessage( ) );
 			generateButton.setDisable( true );
-		} catch ( FileNotFoundException e ) {
+		} catch ( IOException e ) {
 			displayInvalidAlert( );
 			generateButton.setDisable( true );
 		}
@@ -159,20 +172,32 @@ public class DictionaryLoaderController {
 	 * Helper function to display an {@link Alert} message when there is an error loading the file.
 	 */
 	private void displayInvalidAlert() {
-		Alert alert = new Alert( Alert.AlertType.ERROR, INVALID_FILE_MSG );
+		displayInvalidAlert( null );
+	}
+
+	/**
+	 * Helper function to display an {@link Alert} message explaining what is wrong with the file.
+	 *
+	 * @param detail What is wrong with the file, or null to only show the generic message.
+	 */
+	private void displayInvalidAlert( String detail ) {
+		String message = detail == null ? INVALID_FILE_MSG : INVALID_FILE_MSG + "\n" + detail;
+		Alert alert = new Alert( Alert.AlertType.ERROR, message );
 		alert.showAndWait( );
 	}
 
 	/**
-	 * Helper function that ensures the extension of the {@link File} is ".txt"
+	 * Helper function that ensures the extension of the {@link File} is ".txt" or that of a compiled dictionary.
 	 *
 	 * @param file The {@link File} to attempt to validate.
-	 * @return True if the extension of the {@link File} is ".txt", false otherwise.
+	 * @return True if the extension of the {@link File} is ".txt" or {@value CompiledDictionary#EXTENSION}, false
+	 * otherwise.
 	 */
 	private boolean valid( File file ) {
 		boolean validFile = true;
 
-		if ( !file.getAbsoluteFile( ).toString( ).endsWith( ".txt" ) )
+		String path = file.getAbsoluteFile( ).toString( );
+		if ( !path.endsWith( ".txt" ) && !path.endsWith( CompiledDictionary.EXTENSION ) )
 			validFile = false;
 
 		return validFile;
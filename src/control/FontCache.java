@@ -0,0 +1,78 @@
+package control;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * FontCache.java - Hands out the serif {@link Font}s the puzzle images are drawn with and the {@link FontMetrics} to
+ * measure text in them.  Each style and size is created once and then shared by every render, on every thread, for
+ * as long as it is one of the {@value #MAX_SIZES} most recently used.  The sizes follow the cells and clues of each
+ * page, which the puzzle server lets any client choose, so they are not all kept.  The {@link FontMetrics} are those
+ * of a plain {@link BufferedImage}, which is what the pages are drawn on.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see PuzzleImageController
+ */
+final class FontCache {
+	/** The font family every puzzle image is drawn in. {@value} */
+	static final String FAMILY = "TimesRoman";
+
+	/** How many styles and sizes of {@link Font} and {@link FontMetrics} are kept. {@value} */
+	static final int MAX_SIZES = 32;
+
+	/** The recently used {@link Font}s, keyed by {@link #key(int, int)}. */
+	private static final LruCache< Integer, Font > fonts = new LruCache< Integer, Font >( MAX_SIZES );
+
+	/** The recently used {@link FontMetrics}, keyed by {@link #key(int, int)}. */
+	private static final LruCache< Integer, FontMetrics > metrics = new LruCache< Integer, FontMetrics >( MAX_SIZES );
+
+	/**
+	 * Only static methods.
+	 */
+	private FontCache() {
+	}
+
+	/**
+	 * Get the {@link Font} of the given style and size, creating it if it isn't cached.
+	 *
+	 * @param style {@link Font#PLAIN} or {@link Font#BOLD}.
+	 * @param size  The font size in pixels.
+	 * @return The shared {@link Font}.
+	 */
+	static Font get( int style, int size ) {
+		return fonts.get( key( style, size ), key -> new Font( FAMILY, style, size ) );
+	}
+
+	/**
+	 * Get the {@link FontMetrics} of the {@link Font} of the given style and size, as drawn on a {@link
+	 * BufferedImage}.
+	 *
+	 * @param style {@link Font#PLAIN} or {@link Font#BOLD}.
+	 * @param size  The font size in pixels.
+	 * @return The shared {@link FontMetrics}.
+	 */
+	static FontMetrics getMetrics( int style, int size ) {
+		return metrics.get( key( style, size ), key -> {
+			Graphics2D measure = new BufferedImage( 1, 1, BufferedImage.TYPE_INT_ARGB ).createGraphics( );
+			try {
+				return measure.getFontMetrics( get( style, size ) );
+			} finally {
+				measure.dispose( );
+			}
+		} );
+	}
+
+	/**
+	 * Combine a style and size into one key, the styles only use the two lowest bits.
+	 *
+	 * @param style The font style.
+	 * @param size  The font size.
+	 * @return The key.
+	 */
+	private static int key( int style, int size ) {
+		return ( size << 2 ) | ( style & 3 );
+	}
+}
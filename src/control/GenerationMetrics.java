@@ -0,0 +1,283 @@
+package control;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GenerationMetrics.java - Counts and times the work of every {@link GridController}, {@link PuzzleImageController}
+ * and PNG in the process, to show why one puzzle took 20ms and another 20s.  A {@link GridController} keeps its counts
+ * in plain fields of a {@link Counts} while it searches and adds them here once it is done, so the search itself only
+ * pays for incrementing a field.
+ *
+ * The metrics are always collected, {@link #register()} makes them visible to JMX clients as a {@link
+ * GenerationMetricsMXBean}.  Drivers call it on start up, so benchmarks and other users of the controllers don't
+ * start the platform MBean server.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see GenerationMetricsMXBean
+ * @see LatencyHistogram
+ */
+public class GenerationMetrics implements GenerationMetricsMXBean {
+	/** The name the {@link GenerationMetrics} are registered under. {@value} */
+	public static final String OBJECT_NAME = "control:type=GenerationMetrics";
+
+	/** The {@link GenerationMetrics} shared by the whole process. */
+	private static final GenerationMetrics SHARED = new GenerationMetrics( );
+
+	/** True once the shared {@link GenerationMetrics} are registered. */
+	private static boolean registered = false;
+
+	/** How many {@link model.Grid}s were generated or tried. */
+	private final LongAdder generations = new LongAdder( );
+
+	/** How many generations failed. */
+	private final LongAdder failures = new LongAdder( );
+
+	/** The counts added from every {@link Counts}. */
+	private final LongAdder restarts = new LongAdder( ), wordsPushedBack = new LongAdder( ),
+			backtracks = new LongAdder( ), candidatesTested = new LongAdder( ), endConflicts = new LongAdder( ),
+			cellConflicts = new LongAdder( );
+
+	/** The time spent in each phase of the generations, in nanoseconds. */
+	private final LongAdder setupNanos = new LongAdder( ), placementNanos = new LongAdder( ),
+			fittingNanos = new LongAdder( );
+
+	/** The latencies of whole generations. */
+	private final LatencyHistogram generationLatency = new LatencyHistogram( );
+
+	/** The latencies of {@link PuzzleImageController#createPuzzleImage(model.Grid, int)}. */
+	private final LatencyHistogram imageLatency = new LatencyHistogram( );
+
+	/** The time spent encoding each PNG. */
+	private final LatencyHistogram pngLatency = new LatencyHistogram( );
+
+	/**
+	 * Get the {@link GenerationMetrics} shared by the whole process.
+	 *
+	 * @return The shared {@link GenerationMetrics}.
+	 */
+	public static GenerationMetrics getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * Register the shared {@link GenerationMetrics} with the platform MBean server under {@value #OBJECT_NAME}.  Does
+	 * nothing if they are already registered.
+	 *
+	 * @return True if the {@link GenerationMetrics} are registered, false if the MBean server refused them.
+	 */
+	public static synchronized boolean register() {
+		if ( !registered ) {
+			try {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer( );
+				ObjectName name = new ObjectName( OBJECT_NAME );
+
+				if ( !server.isRegistered( name ) )
+					server.registerMBean( SHARED, name );
+				registered = true;
+			} catch ( JMException | SecurityException e ) {
+				registered = false;
+			}
+		}
+
+		return registered;
+	}
+
+	/**
+	 * Add the {@link Counts} of one generation.
+	 *
+	 * @param counts    The {@link Counts} of the {@link GridController}.
+	 * @param succeeded True if a {@link model.Grid} was built.
+	 * @param nanos     How long the whole generation took.
+	 */
+	void recordGeneration( Counts counts, boolean succeeded, long nanos ) {
+		generations.increment( );
+		if ( !succeeded )
+			failures.increment( );
+
+		restarts.add( counts.restarts );
+		wordsPushedBack.add( counts.wordsPushedBack );
+		backtracks.add( counts.backtracks );
+		candidatesTested.add( counts.candidatesTested );
+		endConflicts.add( counts.endConflicts );
+		cellConflicts.add( counts.cellConflicts );
+
+		setupNanos.add( nanos - counts.placementNanos - counts.fittingNanos );
+		placementNanos.add( counts.placementNanos );
+		fittingNanos.add( counts.fittingNanos );
+		generationLatency.record( nanos );
+	}
+
+	/**
+	 * Record how long {@link PuzzleImageController#createPuzzleImage(model.Grid, int)} took.
+	 *
+	 * @param nanos The latency in nanoseconds.
+	 */
+	void recordImage( long nanos ) {
+		imageLatency.record( nanos );
+	}
+
+	/**
+	 * Record how long encoding one PNG took.
+	 *
+	 * @param nanos The latency in nanoseconds.
+	 */
+	void recordPng( long nanos ) {
+		pngLatency.record( nanos );
+	}
+
+	@Override
+	public long getGenerations() {
+		return generations.sum( );
+	}
+
+	@Override
+	public long getFailedGenerations() {
+		return failures.sum( );
+	}
+
+	@Override
+	public long getRestarts() {
+		return restarts.sum( );
+	}
+
+	@Override
+	public long getWordsPushedBack() {
+		return wordsPushedBack.sum( );
+	}
+
+	@Override
+	public long getBacktracks() {
+		return backtracks.sum( );
+	}
+
+	@Override
+	public long getCandidatesTested() {
+		return candidatesTested.sum( );
+	}
+
+	@Override
+	public long getCandidatesRejected() {
+		return endConflicts.sum( ) + cellConflicts.sum( );
+	}
+
+	@Override
+	public long getEndConflicts() {
+		return endConflicts.sum( );
+	}
+
+	@Override
+	public long getCellConflicts() {
+		return cellConflicts.sum( );
+	}
+
+	@Override
+	public double getSetupMillis() {
+		return toMillis( setupNanos );
+	}
+
+	@Override
+	public double getPlacementMillis() {
+		return toMillis( placementNanos );
+	}
+
+	@Override
+	public double getFittingMillis() {
+		return toMillis( fittingNanos );
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getGenerationLatency() {
+		return generationLatency.snapshot( );
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getImageLatency() {
+		return imageLatency.snapshot( );
+	}
+
+	@Override
+	public LatencyHistogram.Snapshot getPngLatency() {
+		return pngLatency.snapshot( );
+	}
+
+	@Override
+	public long getGridCacheHits() {
+		return GridCache.getShared( ).getHits( );
+	}
+
+	@Override
+	public long getGridCacheMisses() {
+		return GridCache.getShared( ).getMisses( );
+	}
+
+	@Override
+	public void reset() {
+		for ( LongAdder adder : new LongAdder[]{ generations, failures, restarts, wordsPushedBack, backtracks,
+				candidatesTested, endConflicts, cellConflicts, setupNanos, placementNanos, fittingNanos } )
+			adder.reset( );
+
+		generationLatency.reset( );
+		imageLatency.reset( );
+		pngLatency.reset( );
+	}
+
+	/**
+	 * Read a time kept in nanoseconds.
+	 *
+	 * @param nanos The {@link LongAdder} holding the nanoseconds.
+	 * @return The time in milliseconds.
+	 */
+	private static double toMillis( LongAdder nanos ) {
+		return nanos.sum( ) / ( double ) TimeUnit.MILLISECONDS.toNanos( 1 );
+	}
+
+	/**
+	 * Counts - The counts and phase times of a single generation, kept by its {@link GridController} in plain fields
+	 * while it runs and added to the {@link GenerationMetrics} once it is done.  Only used by one thread at a time.
+	 */
+	static class Counts {
+		/** How many times the board was cleared and the {@link model.WordList} reshuffled. */
+		int restarts;
+
+		/** How many times a {@link model.Word} was pushed to the back of the {@link model.WordList}. */
+		int wordsPushedBack;
+
+		/** How many times the search backed out placed {@link model.Word}s. */
+		int backtracks;
+
+		/** How many candidate placements were tested. */
+		long candidatesTested;
+
+		/** How many candidates had a letter right before or after them. */
+		long endConflicts;
+
+		/** How many candidates conflicted with the cells they would cover. */
+		long cellConflicts;
+
+		/** The time spent placing {@link model.Word}s, in nanoseconds. */
+		long placementNanos;
+
+		/** The time spent fitting the {@link model.Grid}, in nanoseconds. */
+		long fittingNanos;
+
+		/**
+		 * Set everything back to zero for the next generation.
+		 */
+		void clear() {
+			restarts = 0;
+			wordsPushedBack = 0;
+			backtracks = 0;
+			candidatesTested = 0;
+			endConflicts = 0;
+			cellConflicts = 0;
+			placementNanos = 0;
+			fittingNanos = 0;
+		}
+	}
+}
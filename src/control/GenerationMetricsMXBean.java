@@ -0,0 +1,139 @@
+package control;
+
+/**
+ * GenerationMetricsMXBean.java - The management interface of {@link GenerationMetrics}, as seen by JMX clients like
+ * JConsole or VisualVM under {@value GenerationMetrics#OBJECT_NAME}.  The counts and times add up every generation
+ * since the start of the process or the last {@link #reset()}.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see GenerationMetrics
+ */
+public interface GenerationMetricsMXBean {
+	/**
+	 * Get how many times a {@link GridController} built or tried to build a {@link model.Grid}.  {@link model.Grid}s
+	 * taken from a {@link GridCache} are not generated and not counted.
+	 *
+	 * @return The number of generations.
+	 */
+	long getGenerations();
+
+	/**
+	 * Get how many generations gave up, were cancelled or failed.
+	 *
+	 * @return The number of failed generations.
+	 */
+	long getFailedGenerations();
+
+	/**
+	 * Get how many times a board was cleared and the {@link model.WordList} reshuffled.
+	 *
+	 * @return The number of restarts.
+	 */
+	long getRestarts();
+
+	/**
+	 * Get how many times a {@link model.Word} that couldn't be placed yet was pushed to the back of its {@link
+	 * model.WordList}.
+	 *
+	 * @return The number of words pushed back.
+	 */
+	long getWordsPushedBack();
+
+	/**
+	 * Get how many times the search backed out placed {@link model.Word}s.
+	 *
+	 * @return The number of backtracks.
+	 */
+	long getBacktracks();
+
+	/**
+	 * Get how many candidate {@link model.WordPlacement}s were generated and tested.
+	 *
+	 * @return The number of candidates.
+	 */
+	long getCandidatesTested();
+
+	/**
+	 * Get how many candidates were rejected, the sum of {@link #getEndConflicts()} and {@link #getCellConflicts()}.
+	 *
+	 * @return The number of rejected candidates.
+	 */
+	long getCandidatesRejected();
+
+	/**
+	 * Get how many candidates were rejected because a letter sat right before or after the {@link model.Word}.
+	 *
+	 * @return The number of end conflicts.
+	 */
+	long getEndConflicts();
+
+	/**
+	 * Get how many candidates failed validation against the cells they would cover: a mismatched letter, a parallel
+	 * {@link model.Word} or a crossing {@link model.Word} they would extend.
+	 *
+	 * @return The number of cell conflicts.
+	 */
+	long getCellConflicts();
+
+	/**
+	 * Get the time spent setting up the board and building the finished {@link model.Grid}s.
+	 *
+	 * @return The time in milliseconds.
+	 */
+	double getSetupMillis();
+
+	/**
+	 * Get the time spent placing {@link model.Word}s, including restarts.
+	 *
+	 * @return The time in milliseconds.
+	 */
+	double getPlacementMillis();
+
+	/**
+	 * Get the time spent fitting the {@link model.Grid}s around the placed {@link model.Word}s.
+	 *
+	 * @return The time in milliseconds.
+	 */
+	double getFittingMillis();
+
+	/**
+	 * Get the latencies of whole generations, successful or not.
+	 *
+	 * @return A {@link LatencyHistogram.Snapshot} of the generation latencies.
+	 */
+	LatencyHistogram.Snapshot getGenerationLatency();
+
+	/**
+	 * Get the latencies of {@link PuzzleImageController#createPuzzleImage(model.Grid, int)}.
+	 *
+	 * @return A {@link LatencyHistogram.Snapshot} of the image latencies.
+	 */
+	LatencyHistogram.Snapshot getImageLatency();
+
+	/**
+	 * Get the time spent encoding each PNG, tiled or not, not counting the drawing of its bands.
+	 *
+	 * @return A {@link LatencyHistogram.Snapshot} of the PNG encoding latencies.
+	 */
+	LatencyHistogram.Snapshot getPngLatency();
+
+	/**
+	 * Get how many lookups of the shared {@link GridCache} found a {@link model.Grid}.
+	 *
+	 * @return The number of hits.
+	 */
+	long getGridCacheHits();
+
+	/**
+	 * Get how many lookups of the shared {@link GridCache} found nothing usable.
+	 *
+	 * @return The number of misses.
+	 */
+	long getGridCacheMisses();
+
+	/**
+	 * Set every count, time and histogram back to zero.  The shared {@link GridCache} keeps its own counts.
+	 */
+	void reset();
+}
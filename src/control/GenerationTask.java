@@ -0,0 +1,180 @@
+package control;
+
+import javafx.concurrent.Task;
+import model.DictionaryFile;
+import model.Grid;
+import model.PuzzleGenerationException;
+import model.PuzzleImage;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GenerationTask.java - Builds a {@link Grid} and its {@link PuzzleImage} off the JavaFX application thread.  While
+ * the {@link GridController} works, a monitor thread publishes the attempt, the number of {@link model.Word}s placed
+ * and the elapsed time through the message and progress of the {@link Task}, and cancels the {@link GridController}
+ * once the timeout has passed.  Cancelling the {@link Task} cancels the {@link GridController} as well.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see ApplicationController
+ * @see GridController
+ */
+public class GenerationTask extends Task< PuzzleImage > {
+	/** How often the progress of the {@link GridController} is published, in milliseconds. {@value} */
+	private static final long PROGRESS_INTERVAL = 100;
+
+	/** The {@link GridController} building the {@link Grid}, only used for this one {@link Task}. */
+	private final GridController gridController;
+
+	/** The {@link PuzzleImageController} that draws the finished {@link Grid}. */
+	private final PuzzleImageController puzzleImageController;
+
+	/** The {@link DictionaryFile} the {@link Grid} is built from. */
+	private final DictionaryFile dictionaryFile;
+
+	/** How long the {@link GridController} may search before it is cancelled, in milliseconds. */
+	private final long timeout;
+
+	/** The {@link GridCache} the {@link Grid} is looked up in and stored to. */
+	private final GridCache gridCache;
+
+	/** The seed of the {@link GridController} and of the shuffle of the {@link DictionaryFile}. */
+	private final long seed;
+
+	/** Set by the monitor when the timeout cancelled the {@link GridController}. */
+	private volatile boolean timedOut = false;
+
+	/** The {@link System#nanoTime()} the {@link Task} started at. */
+	private volatile long startTime;
+
+	/**
+	 * Create a new {@link GenerationTask}.  A {@link GridController} stays cancelled once cancelled, so each {@link
+	 * GenerationTask} needs a {@link GridController} of its own.
+	 *
+	 * @param gridController        A fresh {@link GridController} built with the seed.
+	 * @param puzzleImageController The {@link PuzzleImageController} to draw the {@link Grid} with.
+	 * @param dictionaryFile        The {@link DictionaryFile} to build the {@link Grid} from, shuffled with the seed.
+	 * @param timeout               How long to search before giving up, in milliseconds.
+	 * @param gridCache             The {@link GridCache} to look the {@link Grid} up in and store it to.
+	 * @param seed                  The seed of the {@link GridController} and the {@link DictionaryFile}.
+	 */
+	public GenerationTask( GridController gridController, PuzzleImageController puzzleImageController,
+						   DictionaryFile dictionaryFile, long timeout, GridCache gridCache, long seed ) {
+		this.gridController = gridController;
+		this.puzzleImageController = puzzleImageController;
+		this.dictionaryFile = dictionaryFile;
+		this.timeout = timeout;
+		this.gridCache = gridCache;
+		this.seed = seed;
+	}
+
+	/**
+	 * Look the {@link Grid} up in the {@link GridCache} or build it, then draw it.  Runs on the background thread.
+	 *
+	 * @return The finished {@link PuzzleImage}.
+	 * @throws PuzzleGenerationException Thrown if the {@link GridController} gave up or ran out of time.
+	 */
+	@Override
+	protected PuzzleImage call() throws PuzzleGenerationException {
+		GridCache.Key key = GridCache.keyOf( dictionaryFile, gridController, seed );
+		Grid grid = gridCache.get( key );
+
+		if ( grid == null ) {
+			grid = generateGrid( );
+			gridCache.put( key, grid );
+		}
+
+		updateMessage( "Drawing the puzzle..." );
+		return puzzleImageController.createPuzzleImage( grid, PuzzleImageController.DEFAULT_BUFFER );
+	}
+
+	/**
+	 * Build the {@link Grid} while the monitor reports the progress.
+	 *
+	 * @return The finished {@link Grid}.
+	 * @throws PuzzleGenerationException Thrown if the {@link GridController} gave up or ran out of time.
+	 */
+	private Grid generateGrid() throws PuzzleGenerationException {
+		startTime = System.nanoTime( );
+
+		ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor( runnable -> {
+			Thread thread = new Thread( runnable, "generation-monitor" );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		monitor.scheduleAtFixedRate( this::reportProgress, 0, PROGRESS_INTERVAL, TimeUnit.MILLISECONDS );
+
+		Grid grid;
+		try {
+			grid = gridController.createGrid( dictionaryFile );
+		} catch ( PuzzleGenerationException pge ) {
+			if ( timedOut )
+				throw new PuzzleGenerationException(
+						"No grid was found within the " + timeoutSeconds( ) + " second timeout." );
+			throw pge;
+		} finally {
+			stopMonitor( monitor );
+		}
+
+		return grid;
+	}
+
+	/**
+	 * Cancel the {@link Task} and ask the {@link GridController} to stop at its next placement attempt.
+	 *
+	 * @param mayInterruptIfRunning Passed on to {@link Task#cancel(boolean)}.
+	 * @return True if the {@link Task} was cancelled.
+	 */
+	@Override
+	public boolean cancel( boolean mayInterruptIfRunning ) {
+		gridController.cancel( );
+		return super.cancel( mayInterruptIfRunning );
+	}
+
+	/**
+	 * Get the timeout of this {@link GenerationTask}, rounded to whole seconds for display.
+	 *
+	 * @return The timeout in seconds.
+	 */
+	public long timeoutSeconds() {
+		return TimeUnit.MILLISECONDS.toSeconds( timeout );
+	}
+
+	/**
+	 * Stop the monitor and wait for a progress report that is still running, so it can't overwrite the messages that
+	 * follow.
+	 *
+	 * @param monitor The monitor started by {@link #generateGrid()}.
+	 */
+	private void stopMonitor( ScheduledExecutorService monitor ) {
+		monitor.shutdownNow( );
+
+		try {
+			monitor.awaitTermination( PROGRESS_INTERVAL, TimeUnit.MILLISECONDS );
+		} catch ( InterruptedException ie ) {
+			Thread.currentThread( ).interrupt( );
+		}
+	}
+
+	/**
+	 * Publish the progress of the {@link GridController} and cancel it if the timeout has passed.  Runs on the monitor
+	 * thread, {@link Task#updateMessage(String)} and {@link Task#updateProgress(long, long)} hand the values over to
+	 * the JavaFX application thread.
+	 */
+	private void reportProgress() {
+		long elapsed = TimeUnit.NANOSECONDS.toMillis( System.nanoTime( ) - startTime );
+		int words = dictionaryFile.getWordList( ).listSize( );
+		int placed = gridController.getWordsPlaced( );
+
+		if ( elapsed >= timeout && !timedOut ) {
+			timedOut = true;
+			gridController.cancel( );
+		}
+
+		updateProgress( placed, words );
+		updateMessage( String.format( "Attempt %d: %d of %d words placed, %.1fs of %ds",
+				gridController.getRestarts( ) + 1, placed, words, elapsed / 1000.0, timeoutSeconds( ) ) );
+	}
+}
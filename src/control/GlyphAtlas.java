@@ -0,0 +1,278 @@
+package control;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * GlyphAtlas.java - A small set of characters rasterized once in one {@link Font} and {@link Color}.  Each glyph is
+ * drawn with {@link Graphics2D#drawString(String, int, int)} onto a scratch image and kept as the runs of pixels it
+ * covers, row by row.  Drawing a character then fills those runs straight into the pixels of the page, instead of
+ * laying out and rasterizing a one character {@link String}, which is most of the text of a puzzle: a letter for every
+ * cell of the answer key and a number for every {@link model.Word}.
+ *
+ * The glyphs are drawn without anti-aliasing, so their pixels are either fully coloured or untouched and the runs
+ * give exactly the pixels drawing the text would.  Characters that are not in the atlas are drawn as text.
+ *
+ * An atlas never changes once it is rasterized, so {@link #get(int, int, Color, String)} shares each one between every
+ * render in the process, on every thread, the way {@link FontCache} shares the {@link Font}s.  Only the {@value
+ * #MAX_ATLASES} most recently used are kept, a page needs two and the sizes of the next pages are usually the same.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see PuzzleImageController
+ * @see FontCache
+ */
+class GlyphAtlas {
+	/** Pixels of space kept around every glyph, outlines can reach a little past the bounds they report. {@value} */
+	private static final int PADDING = 2;
+
+	/** How many atlases are kept. {@value} */
+	static final int MAX_ATLASES = 16;
+
+	/** The recently used atlases, keyed by style, size, colour and characters. */
+	private static final LruCache< String, GlyphAtlas > atlases = new LruCache< String, GlyphAtlas >( MAX_ATLASES );
+
+	/** The {@link Font} the glyphs are drawn in. */
+	private final Font font;
+
+	/** The {@link Color} the glyphs are drawn in. */
+	private final Color color;
+
+	/** The ARGB value of the {@link Color}. */
+	private final int argb;
+
+	/** The index of each character in the atlas, by character, -1 for characters not in it. */
+	private final int[] slots;
+
+	/** The runs of each glyph as triples of row, column and length, relative to the start of its baseline. */
+	private final int[][] runs;
+
+	/** How far each glyph moves the baseline along, as text would. */
+	private final int[] advance;
+
+	/**
+	 * Rasterize a set of characters.
+	 *
+	 * @param font       The {@link Font} to draw them in.
+	 * @param color      The {@link Color} to draw them in, it must be opaque.
+	 * @param characters The characters, each only once.
+	 */
+	private GlyphAtlas( Font font, Color color, String characters ) {
+		this.font = font;
+		this.color = color;
+		this.argb = color.getRGB( );
+
+		int count = characters.length( );
+		int highest = 0;
+		for ( int i = 0; i < count; i++ )
+			highest = Math.max( highest, characters.charAt( i ) );
+
+		slots = new int[ highest + 1 ];
+		Arrays.fill( slots, -1 );
+		runs = new int[ count ][];
+		advance = new int[ count ];
+
+		BufferedImage scratch = new BufferedImage( 1, 1, BufferedImage.TYPE_INT_ARGB );
+		Graphics2D measure = scratch.createGraphics( );
+
+		try {
+			FontRenderContext context = measure.getFontRenderContext( );
+			FontMetrics metrics = measure.getFontMetrics( font );
+
+			for ( int i = 0; i < count; i++ ) {
+				char c = characters.charAt( i );
+				Rectangle bounds = font.createGlyphVector( context, String.valueOf( c ) )
+						.getPixelBounds( context, 0, 0 );
+
+				slots[c] = i;
+				runs[i] = rasterize( c, bounds );
+				advance[i] = metrics.charWidth( c );
+			}
+		} finally {
+			measure.dispose( );
+		}
+	}
+
+	/**
+	 * Get the shared atlas of a set of characters in the {@link FontCache} {@link Font} of the given style and size,
+	 * rasterizing it if it isn't cached.
+	 *
+	 * @param style      {@link Font#PLAIN} or {@link Font#BOLD}.
+	 * @param size       The font size in pixels.
+	 * @param color      The {@link Color} to draw them in, it must be opaque.
+	 * @param characters The characters, each only once.
+	 * @return The shared {@link GlyphAtlas}.
+	 */
+	static GlyphAtlas get( int style, int size, Color color, String characters ) {
+		return atlases.get( style + ":" + size + ":" + color.getRGB( ) + ":" + characters,
+				key -> new GlyphAtlas( FontCache.get( style, size ), color, characters ) );
+	}
+
+	/**
+	 * Draw one character with the start of its baseline at the given point.
+	 *
+	 * @param writer The {@link Graphics2D} of the image, for characters that are not in the atlas.
+	 * @param image  The image to draw on, see {@link #drawString(Graphics2D, BufferedImage, int, String, int, int)}.
+	 * @param top    The row of the page at the top of the image.
+	 * @param c      The character.
+	 * @param x      The left end of the baseline.
+	 * @param y      The baseline, in rows of the page.
+	 */
+	void drawChar( Graphics2D writer, BufferedImage image, int top, char c, int x, int y ) {
+		int i = slotOf( c );
+
+		if ( i >= 0 && isIntImage( image ) )
+			fillRuns( image, runs[i], x, y - top );
+		else
+			drawText( writer, String.valueOf( c ), x, y );
+	}
+
+	/**
+	 * Draw a {@link String} with the start of its baseline at the given point, one glyph after the other.  If any of
+	 * its characters is not in the atlas the whole {@link String} is drawn as text.
+	 *
+	 * The image must store each pixel as one int, like {@link BufferedImage#TYPE_INT_ARGB} and {@link
+	 * BufferedImage#TYPE_INT_RGB}, anything else is drawn through the {@link Graphics2D}.  The {@link Graphics2D} is
+	 * expected to be translated by the top of the image, so both draw in rows of the page.
+	 *
+	 * @param writer The {@link Graphics2D} of the image, for characters that are not in the atlas.
+	 * @param image  The image to draw on.
+	 * @param top    The row of the page at the top of the image.
+	 * @param string The {@link String}.
+	 * @param x      The left end of the baseline.
+	 * @param y      The baseline, in rows of the page.
+	 */
+	void drawString( Graphics2D writer, BufferedImage image, int top, String string, int x, int y ) {
+		boolean inAtlas = isIntImage( image );
+		for ( int i = 0; i < string.length( ) && inAtlas; i++ )
+			inAtlas = slotOf( string.charAt( i ) ) >= 0;
+
+		if ( inAtlas ) {
+			for ( int i = 0; i < string.length( ); i++ ) {
+				int slot = slotOf( string.charAt( i ) );
+				fillRuns( image, runs[slot], x, y - top );
+				x += advance[slot];
+			}
+		}
+		else {
+			drawText( writer, string, x, y );
+		}
+	}
+
+	/**
+	 * Draw a character onto a scratch image and collect the runs of pixels it covers.
+	 *
+	 * @param c      The character.
+	 * @param bounds The pixel bounds of its glyph, relative to the start of its baseline.
+	 * @return The runs as triples of row, column and length, relative to the start of the baseline.
+	 */
+	private int[] rasterize( char c, Rectangle bounds ) {
+		int width = Math.max( 1, bounds.width + 2 * PADDING );
+		int height = Math.max( 1, bounds.height + 2 * PADDING );
+		int left = bounds.x - PADDING;
+		int up = bounds.y - PADDING;
+
+		BufferedImage glyph = new BufferedImage( width, height, BufferedImage.TYPE_INT_ARGB );
+		Graphics2D writer = glyph.createGraphics( );
+		try {
+			writer.setFont( font );
+			writer.setColor( color );
+			writer.drawString( String.valueOf( c ), -left, -up );
+		} finally {
+			writer.dispose( );
+		}
+
+		int[] pixels = ( ( DataBufferInt ) glyph.getRaster( ).getDataBuffer( ) ).getData( );
+		int[] found = new int[ 3 * pixels.length ];
+		int length = 0;
+
+		for ( int y = 0; y < height; y++ ) {
+			int x = 0;
+
+			while ( x < width ) {
+				if ( pixels[y * width + x] != 0 ) {
+					int start = x;
+					while ( x < width && pixels[y * width + x] != 0 )
+						x++;
+
+					found[length++] = y + up;
+					found[length++] = start + left;
+					found[length++] = x - start;
+				}
+				else {
+					x++;
+				}
+			}
+		}
+
+		return Arrays.copyOf( found, length );
+	}
+
+	/**
+	 * Fill the runs of a glyph into an image, clipped to its edges.
+	 *
+	 * @param image The image, which stores one int per pixel.
+	 * @param glyph The runs of the glyph.
+	 * @param x     The left end of the baseline.
+	 * @param y     The baseline, in rows of the image.
+	 */
+	private void fillRuns( BufferedImage image, int[] glyph, int x, int y ) {
+		int[] pixels = ( ( DataBufferInt ) image.getRaster( ).getDataBuffer( ) ).getData( );
+		int width = image.getWidth( );
+		int height = image.getHeight( );
+
+		for ( int i = 0; i < glyph.length; i += 3 ) {
+			int row = y + glyph[i];
+			int start = Math.max( 0, x + glyph[i + 1] );
+			int end = Math.min( width, x + glyph[i + 1] + glyph[i + 2] );
+
+			if ( row >= 0 && row < height && start < end )
+				Arrays.fill( pixels, row * width + start, row * width + end, argb );
+		}
+	}
+
+	/**
+	 * Check if the runs can be filled straight into an image, which needs one int per pixel and the image to start at
+	 * the start of its pixel array.
+	 *
+	 * @param image The image.
+	 * @return True if the image is a whole {@link BufferedImage#TYPE_INT_ARGB} or {@link BufferedImage#TYPE_INT_RGB}.
+	 */
+	private static boolean isIntImage( BufferedImage image ) {
+		int type = image.getType( );
+
+		return ( type == BufferedImage.TYPE_INT_ARGB || type == BufferedImage.TYPE_INT_RGB )
+				&& image.getRaster( ).getParent( ) == null;
+	}
+
+	/**
+	 * Find a character in the atlas.
+	 *
+	 * @param c The character.
+	 * @return Its index in the atlas, or -1 if it isn't in it.
+	 */
+	private int slotOf( char c ) {
+		return c < slots.length ? slots[c] : -1;
+	}
+
+	/**
+	 * Draw text the usual way, in the {@link Font} and {@link Color} of the atlas.
+	 *
+	 * @param writer The {@link Graphics2D} to draw with.
+	 * @param text   The text.
+	 * @param x      The left end of the baseline.
+	 * @param y      The baseline.
+	 */
+	private void drawText( Graphics2D writer, String text, int x, int y ) {
+		writer.setFont( font );
+		writer.setColor( color );
+		writer.drawString( text, x, y );
+	}
+}
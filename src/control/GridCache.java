@@ -0,0 +1,321 @@
+package control;
+
+import model.DictionaryFile;
+import model.Grid;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GridCache.java - Keeps recently generated {@link Grid}s so asking for the same puzzle again skips the {@link
+ * GridController}.  A {@link Grid} is fully decided by the contents of its {@link DictionaryFile}, the options of the
+ * {@link GridController} and the seed, so those three make up the {@link Key}.  The cache is bounded by the total
+ * number of cells of the cached {@link Grid}s and evicts the least recently used {@link Grid} first, and a {@link Grid}
+ * older than the maximum age is dropped the next time it is looked at.  Hits, misses and evictions are counted.
+ *
+ * The cached {@link Grid}s are independent copies that no {@link DictionaryFile} can reset, and they are shared by
+ * every caller that asks for them, so they must only be read.  A {@link GridCache} can be shared between threads.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see GridController
+ * @see model.DictionaryCache
+ */
+public class GridCache {
+	/** The default limit on the total number of cells of the cached {@link Grid}s. {@value} */
+	private static final long DEFAULT_MAX_CELLS = 1L << 22;
+
+	/** The default age after which a cached {@link Grid} is dropped, one day in milliseconds. */
+	private static final long DEFAULT_MAX_AGE = TimeUnit.DAYS.toMillis( 1 );
+
+	/** The {@link GridCache} shared by the whole application. */
+	private static final GridCache SHARED = new GridCache( DEFAULT_MAX_CELLS, DEFAULT_MAX_AGE );
+
+	/** The limit on the total number of cells of the cached {@link Grid}s. */
+	private final long maxCells;
+
+	/** How long a {@link Grid} stays cached, in nanoseconds. */
+	private final long maxAge;
+
+	/** The cached {@link Grid}s, least recently used first. */
+	private final LinkedHashMap< Key, Entry > entries = new LinkedHashMap< Key, Entry >( 16, .75f, true );
+
+	/** The total number of cells of the cached {@link Grid}s. */
+	private long cachedCells = 0;
+
+	/** How many lookups found a {@link Grid}. */
+	private long hits = 0;
+
+	/** How many lookups found nothing, or only a {@link Grid} that was too old. */
+	private long misses = 0;
+
+	/** How many {@link Grid}s were dropped for space or age. */
+	private long evictions = 0;
+
+	/**
+	 * Create an empty {@link GridCache}.
+	 *
+	 * @param maxCells     The limit on the total number of cells of the cached {@link Grid}s.
+	 * @param maxAgeMillis How long a {@link Grid} stays cached, in milliseconds.
+	 */
+	public GridCache( long maxCells, long maxAgeMillis ) {
+		this.maxCells = maxCells;
+		this.maxAge = TimeUnit.MILLISECONDS.toNanos( maxAgeMillis );
+	}
+
+	/**
+	 * Get the {@link GridCache} shared by the whole application.
+	 *
+	 * @return The shared {@link GridCache}.
+	 */
+	public static GridCache getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * Build the {@link Key} of the {@link Grid} a {@link GridController} would build from a {@link DictionaryFile} with
+	 * a seed.  The {@link GridController} must be built with the same seed and the {@link DictionaryFile} shuffled
+	 * with it, or the cached {@link Grid} won't be the one it would have built.
+	 *
+	 * @param dictionaryFile The {@link DictionaryFile}.
+	 * @param gridController The {@link GridController}, with its {@link PlacementScorer} already set.
+	 * @param seed           The seed.
+	 * @return The {@link Key}.
+	 */
+	public static Key keyOf( DictionaryFile dictionaryFile, GridController gridController, long seed ) {
+		return new Key( dictionaryFile.getDigest( ), gridController.getOptions( ), seed );
+	}
+
+	/**
+	 * Build the {@link Key} of the {@link Grid} a {@link PortfolioGridController} builds from a {@link DictionaryFile}
+	 * with a seed and a time budget.  Which attempt wins depends on timing, so this {@link Key} does not decide the
+	 * {@link Grid}, caching it under the {@link Key} makes the same request return the same {@link Grid} again.
+	 *
+	 * @param dictionaryFile The {@link DictionaryFile}.
+	 * @param portfolio      The {@link PortfolioGridController}, with its {@link PlacementScorer} already set.
+	 * @param timeBudget     The time budget passed to {@link PortfolioGridController#createGrid(DictionaryFile, long)}.
+	 * @param seed           The seed.
+	 * @return The {@link Key}.
+	 */
+	public static Key keyOf( DictionaryFile dictionaryFile, PortfolioGridController portfolio, long timeBudget,
+	                         long seed ) {
+		return new Key( dictionaryFile.getDigest( ), portfolio.getOptions( ) + ",budget=" + timeBudget, seed );
+	}
+
+	/**
+	 * Look up a {@link Grid}.
+	 *
+	 * @param key The {@link Key} of the {@link Grid}.
+	 * @return The cached {@link Grid}, which must only be read, or null if it isn't cached or has grown too old.
+	 */
+	public synchronized Grid get( Key key ) {
+		Entry entry = entries.get( key );
+
+		if ( entry != null && System.nanoTime( ) - entry.stored > maxAge ) {
+			remove( key, entry );
+			entry = null;
+		}
+
+		if ( entry != null )
+			hits++;
+		else
+			misses++;
+
+		return entry != null ? entry.grid : null;
+	}
+
+	/**
+	 * Cache a copy of a freshly generated {@link Grid}, evicting the {@link Grid}s that have grown too old and then the
+	 * least recently used ones until the cache fits its limit.  A {@link Grid} larger than the whole limit is not
+	 * cached.
+	 *
+	 * @param key  The {@link Key} of the {@link Grid}.
+	 * @param grid The {@link Grid}, it is copied so its {@link DictionaryFile} may be reset afterwards.
+	 * @return The cached copy, or the {@link Grid} itself if it was too large to cache.
+	 */
+	public Grid put( Key key, Grid grid ) {
+		long cells = ( long ) grid.getWidth( ) * grid.getHeight( );
+		Grid cached = grid;
+
+		if ( cells <= maxCells ) {
+			cached = new Grid( grid );
+			store( key, new Entry( cached, cells ) );
+		}
+
+		return cached;
+	}
+
+	/**
+	 * Get how many lookups found a {@link Grid}.
+	 *
+	 * @return The number of hits.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Get how many lookups found nothing usable.
+	 *
+	 * @return The number of misses.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Get the share of the lookups that found a {@link Grid}.
+	 *
+	 * @return The hit rate from 0 to 1, 0 before the first lookup.
+	 */
+	public synchronized double getHitRate() {
+		return hits + misses == 0 ? 0 : hits / ( double ) ( hits + misses );
+	}
+
+	/**
+	 * Get how many {@link Grid}s were dropped for space or age.
+	 *
+	 * @return The number of evictions.
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Get the number of cached {@link Grid}s.
+	 *
+	 * @return How many {@link Grid}s are cached.
+	 */
+	public synchronized int size() {
+		return entries.size( );
+	}
+
+	/**
+	 * Forget every cached {@link Grid} and reset the counters.
+	 */
+	public synchronized void clear() {
+		entries.clear( );
+		cachedCells = 0;
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	/**
+	 * Add an {@link Entry}, first dropping every {@link Entry} that has grown too old and then the least recently
+	 * used ones until the new one fits.
+	 *
+	 * @param key   The {@link Key} of the {@link Grid}.
+	 * @param entry The {@link Entry} holding the copy of the {@link Grid}.
+	 */
+	private synchronized void store( Key key, Entry entry ) {
+		Entry replaced = entries.remove( key );
+		if ( replaced != null )
+			cachedCells -= replaced.cells;
+
+		Iterator< Entry > older = entries.values( ).iterator( );
+		while ( older.hasNext( ) ) {
+			Entry other = older.next( );
+			if ( entry.stored - other.stored > maxAge ) {
+				cachedCells -= other.cells;
+				evictions++;
+				older.remove( );
+			}
+		}
+
+		Iterator< Entry > leastRecent = entries.values( ).iterator( );
+		while ( cachedCells + entry.cells > maxCells && leastRecent.hasNext( ) ) {
+			cachedCells -= leastRecent.next( ).cells;
+			evictions++;
+			leastRecent.remove( );
+		}
+
+		entries.put( key, entry );
+		cachedCells += entry.cells;
+	}
+
+	/**
+	 * Drop an {@link Entry} that has grown too old.
+	 *
+	 * @param key   The {@link Key} of the {@link Entry}.
+	 * @param entry The {@link Entry}.
+	 */
+	private void remove( Key key, Entry entry ) {
+		entries.remove( key );
+		cachedCells -= entry.cells;
+		evictions++;
+	}
+
+	/**
+	 * Key - Identifies one generated {@link Grid}: the digest of its {@link DictionaryFile}, the options of its {@link
+	 * GridController} and its seed.
+	 */
+	public static class Key {
+		/** The digest of the contents of the {@link DictionaryFile}. */
+		private final String digest;
+
+		/** The options of the {@link GridController}. */
+		private final String options;
+
+		/** The seed of the {@link GridController} and the shuffle of the {@link DictionaryFile}. */
+		private final long seed;
+
+		/**
+		 * Create a {@link Key}.
+		 *
+		 * @param digest  The digest of the contents of the {@link DictionaryFile}, see {@link
+		 *                DictionaryFile#getDigest()}.
+		 * @param options The options of the {@link GridController}, see {@link GridController#getOptions()}.
+		 * @param seed    The seed of the {@link GridController} and the shuffle of the {@link DictionaryFile}.
+		 */
+		public Key( String digest, String options, long seed ) {
+			this.digest = digest;
+			this.options = options;
+			this.seed = seed;
+		}
+
+		@Override
+		public boolean equals( Object o ) {
+			boolean equal = false;
+
+			if ( o instanceof Key ) {
+				Key other = ( Key ) o;
+				equal = seed == other.seed && digest.equals( other.digest ) && options.equals( other.options );
+			}
+
+			return equal;
+		}
+
+		@Override
+		public int hashCode() {
+			return ( digest.hashCode( ) * 31 + options.hashCode( ) ) * 31 + Long.hashCode( seed );
+		}
+	}
+
+	/**
+	 * Entry - A cached {@link Grid}, its size and when it was stored.
+	 */
+	private static class Entry {
+		/** The cached copy of the {@link Grid}. */
+		private final Grid grid;
+
+		/** The number of cells of the {@link Grid}. */
+		private final long cells;
+
+		/** The {@link System#nanoTime()} the {@link Grid} was stored at. */
+		private final long stored = System.nanoTime( );
+
+		/**
+		 * Create an {@link Entry}.
+		 *
+		 * @param grid  The cached copy of the {@link Grid}.
+		 * @param cells The number of cells of the {@link Grid}.
+		 */
+		Entry( Grid grid, long cells ) {
+			this.grid = grid;
+			this.cells = cells;
+		}
+	}
+}
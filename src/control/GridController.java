@@ -3,6 +3,7 @@ package control;
 import model.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -18,111 +19,275 @@ import java.util.Random;
  * @see Word
  */
 public class GridController {
-	/** The arbitrary width chosen to start the {@link GridCell} at.  Allows for enough room to expand. */
-	private static int STARTING_WIDTH = 100;
+	/** How many times the board is cleared and the {@link WordList} reshuffled before giving up. {@value} */
+	private static final int MAX_RESTARTS = 50;
 
-	/** The arbitrary height chosen to start the {@link GridCell} at.  Allows for enough room to expand. */
-	private static int STARTING_HEIGHT = 100;
+	/** How many backtracks per {@link Word} in the {@link WordList} are allowed before starting over. {@value} */
+	private static final int BACKTRACKS_PER_WORD = 4;
 
-	/** The 2D array of {@link GridCell}s that represents the crossword puzzle board. */
-	private GridCell[][] letterGrid;
+	/** How many of the best {@link WordPlacement}s of a {@link Word} are kept to backtrack into. {@value} */
+	private static final int CANDIDATES_PER_WORD = 3;
+
+	/** The flat {@link LetterBoard} that represents the crossword puzzle board while {@link Word}s are placed. */
+	private LetterBoard board;
+
+	/** The extents of the occupied cells of the finished {@link LetterBoard}. */
+	private BoundingBox extents;
+
+	/** Reused to read the extents of the {@link LetterBoard} while candidates are being scored. */
+	private final BoundingBox boardExtents = new BoundingBox( );
+
+	/** Reused to collect the cell ids of the letter matches of the {@link Word} being placed. */
+	private int[] matchCells = new int[ 64 ];
+
+	/** Reused to keep the best few candidates of the {@link Word} being placed. */
+	private final CandidateBuffer candidates = new CandidateBuffer( CANDIDATES_PER_WORD );
+
+	/** Decides which {@link WordPlacement}s of a {@link Word} are tried first. */
+	private PlacementScorer placementScorer = new CrossingScorer( );
 
 	/** The {@link ArrayList} containing all the {@link Word}s that are currently written on the {@link GridCell} array. */
 	private ArrayList< Word > wordsOnGrid;
 
-	/** The Dimension of the {@link GridCell} array. */
+	/** The Dimension of the finished {@link GridCell} array. */
 	private int width, height;
 
+	/** The source of randomness for reshuffling the {@link WordList} and orienting the first {@link Word}. */
+	private final Random random;
+
+	/** How many times the board was cleared and started over during the last {@link #createGrid(DictionaryFile)}. */
+	private volatile int restarts;
+
+	/** How many {@link Word}s are on the board right now, published for progress reporting from other threads. */
+	private volatile int wordsPlaced;
+
+	/** Set from another thread by {@link #cancel()} to stop generation at the next placement attempt. */
+	private volatile boolean cancelled = false;
+
+	/** The counts and phase times of the running generation, added to the {@link GenerationMetrics} when it ends. */
+	private final GenerationMetrics.Counts counts = new GenerationMetrics.Counts( );
 
 	/**
-	 * Essentially a factory method to create a {@link Grid} from a given {@link DictionaryFile}
+	 * Create a {@link GridController} with an unpredictable seed.
+	 */
+	public GridController() {
+		this( new Random( ) );
+	}
+
+	/**
+	 * Create a {@link GridController} with a fixed seed, so the same {@link DictionaryFile} order produces the same
+	 * {@link Grid}.
 	 *
-	 * @param dictionaryFile The {@link DictionaryFile} to pull the {@link WordList} from.
-	 * @return The finished {@link Grid} object.
+	 * @param seed The seed for all the random choices made while building a {@link Grid}.
+	 */
+	public GridController( long seed ) {
+		this( new Random( seed ) );
+	}
+
+	/**
+	 * Create a {@link GridController} that draws its random choices from the given {@link Random}.
+	 *
+	 * @param random The source of randomness to use.
+	 */
+	private GridController( Random random ) {
+		this.random = random;
+	}
+
+	/**
+	 * Get the {@link PlacementScorer} used to rank the candidate {@link WordPlacement}s of each {@link Word}.
+	 *
+	 * @return The current {@link PlacementScorer}.
 	 */
-	public Grid createGrid( DictionaryFile dictionaryFile ) {
-		wordsOnGrid = new ArrayList< Word >( );
-		letterGrid = new GridCell[STARTING_WIDTH][STARTING_HEIGHT];
-		width = STARTING_WIDTH;
-		height = STARTING_HEIGHT;
+	public PlacementScorer getPlacementScorer() {
+		return placementScorer;
+	}
 
-		initGridCells( );
-		buildPuzzle( dictionaryFile );
+	/**
+	 * Change how the candidate {@link WordPlacement}s of each {@link Word} are ranked.  Takes effect on the next
+	 * {@link Word} that is placed.
+	 *
+	 * @param placementScorer The {@link PlacementScorer} to use, the default is a {@link CrossingScorer}.
+	 */
+	public void setPlacementScorer( PlacementScorer placementScorer ) {
+		this.placementScorer = placementScorer;
+	}
 
-		return new Grid( width, height, letterGrid, wordsOnGrid );
+	/**
+	 * Describe everything besides the seed and the {@link DictionaryFile} that decides which {@link Grid} is built: the
+	 * {@link PlacementScorer} and the search limits.  Used in the key of a {@link GridCache}.
+	 *
+	 * @return The options as text.
+	 */
+	public String getOptions() {
+		return optionsOf( placementScorer );
 	}
 
 	/**
-	 * Initialize all the {@link GridCell} references in the 2D letterGrid array.
+	 * Describe the options of a {@link GridController} that ranks its candidates with a {@link PlacementScorer}.
+	 *
+	 * @param placementScorer The {@link PlacementScorer}.
+	 * @return The options as text, as returned by {@link #getOptions()}.
 	 */
-	private void initGridCells() {
-		for ( int x = 0; x < letterGrid.length; x++ )
-			for ( int y = 0; y < letterGrid[x].length; y++ )
-				letterGrid[x][y] = new GridCell( );
+	static String optionsOf( PlacementScorer placementScorer ) {
+		return "scorer=" + placementScorer + ",restarts=" + MAX_RESTARTS + ",backtracks=" + BACKTRACKS_PER_WORD +
+				",candidates=" + CANDIDATES_PER_WORD;
 	}
 
 	/**
-	 * Reset each {@link GridCell} in the 2d letterGrid array.  Used when the {@link GridCell} needs to be
-	 * reset for a new iteration.
+	 * Ask a running {@link #createGrid(DictionaryFile)} to give up.  Safe to call from any thread, the generation
+	 * stops at its next placement attempt and throws a {@link PuzzleGenerationException}.  Once cancelled, a {@link
+	 * GridController} stays cancelled.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Check if {@link #cancel()} has been called on this {@link GridController}.
+	 *
+	 * @return True if generation has been cancelled.
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Get how many times the board had to be cleared and the {@link WordList} reshuffled during the last call to
+	 * {@link #createGrid(DictionaryFile)}, whether or not it succeeded.
+	 *
+	 * @return The number of restarts, 0 if the first attempt succeeded.
+	 */
+	public int getRestarts() {
+		return restarts;
+	}
+
+	/**
+	 * Get how many {@link Word}s are currently on the board.  Safe to poll from another thread while {@link
+	 * #createGrid(DictionaryFile)} is running, the count drops again when {@link Word}s are backed out or the board
+	 * is cleared.
+	 *
+	 * @return The number of {@link Word}s placed so far.
 	 */
-	private void resetGridCells() {
-		for ( int x = 0; x < letterGrid.length; x++ )
-			for ( int y = 0; y < letterGrid[x].length; y++ )
-				letterGrid[x][y].reset( );
+	public int getWordsPlaced() {
+		return wordsPlaced;
+	}
+
+	/**
+	 * Essentially a factory method to create a {@link Grid} from a given {@link DictionaryFile}.  The work done is
+	 * added to the shared {@link GenerationMetrics} whether or not a {@link Grid} is built.
+	 *
+	 * @param dictionaryFile The {@link DictionaryFile} to pull the {@link WordList} from.
+	 * @return The finished {@link Grid} object.
+	 * @throws PuzzleGenerationException Thrown if the {@link Word}s could not all be fit onto a {@link Grid}.
+	 */
+	public Grid createGrid( DictionaryFile dictionaryFile ) throws PuzzleGenerationException {
+		long start = System.nanoTime( );
+		Grid grid = null;
+		counts.clear( );
+
+		try {
+			wordsOnGrid = new ArrayList< Word >( );
+			wordsPlaced = 0;
+			board = new LetterBoard( dictionaryFile.getWordList( ).letterCount( ) );
+
+			buildPuzzle( dictionaryFile );
+
+			grid = new Grid( width, height, board, extents.getMinX( ), extents.getMinY( ), wordsOnGrid );
+		} finally {
+			counts.restarts = restarts;
+			GenerationMetrics.getShared( ).recordGeneration( counts, grid != null, System.nanoTime( ) - start );
+		}
+
+		return grid;
 	}
 
 	/**
 	 * Fit the {@link Word}s from the {@link DictionaryFile}'s {@link WordList} onto the {@link GridCell} array.
 	 *
+	 * Failed attempts back out a few placements at a time, only once the backtracking budget is spent is the board
+	 * cleared and the {@link WordList} reshuffled.
+	 *
 	 * @param dictionaryFile the {@link DictionaryFile} to be use for the {@link WordList}.
+	 * @throws PuzzleGenerationException Thrown if no valid board was found after {@value #MAX_RESTARTS} restarts, or if
+	 *                                   the generation was cancelled.
 	 */
-	private void buildPuzzle( DictionaryFile dictionaryFile ) {
+	private void buildPuzzle( DictionaryFile dictionaryFile ) throws PuzzleGenerationException {
 		WordList words = dictionaryFile.getWordList( );
 
-		//Loop until the board is valid
+		//Loop until the board is valid or we run out of restarts
 		boolean validBoard = false;
-		while ( !validBoard ) {
+		restarts = 0;
+		long placing = System.nanoTime( );
+		while ( !validBoard && !cancelled && restarts < MAX_RESTARTS ) {
 			validBoard = attemptToPlaceAllWords( words );
 
 			if ( !validBoard ) {
 				clearTheGrid( );
-				dictionaryFile.reset( );
+				dictionaryFile.reset( random );
+				restarts++;
 			}
 		}
 
+		long fitting = System.nanoTime( );
+		counts.placementNanos = fitting - placing;
+
+		if ( cancelled )
+			throw new PuzzleGenerationException( "Generation was cancelled." );
+		if ( !validBoard )
+			throw new PuzzleGenerationException( restarts );
+
 		fitGridToCrossWord( );
+		counts.fittingNanos = System.nanoTime( ) - fitting;
 	}
 
 	/**
-	 * A soft-reset of the {@link GridCell} array that doesn't manipulate the letterGrid Array dimensions.
+	 * A soft-reset of the {@link LetterBoard} that doesn't manipulate the board dimensions.
 	 * Used when the grid is found to be invalid.
 	 */
 	private void clearTheGrid() {
-		resetGridCells( );
+		board.clear( );
 		wordsOnGrid.clear( );
+		wordsPlaced = 0;
 	}
 
 	/**
-	 * Attempt to find a spot for all the {@link Word}s in the {@link WordList} of the {@link DictionaryFile}.
+	 * Attempt to find a spot for all the {@link Word}s in the {@link WordList} of the {@link DictionaryFile}.  This is a
+	 * depth-first search: every placed {@link Word} is recorded in an undo log with its untried {@link WordPlacement}s.
+	 * A {@link Word} that can't be placed yet is pushed to the back of the {@link WordList}, when every remaining {@link
+	 * Word} has been pushed back the search backtracks into the undo log instead of starting over.
 	 *
-	 * @param words The {@link WordList} to be placed on the {@link GridCell} grid.
-	 * @return True of all the {@link Word}s in the {@link WordList} were placed on the {@link GridCell} grid.
+	 * @param words The {@link WordList} to be placed on the {@link LetterBoard}.
+	 * @return True of all the {@link Word}s in the {@link WordList} were placed on the {@link LetterBoard}.
 	 */
 	private boolean attemptToPlaceAllWords( WordList words ) {
-		Word currentWord = words.getNextUnplaced( );
+		ArrayList< PlacementFrame > undoLog = new ArrayList< PlacementFrame >( );
+		int backtracks = words.listSize( ) * BACKTRACKS_PER_WORD;
 		int iterations = words.listSize( ) * words.listSize( );
+		int deferred = 0;
 
-		while ( currentWord != null && iterations > 0 ) {
-			if ( attemptToPlaceWord( currentWord ) ) {
-				if ( wordsOnGrid.size( ) > 1 ) {
-					if ( !validateWordsOnBoard( ) ) {
-						words.pushToBack( currentWord );
-					}
-				}
+		Word currentWord = words.getNextUnplaced( );
+		while ( currentWord != null && backtracks > 0 && iterations > 0 && !cancelled ) {
+			PlacementFrame frame = attemptToPlaceWord( currentWord );
+
+			if ( frame != null ) {
+				undoLog.add( frame );
+				deferred = 0;
 			}
-			else
+			else {
 				words.pushToBack( currentWord );
+				counts.wordsPushedBack++;
+				deferred++;
+
+				//Every unplaced word has been tried against this board, so back out the last placement
+				if ( deferred >= words.listSize( ) - wordsOnGrid.size( ) ) {
+					backtrack( undoLog, words );
+					counts.backtracks++;
+					backtracks--;
+					deferred = 0;
+				}
+			}
 
+			wordsPlaced = wordsOnGrid.size( );
 			currentWord = words.getNextUnplaced( );
 			iterations--;
 		}
@@ -131,52 +296,53 @@ public class GridController {
 	}
 
 	/**
-	 * Resize the 2D {@link GridCell} array to fit around the elements on the {@link Grid}.
-	 * Basically clears out empty columns and rows from the {@link GridCell} array.
+	 * Back out {@link Word}s from the end of the undo log until one of them can be written again using its next best
+	 * {@link WordPlacement}.  {@link Word}s that have no {@link WordPlacement}s left are dropped from the log and go
+	 * back to the front of the {@link WordList}, so they are the next to be tried.
+	 *
+	 * @param undoLog The {@link PlacementFrame}s of the {@link Word}s on the {@link LetterBoard}, in placement order.
+	 * @param words   The {@link WordList} being placed.
 	 */
-	private void fitGridToCrossWord() {
-		BoundingBox box = new BoundingBox( );
+	private void backtrack( ArrayList< PlacementFrame > undoLog, WordList words ) {
+		boolean resumed = false;
+
+		while ( !resumed && !undoLog.isEmpty( ) ) {
+			PlacementFrame frame = undoLog.get( undoLog.size( ) - 1 );
 
-		calculateExtents( box );
-		recalculateWordPlacements( box );
-		adjustGridDimensions( box );
+			popLastWordOffBoard( );
+			frame.getWord( ).reset( );
 
-		letterGrid = copyToNewCellGrid( box );
+			resumed = placeNextCandidate( frame );
+			if ( !resumed ) {
+				undoLog.remove( undoLog.size( ) - 1 );
+				words.pushToFront( frame.getWord( ) );
+			}
+		}
 	}
 
 	/**
-	 * Calculate the min and max x and y of the {@link GridCell} array, storing them into a
-	 * {@link BoundingBox} for use.
-	 *
-	 * @param box The {@link BoundingBox} to store the extents in.
+	 * Fit the {@link Grid} around the elements on the {@link LetterBoard}.  The extents are tracked by the board as
+	 * {@link Word}s come and go, so this only offsets the {@link Word} positions, the {@link Grid} itself is a view of
+	 * the board that builds its {@link GridCell} array on demand.
 	 */
-	private void calculateExtents( BoundingBox box ) {
-		for ( int x = 0; x < letterGrid.length; x++ )
-			for ( int y = 0; y < letterGrid[x].length; y++ )
-				if ( letterGrid[x][y].getReferences( ).size( ) > 0 )
-					boundsCheck( box, x, y );
+	private void fitGridToCrossWord() {
+		extents = new BoundingBox( );
+
+		calculateExtents( extents );
+		recalculateWordPlacements( extents );
+		adjustGridDimensions( extents );
 	}
 
 	/**
-	 * Check an x and a y against the contents of a {@link BoundingBox} to see if they are significant for
-	 * dimension calculation.
+	 * Read the min and max x and y of the occupied cells of the {@link LetterBoard}, storing them into a
+	 * {@link BoundingBox} for use.
 	 *
-	 * @param box The {@link BoundingBox} that should contain the extents of the {@link GridCell} array.
-	 * @param x   The x in the {@link GridCell} array to check.
-	 * @param y   The y in the {@link GridCell} array to check.
+	 * @param box The {@link BoundingBox} to store the extents in.
 	 */
-	private void boundsCheck( BoundingBox box, int x, int y ) {
-		if ( y < box.getMinY( ) )
-			box.setMinY( y );
-		if ( y > box.getMaxY( ) )
-			box.setMaxY( y );
-		if ( x < box.getMinX( ) )
-			box.setMinX( x );
-		if ( x > box.getMaxX( ) )
-			box.setMaxX( x );
+	private void calculateExtents( BoundingBox box ) {
+		board.findExtents( box );
 	}
 
-
 	/**
 	 * Based on the new {@link BoundingBox}, all of the {@link Vector2} starting positions need to be updated.
 	 *
@@ -203,157 +369,172 @@ public class GridController {
 	}
 
 	/**
-	 * Copy the contents of the default {@link GridCell} array into a new, resized {@link GridCell} array.
-	 *
-	 * @param box The {@link BoundingBox} that contains the extents of the {@link GridCell} array.
-	 * @return A new 2D {@link GridCell} array that has all the referenced {@link GridCell}s copied.
-	 */
-	private GridCell[][] copyToNewCellGrid( BoundingBox box ) {
-		GridCell[][] newGrid = new GridCell[width][height];
-
-		for ( int x = 1; x < width - 1; x++ )
-			for ( int y = 1; y < height - 1; y++ )
-				newGrid[x][y] = letterGrid[x + box.getMinX( ) - 1][y + box.getMinY( ) - 1];
-
-		return newGrid;
-	}
-
-	/**
-	 * Try to place the given {@link Word} on the {@link GridCell} array.
+	 * Try to place the given {@link Word} on the {@link LetterBoard}.  Candidates are weighed in the reusable scratch
+	 * buffers of this {@link GridController}, so a {@link Word} that can't be placed allocates nothing.
 	 *
 	 * @param currentWord Which {@link Word} to try to find a valid {@link WordPlacement} for.
-	 * @return True if the {@link Word} was successfully placed.
+	 * @return The {@link PlacementFrame} to record in the undo log, or null if the {@link Word} couldn't be placed.
 	 */
-	private boolean attemptToPlaceWord( Word currentWord ) {
-		boolean success = false;
+	private PlacementFrame attemptToPlaceWord( Word currentWord ) {
+		PlacementFrame frame = null;
 
 		if ( wordsOnGrid.isEmpty( ) ) {
 			placeFirstWord( currentWord );
-			success = true;
+			frame = new PlacementFrame( currentWord, new long[ 0 ] );
 		}
 		else {
 			String current = currentWord.getWordString( );
 
-			ArrayList< WordPlacement > letterMatches = findLetterMatches( current );
-			ArrayList< WordPlacement > placements = generatePlacements( letterMatches, current );
+			int letterMatches = findLetterMatches( current );
+			generatePlacements( letterMatches, current );
 
-			WordPlacement bestPlacement = findBestPlacement( placements );
+			if ( candidates.size( ) > 0 ) {
+				frame = new PlacementFrame( currentWord, candidates.toArray( ) );
+				placeNextCandidate( frame );
+			}
+		}
 
-			success = bestPlacement != null;
-			if ( success ) {
-				currentWord.setWordPlacement( bestPlacement );
-				currentWord.setWrittenOnGrid( true );
+		return frame;
+	}
 
-				writeWordToGrid( currentWord );
-				wordsOnGrid.add( currentWord );
-			}
+	/**
+	 * Write the {@link Word} of a {@link PlacementFrame} using its next untried candidate.  Every candidate was checked
+	 * against the board it was generated on, and backtracking restores exactly that board, so it is always valid.
+	 *
+	 * @param frame The {@link PlacementFrame} of the {@link Word} to place.
+	 * @return True if the {@link Word} was placed, false if the frame had no candidates left.
+	 */
+	private boolean placeNextCandidate( PlacementFrame frame ) {
+		boolean placed = frame.hasNextCandidate( );
+
+		if ( placed ) {
+			Word currentWord = frame.getWord( );
+			currentWord.setWordPlacement( createPlacement( currentWord.getWordString( ), frame.nextCandidate( ) ) );
+			currentWord.setWrittenOnGrid( true );
+
+			writeWordToGrid( currentWord );
+			wordsOnGrid.add( currentWord );
 		}
 
-		return success;
+		return placed;
 	}
 
+	/**
+	 * Generate and test every placement of a {@link Word} against the board as the last {@link
+	 * #createGrid(DictionaryFile)} left it, without placing it.  Used by the benchmarks to measure the candidate search
+	 * on its own.
+	 *
+	 * @param current The {@link String} representation of the {@link Word}.
+	 * @return How many candidates passed, at most {@value #CANDIDATES_PER_WORD}.
+	 */
+	int generateCandidates( String current ) {
+		generatePlacements( findLetterMatches( current ), current );
+
+		return candidates.size( );
+	}
 
 	/**
-	 * Find all letters in all {@link Word}s currently on the {@link GridCell} array that have a matching
-	 * letter to the current {@link Word}.  Each match will be encapsulated into a {@link WordPlacement}
-	 * Object that represents a potential overlap location.
+	 * Find all crossable cells on the {@link LetterBoard} that have a matching letter to the current {@link Word}.
+	 * The cells come straight from the board's crossing index, which is kept up to date as {@link Word}s are written
+	 * and deleted.  The cell ids of the matches are stored in the reusable matchCells buffer.
 	 *
-	 * @param current The {@link Word} representation of the current {@link Word}.
-	 * @return An {@link ArrayList} of {@link WordPlacement}s that represents all the overlaps that are suitable.
+	 * @param current The {@link String} representation of the current {@link Word}.
+	 * @return The number of matches stored in matchCells.
 	 */
-	private ArrayList< WordPlacement > findLetterMatches( String current ) {
-		ArrayList< WordPlacement > potentialLocations = new ArrayList< WordPlacement >( );
+	private int findLetterMatches( String current ) {
+		int matches = 0;
 
-		for ( char c : current.toCharArray( ) ) {
-			for ( Word w : wordsOnGrid ) {
-				char[] letters = w.getWordString( ).toCharArray( );
-				for ( int i = 1; i < letters.length; i++ ) {
-					if ( letters[i] == c ) {
-						Vector2 spot = new Vector2( w.getWordPlacement( ).getStartPosition( ) );
-						Orientation orientation = w.getWordPlacement( ).getOrientation( );
+		for ( int i = 0; i < current.length( ); i++ ) {
+			char c = current.charAt( i );
 
-						if ( orientation == Orientation.HORIZONTAL )
-							spot.setX( spot.getX( ) + i );
-						else
-							spot.setY( spot.getY( ) + i );
+			//Repeated letters would only produce the same matches again
+			if ( current.indexOf( c ) == i ) {
+				for ( int m = 0; m < board.getCrossingCount( c ); m++ ) {
+					int cell = board.getCrossingCell( c, m );
 
-						potentialLocations.add( new WordPlacement( spot, orientation ) );
+					if ( board.getCharacter( board.getCellX( cell ), board.getCellY( cell ) ) == c ) {
+						if ( matches == matchCells.length )
+							matchCells = Arrays.copyOf( matchCells, matches * 2 );
+						matchCells[matches++] = cell;
 					}
 				}
 			}
 		}
 
-		return potentialLocations;
+		return matches;
 	}
 
 	/**
-	 * Parse the {@link ArrayList} of letter matching {@link WordPlacement}s to create a list of
-	 * valid {@link WordPlacement}s that cause overlaps.
+	 * Line the current {@link Word} up with each letter match in both {@link Orientation}s, score the placements that
+	 * are valid with the {@link PlacementScorer} and keep the best few in the candidate buffer.
 	 *
-	 * @param potentialOverlaps A {@link ArrayList} of all the overlaps detected.
-	 * @param current           The {@link String} representation of the current {@link Word}.
-	 * @return An {@link ArrayList} of all the valid {@link WordPlacement}s that have been generated that would cause
-	 * overlaps.
+	 * @param letterMatches The number of matches stored in matchCells.
+	 * @param current       The {@link String} representation of the current {@link Word}.
 	 */
-	private ArrayList< WordPlacement > generatePlacements( ArrayList< WordPlacement > potentialOverlaps, String current ) {
-		ArrayList< WordPlacement > placements = new ArrayList< WordPlacement >( );
+	private void generatePlacements( int letterMatches, String current ) {
+		candidates.clear( );
+		board.findExtents( boardExtents );
 
-		for ( WordPlacement potentialOverlap : potentialOverlaps ) {
-			Vector2 focusPoint = new Vector2( potentialOverlap.getStartPosition( ) );
-			char matchedLetter = letterGrid[focusPoint.getX( )][focusPoint.getY( )].getCharacter( );
+		for ( int m = 0; m < letterMatches; m++ ) {
+			int focusX = board.getCellX( matchCells[m] );
+			int focusY = board.getCellY( matchCells[m] );
+			char matchedLetter = board.getCharacter( focusX, focusY );
 			int index = current.indexOf( matchedLetter );
 
 			while ( index >= 0 ) {
 				//Horizontal placements
-				int x = focusPoint.getX( ) - index;
-				int y = focusPoint.getY( );
-
-				WordPlacement placement = testPlacement( current, Orientation.HORIZONTAL, x, y );
-				if ( placement != null )
-					placements.add( placement );
+				offerPlacement( current, Orientation.HORIZONTAL, focusX - index, focusY );
 
 				//Vertical placements
-				x = focusPoint.getX( );
-				y = focusPoint.getY( ) - index;
-
-				placement = testPlacement( current, Orientation.VERTICAL, x, y );
-				if ( placement != null )
-					placements.add( placement );
+				offerPlacement( current, Orientation.VERTICAL, focusX, focusY - index );
 
 				index = current.indexOf( matchedLetter, index + 1 );
 			}
 		}
-
-		return placements;
 	}
 
 	/**
-	 * Test a {@link WordPlacement} for validity.  If valid, it will be returned an added as a candidate
-	 * {@link WordPlacement}.
+	 * Test a placement and, if it is valid, offer it to the candidate buffer with its score.
 	 *
 	 * @param current     The {@link String} representation of the current {@link Word}.
 	 * @param orientation The {@link Orientation} to test.
 	 * @param startX      The starting X position to test.
 	 * @param startY      The starting Y position to test.
-	 * @return Null if invalid, otherwise the {@link WordPlacement} was determined to be valid.
 	 */
-	private WordPlacement testPlacement( String current, Orientation orientation, final int startX, final int startY ) {
-		WordPlacement placement = null;
-		boolean withinBounds = isWithinBounds( orientation, startX, startY, current.length( ) );
+	private void offerPlacement( String current, Orientation orientation, int startX, int startY ) {
+		int crossings = testPlacement( current, orientation, startX, startY );
 
-		if ( withinBounds ) {
-			ArrayList< Word > possibleOverlaps = new ArrayList< Word >( );
-			boolean conflicts = testGridCells( current, orientation, startX, startY, /*MODIFIED*/ possibleOverlaps );
+		if ( crossings >= 0 ) {
+			double score = placementScorer.score( startX, startY, orientation, current.length( ), crossings,
+					boardExtents );
+			candidates.offer( CandidateBuffer.encode( startX, startY, orientation ), score );
+		}
+	}
 
-			if ( !conflicts ) {
-				conflicts = findPositionConflicts( current, orientation, startX, startY );
+	/**
+	 * Test a placement for validity.  A valid placement leaves every {@link Word} on the board, and the new one, with
+	 * an empty cell before and after it.  Every test and the reason for every rejection is counted.
+	 *
+	 * @param current     The {@link String} representation of the current {@link Word}.
+	 * @param orientation The {@link Orientation} to test.
+	 * @param startX      The starting X position to test.
+	 * @param startY      The starting Y position to test.
+	 * @return The number of {@link Word}s the placement would cross, or -1 if it is invalid.
+	 */
+	private int testPlacement( String current, Orientation orientation, final int startX, final int startY ) {
+		int crossings = -1;
+		counts.candidatesTested++;
 
-				if ( !conflicts )
-					placement = new WordPlacement( new Vector2( startX, startY ), orientation, possibleOverlaps );
-			}
+		if ( findPositionConflicts( current, orientation, startX, startY ) ) {
+			counts.endConflicts++;
+		}
+		else {
+			crossings = testGridCells( current, orientation, startX, startY );
+			if ( crossings < 0 )
+				counts.cellConflicts++;
 		}
 
-		return placement;
+		return crossings;
 	}
 
 	/**
@@ -369,15 +550,15 @@ public class GridController {
 		boolean conflicts = false;
 
 		if ( orientation == Orientation.HORIZONTAL ) {
-			if ( startX + current.length( ) < width && letterGrid[startX + current.length( )][startY].getReferences( ).size( ) != 0 )
+			if ( board.isOccupied( startX + current.length( ), startY ) )
 				conflicts = true;
-			if ( startX - 1 > 0 && letterGrid[startX - 1][startY].getReferences( ).size( ) != 0 )
+			if ( board.isOccupied( startX - 1, startY ) )
 				conflicts = true;
 		}
 		else if ( orientation == Orientation.VERTICAL ) {
-			if ( startY + current.length( ) < height && letterGrid[startX][startY + current.length( )].getReferences( ).size( ) != 0 )
+			if ( board.isOccupied( startX, startY + current.length( ) ) )
 				conflicts = true;
-			if ( startY - 1 > 0 && letterGrid[startX][startY - 1].getReferences( ).size( ) != 0 )
+			if ( board.isOccupied( startX, startY - 1 ) )
 				conflicts = true;
 		}
 
@@ -385,135 +566,131 @@ public class GridController {
 	}
 
 	/**
-	 * Step through each potential {@link GridCell} that the {@link Word} could occupy.  If the {@link GridCell}
-	 * is empty, continue, if not, test the {@link GridCell}'s char to see if it matches
-	 * the index of the current word {@link String}. If it does, it is a valid {@link WordPlacement} overlap.  So it
-	 * parses the {@link GridCell}'s {@link Word} references and adds them to the potential overlaps {@link ArrayList}.
+	 * Step through each potential cell that the {@link Word} could occupy.  An occupied cell must hold the matching
+	 * letter and no {@link Word} of the same {@link Orientation}, it is then a crossing.  An empty cell must not sit
+	 * right before or after a {@link Word} running the other way, filling it would extend that {@link Word} into a
+	 * different one.  Checking this here means a placement never has to be written and validated to be rejected.
 	 *
-	 * @param current          The {@link String} representation of the current {@link Word}.
-	 * @param orientation      The {@link Orientation} of the {@link Word} to test.
-	 * @param startX           The starting X position to test.
-	 * @param startY           The starting Y position to test.
-	 * @param possibleOverlaps An {@link ArrayList} that will contain all {@link Word} references that the tested {@link
-	 *                         WordPlacement} overlaps.
-	 * @return False is there were no conflicts.  True if a {@link GridCell} in the path did not match the word.
+	 * @param current     The {@link String} representation of the current {@link Word}.
+	 * @param orientation The {@link Orientation} of the {@link Word} to test.
+	 * @param startX      The starting X position to test.
+	 * @param startY      The starting Y position to test.
+	 * @return The number of crossings, or -1 if a cell in the path conflicts with the {@link Word}.
 	 */
-	private boolean testGridCells( String current, Orientation orientation, int startX, int startY, ArrayList< Word > possibleOverlaps ) {
-		boolean letterConflicts = false;
+	private int testGridCells( String current, Orientation orientation, int startX, int startY ) {
+		int crossings = 0;
 
 		int i = 0;
-		while ( !letterConflicts && i < current.length( ) ) {
+		while ( crossings >= 0 && i < current.length( ) ) {
 			char c = getChar( orientation, startX, startY, i );
-			if ( c != 0 ) {
-				if ( c == current.charAt( i ) ) {
-					ArrayList< Word > references = getReferences( orientation, startX, startY, i );
-					for ( Word w : references )
-						possibleOverlaps.add( w );
-				}
-				else {
-					letterConflicts = true;
-				}
+			if ( c == 0 ) {
+				if ( touchesCrossingWord( orientation, startX, startY, i ) )
+					crossings = -1;
+			}
+			else if ( c == current.charAt( i ) && getWord( orientation, orientation, startX, startY, i ) == null ) {
+				crossings++;
+			}
+			else {
+				crossings = -1;
 			}
 			i++;
 		}
-		return letterConflicts;
+		return crossings;
 	}
 
 	/**
-	 * Get a list of references from a {@link GridCell} at a specific {@link Vector2} position.
+	 * Check the cells on either side of a cell, across the direction of the {@link Word} being tested, for the end of
+	 * a {@link Word} running the other way.
 	 *
-	 * @param orientation The {@link Orientation} that needs to be validated.
+	 * @param orientation The {@link Orientation} of the {@link Word} to test.
 	 * @param x           The starting x position to be tested.
 	 * @param y           The starting y position to be tested.
 	 * @param offset      How much to offset the position based on the {@link Orientation}.
-	 * @return A list of references to all the {@link Word}s that overlap the given {@link GridCell}.
+	 * @return True if a {@link Word} of the crossing {@link Orientation} starts or ends next to the cell.
 	 */
-	private ArrayList< Word > getReferences( Orientation orientation, final int x, final int y, final int offset ) {
+	private boolean touchesCrossingWord( Orientation orientation, final int x, final int y, final int offset ) {
+		Orientation crossing = crossingOf( orientation );
+
 		return orientation == Orientation.HORIZONTAL ?
-				letterGrid[x + offset][y].getReferences( ) :
-				letterGrid[x][y + offset].getReferences( );
+				board.getWord( x + offset, y - 1, crossing ) != null ||
+						board.getWord( x + offset, y + 1, crossing ) != null :
+				board.getWord( x - 1, y + offset, crossing ) != null ||
+						board.getWord( x + 1, y + offset, crossing ) != null;
 	}
 
 	/**
-	 * Get a char from a {@link GridCell} at a specified {@link Vector2} position.
+	 * Get the {@link Orientation} of the {@link Word}s that can cross a {@link Word} of the given {@link Orientation}.
 	 *
-	 * @param orientation The {@link Orientation} that needs to be validated.
-	 * @param x           The starting x position to be tested.
-	 * @param y           The starting y position to be tested.
-	 * @param offset      How much to offset the position based on the {@link Orientation}.
-	 * @return the char that the {@link GridCell} contains.
+	 * @param orientation The {@link Orientation} of a {@link Word}.
+	 * @return The other {@link Orientation}.
 	 */
-	private char getChar( Orientation orientation, final int x, final int y, final int offset ) {
-		return orientation == Orientation.HORIZONTAL ?
-				letterGrid[x + offset][y].getCharacter( ) :
-				letterGrid[x][y + offset].getCharacter( );
+	private Orientation crossingOf( Orientation orientation ) {
+		return orientation == Orientation.HORIZONTAL ? Orientation.VERTICAL : Orientation.HORIZONTAL;
+	}
+
+	/**
+	 * Turn a packed candidate into a {@link WordPlacement}, collecting the {@link Word}s it crosses.  Only candidates
+	 * that are actually written get this far.
+	 *
+	 * @param current   The {@link String} representation of the current {@link Word}.
+	 * @param candidate The packed candidate.
+	 * @return The new {@link WordPlacement}.
+	 */
+	private WordPlacement createPlacement( String current, long candidate ) {
+		int x = CandidateBuffer.xOf( candidate );
+		int y = CandidateBuffer.yOf( candidate );
+		Orientation orientation = CandidateBuffer.orientationOf( candidate );
+		Orientation crossing = crossingOf( orientation );
+
+		ArrayList< Word > overlaps = new ArrayList< Word >( );
+		for ( int i = 0; i < current.length( ); i++ ) {
+			if ( getChar( orientation, x, y, i ) != 0 )
+				overlaps.add( getWord( orientation, crossing, x, y, i ) );
+		}
+
+		return new WordPlacement( new Vector2( x, y ), orientation, overlaps );
 	}
 
 	/**
-	 * Ensure that a {@link WordPlacement} will be within the bounds of the {@link GridCell} array.
+	 * Get the {@link Word} of a given {@link Orientation} that runs through a cell at a specific {@link Vector2}
+	 * position.
 	 *
 	 * @param orientation The {@link Orientation} that needs to be validated.
+	 * @param slot        The {@link Orientation} of the {@link Word} to look up in the cell.
 	 * @param x           The starting x position to be tested.
 	 * @param y           The starting y position to be tested.
-	 * @param wordLength  The length of the word that is being tested.
-	 * @return True is the dimensions are within the bounds of the {@link GridCell} array.
+	 * @param offset      How much to offset the position based on the {@link Orientation}.
+	 * @return The {@link Word} that occupies the cell in the slot {@link Orientation}, or null if there is none.
 	 */
-	private boolean isWithinBounds( Orientation orientation, final int x, final int y, final int wordLength ) {
-		boolean withinBounds = false;
-
-		if ( orientation == Orientation.HORIZONTAL )
-			withinBounds = ( x >= 0 && x + wordLength < width && y >= 0 && y < height );
-		else if ( orientation == Orientation.VERTICAL )
-			withinBounds = ( x >= 0 && x < width && y >= 0 && y + wordLength < height );
-
-		return withinBounds;
+	private Word getWord( Orientation orientation, Orientation slot, final int x, final int y, final int offset ) {
+		return orientation == Orientation.HORIZONTAL ?
+				board.getWord( x + offset, y, slot ) :
+				board.getWord( x, y + offset, slot );
 	}
 
 	/**
-	 * Parse the list of all valid {@link WordPlacement}s and determine the one with the most overlaps.
-	 * This one will be used to place the {@link Word}.
+	 * Get a char from a cell of the {@link LetterBoard} at a specified {@link Vector2} position.
 	 *
-	 * @param placements List of valid {@link WordPlacement}s on the {@link GridCell} array.
-	 * @return The best {@link WordPlacement} determined by number of overlaps.
+	 * @param orientation The {@link Orientation} that needs to be validated.
+	 * @param x           The starting x position to be tested.
+	 * @param y           The starting y position to be tested.
+	 * @param offset      How much to offset the position based on the {@link Orientation}.
+	 * @return the char that the cell contains.
 	 */
-	private WordPlacement findBestPlacement( ArrayList< WordPlacement > placements ) {
-		WordPlacement bestPlacement = null;
-
-		if ( placements.size( ) > 0 ) {
-			for ( WordPlacement currentPlacement : placements ) {
-				if ( bestPlacement == null || bestPlacement.getOverlaps( ).size( ) < currentPlacement.getOverlaps( ).size( ) )
-					bestPlacement = currentPlacement;
-			}
-		}
-
-		return bestPlacement;
+	private char getChar( Orientation orientation, final int x, final int y, final int offset ) {
+		return orientation == Orientation.HORIZONTAL ?
+				board.getCharacter( x + offset, y ) :
+				board.getCharacter( x, y + offset );
 	}
 
 	/**
-	 * Write a {@link Word} onto the {@link GridCell} array, populating {@link GridCell}s with references and a
-	 * chars if they are empty.
+	 * Write a {@link Word} onto the {@link LetterBoard}, populating cells with references and chars if they are
+	 * empty.
 	 *
-	 * @param currentWord The {@link Word} to write to the {@link GridCell} array.
+	 * @param currentWord The {@link Word} to write to the {@link LetterBoard}.
 	 */
 	private void writeWordToGrid( Word currentWord ) {
-		WordPlacement wordPlacement = new WordPlacement( currentWord.getWordPlacement( ) );
-		String string = currentWord.getWordString( );
-
-		int x = wordPlacement.getStartPosition( ).getX( );
-		int y = wordPlacement.getStartPosition( ).getY( );
-
-		for ( int i = 0; i < string.length( ); i++ ) {
-			if ( letterGrid[x][y].getReferences( ).size( ) < 1 )
-				letterGrid[x][y].setCharacter( string.charAt( i ) );
-
-			letterGrid[x][y].addReference( currentWord );
-
-			if ( wordPlacement.getOrientation( ) == Orientation.HORIZONTAL )
-				x++;
-			else
-				y++;
-		}
-
+		board.writeWord( currentWord );
 		addOverlapReferences( currentWord );
 	}
 
@@ -528,27 +705,13 @@ public class GridController {
 	}
 
 	/**
-	 * Remove a {@link Word} from the {@link GridCell} array, this effectively clears
+	 * Remove a {@link Word} from the {@link LetterBoard}, this effectively clears
 	 * the cells if they no longer have any {@link Word} references.
 	 *
-	 * @param currentWord The {@link Word} to deleted from the {@link GridCell} array.
+	 * @param currentWord The {@link Word} to deleted from the {@link LetterBoard}.
 	 */
 	private void deleteWordFromGrid( Word currentWord ) {
-		WordPlacement wordPlacement = currentWord.getWordPlacement( );
-		String w = currentWord.getWordString( );
-
-		int x = wordPlacement.getStartPosition( ).getX( );
-		int y = wordPlacement.getStartPosition( ).getY( );
-
-		for ( int i = 0; i < w.length( ); i++ ) {
-			if ( letterGrid[x][y].getCharacter( ) == w.charAt( i ) )
-				letterGrid[x][y].removeReference( currentWord );
-
-			if ( wordPlacement.getOrientation( ) == Orientation.HORIZONTAL )
-				x++;
-			else
-				y++;
-		}
+		board.eraseWord( currentWord );
 		removeOverlapReferences( currentWord );
 	}
 
@@ -564,15 +727,16 @@ public class GridController {
 	}
 
 	/**
-	 * Special case method to place the first {@link Word} in the center of the {@link GridCell} array.
+	 * Special case method to place the first {@link Word} centered on the origin of the {@link LetterBoard}.  The
+	 * board grows in every direction, so the origin is as good a center as any.
 	 *
 	 * @param currentWord The first {@link Word} in the {@link WordList}.
 	 */
 	private void placeFirstWord( Word currentWord ) {
-		int x = ( width / 2 );
-		int y = ( height / 2 );
+		int x = 0;
+		int y = 0;
 
-		Orientation orientation = ( new Random( ).nextBoolean( ) ? Orientation.HORIZONTAL : Orientation.VERTICAL );
+		Orientation orientation = ( random.nextBoolean( ) ? Orientation.HORIZONTAL : Orientation.VERTICAL );
 
 		if ( orientation == Orientation.VERTICAL ) {
 			y -= currentWord.getWordString( ).length( );
@@ -589,88 +753,11 @@ public class GridController {
 	}
 
 	/**
-	 * Make sure each {@link Word} that is on {@link GridCell} array still valid. If any are
-	 * found to be invalid, the blame is on the most recently added {@link Word}, so it will
-	 * be popped off the {@link GridCell} array.
-	 *
-	 * @return True if all {@link Word}s in the wordsOnGrid {@link ArrayList} are still valid.
-	 */
-	private boolean validateWordsOnBoard() {
-		boolean keepChecking = true;
-		int index = 0;
-		while ( keepChecking && index < wordsOnGrid.size( ) ) {
-			if ( !spacesBeforeAfterClear( wordsOnGrid.get( index ) ) ) {
-				popLastWordOffBoard( );
-				keepChecking = false;
-			}
-			index++;
-		}
-		return keepChecking;
-	}
-
-	/**
-	 * Remove the last {@link Word} from the wordsOnGrid {@link ArrayList} and {@link GridCell} array, because it
-	 * invalidated some other {@link Word} on the {@link GridCell} array.
+	 * Remove the last {@link Word} from the wordsOnGrid {@link ArrayList} and the {@link LetterBoard}, used when
+	 * backtracking.
 	 */
 	private void popLastWordOffBoard() {
 		deleteWordFromGrid( wordsOnGrid.get( wordsOnGrid.size( ) - 1 ) );
 		wordsOnGrid.remove( wordsOnGrid.size( ) - 1 );
 	}
-
-	/**
-	 * Check the beginning and ending of the given {@link Word} to make sure there is an empty {@link GridCell}
-	 * before and after the {@link Word}.
-	 *
-	 * @param word The {@link Word} to validate.
-	 * @return True if the {@link GridCell} are still clear, False if they are occupied.
-	 */
-	private boolean spacesBeforeAfterClear( Word word ) {
-		Vector2 position = word.getWordPlacement( ).getStartPosition( );
-		Orientation orientation = word.getWordPlacement( ).getOrientation( );
-		int length = word.getWordString( ).length( );
-		boolean stillValid = true;
-
-		if ( orientation == Orientation.HORIZONTAL )
-			stillValid = stillValidHorizontal( position, length );
-		else if ( orientation == Orientation.VERTICAL )
-			stillValid = stillValidVertical( position, length );
-
-		return stillValid;
-	}
-
-	/**
-	 * Test the front and back of a {@link Orientation} Vertical {@link Word}.
-	 *
-	 * @param position The starting {@link Vector2} position of the {@link Word}.
-	 * @param length   The length of the {@link Word}
-	 * @return False if the {@link GridCell} in-front or behind the {@link Word} is occupied.
-	 */
-	private boolean stillValidVertical( Vector2 position, int length ) {
-		boolean stillValid = true;
-
-		if ( position.getY( ) + length < height && letterGrid[position.getX( )][position.getY( ) + length].getReferences( ).size( ) > 0 )
-			stillValid = false;
-		if ( position.getY( ) - 1 > 0 && letterGrid[position.getX( )][position.getY( ) - 1].getReferences( ).size( ) > 0 )
-			stillValid = false;
-
-		return stillValid;
-	}
-
-	/**
-	 * Test the front and back of a {@link Orientation} Horizontal {@link Word}.
-	 *
-	 * @param position The starting position of the {@link Word}.
-	 * @param length   The length of the {@link Word}
-	 * @return False if the {@link GridCell} in-front or behind the {@link Word} is occupied.
-	 */
-	private boolean stillValidHorizontal( Vector2 position, int length ) {
-		boolean stillValid = true;
-
-		if ( position.getX( ) + length < width && letterGrid[position.getX( ) + length][position.getY( )].getReferences( ).size( ) > 0 )
-			stillValid = false;
-		if ( position.getX( ) - 1 > 0 && letterGrid[position.getX( ) - 1][position.getY( )].getReferences( ).size( ) > 0 )
-			stillValid = false;
-
-		return stillValid;
-	}
-}
\ No newline at end of file
+}
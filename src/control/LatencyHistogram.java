@@ -0,0 +1,234 @@
+package control;
+
+import java.beans.ConstructorProperties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram.java - Counts latencies in {@value #BUCKETS} buckets that double in width, bucket i holds the
+ * latencies under 2^i microseconds that didn't fit the bucket before it, and the last one holds everything longer.
+ * Recording a latency is a couple of uncontended additions, so it can be done from any number of threads on every
+ * call without a lock.  The percentiles read from a {@link Snapshot} are the upper limit of the bucket they fall in,
+ * so they are at most twice the real value.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see GenerationMetrics
+ */
+public class LatencyHistogram {
+	/** The number of buckets, the last one starts at 2^30 microseconds, just under 18 minutes. {@value} */
+	public static final int BUCKETS = 32;
+
+	/** How many latencies fell in each bucket. */
+	private final LongAdder[] buckets = new LongAdder[ BUCKETS ];
+
+	/** The total of the recorded latencies in nanoseconds. */
+	private final LongAdder totalNanos = new LongAdder( );
+
+	/** The longest recorded latency in nanoseconds. */
+	private final LongAccumulator maxNanos = new LongAccumulator( Math::max, 0 );
+
+	/**
+	 * Create an empty {@link LatencyHistogram}.
+	 */
+	public LatencyHistogram() {
+		for ( int i = 0; i < BUCKETS; i++ )
+			buckets[i] = new LongAdder( );
+	}
+
+	/**
+	 * Record one latency.
+	 *
+	 * @param nanos The latency in nanoseconds.
+	 */
+	public void record( long nanos ) {
+		long micros = Math.max( 0, nanos ) / 1000;
+
+		buckets[Math.min( BUCKETS - 1, 64 - Long.numberOfLeadingZeros( micros ) )].increment( );
+		totalNanos.add( nanos );
+		maxNanos.accumulate( nanos );
+	}
+
+	/**
+	 * Forget every recorded latency.  Latencies recorded while the reset runs may be partly kept.
+	 */
+	public void reset() {
+		for ( LongAdder bucket : buckets )
+			bucket.reset( );
+		totalNanos.reset( );
+		maxNanos.reset( );
+	}
+
+	/**
+	 * Read the recorded latencies.  The buckets are read one at a time while other threads may still be recording, so
+	 * the {@link Snapshot} can be a few latencies off.
+	 *
+	 * @return A {@link Snapshot} of the {@link LatencyHistogram}.
+	 */
+	public Snapshot snapshot() {
+		long[] counts = new long[ BUCKETS ];
+		long count = 0;
+
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			counts[i] = buckets[i].sum( );
+			count += counts[i];
+		}
+
+		double max = toMillis( maxNanos.get( ) );
+		return new Snapshot( count, count == 0 ? 0 : toMillis( totalNanos.sum( ) ) / count,
+				percentile( counts, count, .5, max ), percentile( counts, count, .9, max ),
+				percentile( counts, count, .99, max ), max, counts );
+	}
+
+	/**
+	 * Find the upper limit of the bucket a percentile falls in.
+	 *
+	 * @param counts   The count of each bucket.
+	 * @param count    The total of the counts.
+	 * @param fraction The percentile as a fraction.
+	 * @param max      The longest latency in milliseconds, no percentile is reported above it.
+	 * @return The percentile in milliseconds, 0 if nothing was recorded.
+	 */
+	private static double percentile( long[] counts, long count, double fraction, double max ) {
+		long rank = ( long ) Math.ceil( fraction * count );
+		long seen = 0;
+		int bucket = 0;
+
+		while ( bucket < BUCKETS - 1 && seen + counts[bucket] < rank ) {
+			seen += counts[bucket];
+			bucket++;
+		}
+
+		return count == 0 ? 0 : Math.min( max, ( 1L << bucket ) / 1000.0 );
+	}
+
+	/**
+	 * Convert nanoseconds to milliseconds.
+	 *
+	 * @param nanos The nanoseconds.
+	 * @return The milliseconds, with the fraction kept.
+	 */
+	private static double toMillis( long nanos ) {
+		return nanos / ( double ) TimeUnit.MILLISECONDS.toNanos( 1 );
+	}
+
+	/**
+	 * Snapshot - The recorded latencies of a {@link LatencyHistogram} at one moment, in milliseconds.  Shown as a
+	 * composite attribute by JMX clients.
+	 */
+	public static class Snapshot {
+		/** How many latencies were recorded. */
+		private final long count;
+
+		/** The average latency. */
+		private final double meanMillis;
+
+		/** The median latency, as the upper limit of its bucket. */
+		private final double p50Millis;
+
+		/** The 90th percentile latency, as the upper limit of its bucket. */
+		private final double p90Millis;
+
+		/** The 99th percentile latency, as the upper limit of its bucket. */
+		private final double p99Millis;
+
+		/** The longest latency. */
+		private final double maxMillis;
+
+		/** The count of each bucket, bucket i holds the latencies under 2^i microseconds. */
+		private final long[] buckets;
+
+		/**
+		 * Create a {@link Snapshot}.
+		 *
+		 * @param count      How many latencies were recorded.
+		 * @param meanMillis The average latency.
+		 * @param p50Millis  The median latency.
+		 * @param p90Millis  The 90th percentile latency.
+		 * @param p99Millis  The 99th percentile latency.
+		 * @param maxMillis  The longest latency.
+		 * @param buckets    The count of each bucket.
+		 */
+		@ConstructorProperties( { "count", "meanMillis", "p50Millis", "p90Millis", "p99Millis", "maxMillis", "buckets" } )
+		public Snapshot( long count, double meanMillis, double p50Millis, double p90Millis, double p99Millis,
+		                 double maxMillis, long[] buckets ) {
+			this.count = count;
+			this.meanMillis = meanMillis;
+			this.p50Millis = p50Millis;
+			this.p90Millis = p90Millis;
+			this.p99Millis = p99Millis;
+			this.maxMillis = maxMillis;
+			this.buckets = buckets.clone( );
+		}
+
+		/**
+		 * Get how many latencies were recorded.
+		 *
+		 * @return The count.
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * Get the average latency.
+		 *
+		 * @return The average in milliseconds.
+		 */
+		public double getMeanMillis() {
+			return meanMillis;
+		}
+
+		/**
+		 * Get the median latency.
+		 *
+		 * @return The median in milliseconds, as the upper limit of its bucket.
+		 */
+		public double getP50Millis() {
+			return p50Millis;
+		}
+
+		/**
+		 * Get the 90th percentile latency.
+		 *
+		 * @return The 90th percentile in milliseconds, as the upper limit of its bucket.
+		 */
+		public double getP90Millis() {
+			return p90Millis;
+		}
+
+		/**
+		 * Get the 99th percentile latency.
+		 *
+		 * @return The 99th percentile in milliseconds, as the upper limit of its bucket.
+		 */
+		public double getP99Millis() {
+			return p99Millis;
+		}
+
+		/**
+		 * Get the longest latency.
+		 *
+		 * @return The longest latency in milliseconds.
+		 */
+		public double getMaxMillis() {
+			return maxMillis;
+		}
+
+		/**
+		 * Get the count of each bucket.
+		 *
+		 * @return The counts, bucket i holds the latencies under 2^i microseconds.
+		 */
+		public long[] getBuckets() {
+			return buckets.clone( );
+		}
+
+		@Override
+		public String toString() {
+			return String.format( "count=%d, mean=%.2f ms, p50=%.2f ms, p90=%.2f ms, p99=%.2f ms, max=%.2f ms", count,
+					meanMillis, p50Millis, p90Millis, p99Millis, maxMillis );
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package control;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * LruCache.java - Keeps a fixed number of values that are expensive to create but cheap to keep, dropping the least
+ * recently used one once it is full.  Used for the {@link java.awt.Font}s and {@link GlyphAtlas}es of the rendering,
+ * whose sizes come from the page and {@link model.Grid} being drawn, so a long running process that is asked for every
+ * size never holds more than a few of them.
+ *
+ * Values are created outside the lock, two threads missing the same key at once may both create it, but only the
+ * first one is kept and returned to both.  A {@link LruCache} can be shared between threads.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see FontCache
+ * @see GlyphAtlas
+ */
+final class LruCache< K, V > {
+	/** The cached values, least recently used first. */
+	private final LinkedHashMap< K, V > entries;
+
+	/**
+	 * Create an empty {@link LruCache}.
+	 *
+	 * @param maxEntries How many values are kept at most.
+	 */
+	LruCache( int maxEntries ) {
+		entries = new LinkedHashMap< K, V >( 16, .75f, true ) {
+			@Override
+			protected boolean removeEldestEntry( Map.Entry< K, V > eldest ) {
+				return size( ) > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Get the value of a key, creating and caching it if it isn't cached.
+	 *
+	 * @param key    The key.
+	 * @param create Creates the value of a key that isn't cached.
+	 * @return The cached value.
+	 */
+	V get( K key, Function< K, V > create ) {
+		V value;
+
+		synchronized ( entries ) {
+			value = entries.get( key );
+		}
+
+		if ( value == null ) {
+			V created = create.apply( key );
+
+			synchronized ( entries ) {
+				value = entries.putIfAbsent( key, created );
+			}
+
+			if ( value == null )
+				value = created;
+		}
+
+		return value;
+	}
+}
@@ -0,0 +1,261 @@
+package control;
+
+import java.awt.Color;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * PdfCanvas.java - A {@link PuzzleCanvas} that streams a one page PDF.  The page uses the standard Times fonts every
+ * PDF reader has, so no font is embedded, and its content stream is written uncompressed as it is drawn.  The length of
+ * the content stream is only known at the end, so it is written as an object of its own after the stream.
+ *
+ * Colours, fonts and the line width are part of the graphics state in PDF, so they are only written when they change.
+ *
+ * The file has no creation date or document id, and numbers are formatted without the default {@link Locale}, so the
+ * same puzzle always gives the same bytes.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see VectorPuzzleController
+ */
+class PdfCanvas implements PuzzleCanvas {
+	/** PDF user space units per inch. {@value} */
+	private static final int POINTS_PER_INCH = 72;
+
+	/** The object number of the content stream, the objects before it are written by the constructor. */
+	private static final int CONTENT_OBJECT = 6;
+
+	/** The object number of the length of the content stream, the last object. */
+	private static final int LENGTH_OBJECT = 7;
+
+	/** Where the file is written, counting the bytes for the cross-reference table. */
+	private final CountingOutputStream out;
+
+	/** The offset of every object written so far, the object number minus one is the index. */
+	private final ArrayList< Long > offsets = new ArrayList< Long >( );
+
+	/** The offset the content stream data starts at. */
+	private final long contentStart;
+
+	/** The fill and stroke {@link Color}s last set in the content stream, null until they are first set. */
+	private Color fillColor = null, strokeColor = null;
+
+	/** The font operator last written to the content stream, null until a font is first set. */
+	private String font = null;
+
+	/**
+	 * Start a PDF and open the content stream of its page.  The page is scaled so one pixel of the layout is one pixel
+	 * of the printed page at the given pixel size, with the origin moved to the top left corner.
+	 *
+	 * @param stream      The {@link OutputStream} to write to.
+	 * @param width       The width of the page in pixels.
+	 * @param height      The height of the page in pixels.
+	 * @param paperWidth  The width of the page in inches.
+	 * @param paperHeight The height of the page in inches.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	PdfCanvas( OutputStream stream, int width, int height, double paperWidth, double paperHeight ) throws IOException {
+		out = new CountingOutputStream( stream );
+		long pageWidth = Math.round( paperWidth * POINTS_PER_INCH );
+		long pageHeight = Math.round( paperHeight * POINTS_PER_INCH );
+
+		write( "%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n" );
+		writeObject( "<< /Type /Catalog /Pages 2 0 R >>" );
+		writeObject( "<< /Type /Pages /Kids [3 0 R] /Count 1 >>" );
+		writeObject( "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + pageWidth + " " + pageHeight + "]"
+				+ " /Resources << /Font << /F1 4 0 R /F2 5 0 R >> >> /Contents " + CONTENT_OBJECT + " 0 R >>" );
+		writeObject( "<< /Type /Font /Subtype /Type1 /BaseFont /Times-Roman /Encoding /WinAnsiEncoding >>" );
+		writeObject( "<< /Type /Font /Subtype /Type1 /BaseFont /Times-Bold /Encoding /WinAnsiEncoding >>" );
+
+		offsets.add( out.getCount( ) );
+		write( CONTENT_OBJECT + " 0 obj\n<< /Length " + LENGTH_OBJECT + " 0 R >>\nstream\n" );
+		contentStart = out.getCount( );
+
+		write( "q " + decimal( pageWidth / ( double ) width ) + " 0 0 " + decimal( -pageHeight / ( double ) height )
+				+ " 0 " + pageHeight + " cm 1 w\n" );
+	}
+
+	@Override
+	public void fillRect( int x, int y, int width, int height, Color color ) throws IOException {
+		useFillColor( color );
+		write( x + " " + y + " " + width + " " + height + " re f\n" );
+	}
+
+	@Override
+	public void strokeRect( int x, int y, int width, int height, Color color ) throws IOException {
+		if ( !color.equals( strokeColor ) ) {
+			write( rgb( color ) + " RG\n" );
+			strokeColor = color;
+		}
+
+		write( x + " " + y + " " + width + " " + height + " re S\n" );
+	}
+
+	@Override
+	public void drawText( String text, int x, int y, int size, boolean bold, Color color ) throws IOException {
+		useFillColor( color );
+
+		write( "BT " );
+		String textFont = ( bold ? "/F2 " : "/F1 " ) + size + " Tf ";
+		if ( !textFont.equals( font ) ) {
+			write( textFont );
+			font = textFont;
+		}
+
+		//The page is flipped so y grows down, the text matrix flips the glyphs back upright
+		write( "1 0 0 -1 " + x + " " + y + " Tm (" );
+		writeEscaped( text );
+		write( ") Tj ET\n" );
+	}
+
+	@Override
+	public void finish() throws IOException {
+		write( "Q" );
+		long length = out.getCount( ) - contentStart;
+		write( "\nendstream\nendobj\n" );
+		writeObject( Long.toString( length ) );
+
+		long xref = out.getCount( );
+		write( "xref\n0 " + ( offsets.size( ) + 1 ) + "\n" );
+		write( "0000000000 65535 f \n" );
+		for ( long offset : offsets )
+			write( String.format( Locale.ROOT, "%010d 00000 n \n", offset ) );
+
+		write( "trailer\n<< /Size " + ( offsets.size( ) + 1 ) + " /Root 1 0 R >>\n" );
+		write( "startxref\n" + xref + "\n%%EOF\n" );
+		out.flush( );
+	}
+
+	/**
+	 * Set the fill colour, which is also the colour of text, unless it is already set.
+	 *
+	 * @param color The {@link Color} to fill with.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void useFillColor( Color color ) throws IOException {
+		if ( !color.equals( fillColor ) ) {
+			write( rgb( color ) + " rg\n" );
+			fillColor = color;
+		}
+	}
+
+	/**
+	 * Write the next object, numbered by the order objects are written in.
+	 *
+	 * @param body The dictionary or value of the object.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void writeObject( String body ) throws IOException {
+		offsets.add( out.getCount( ) );
+		write( offsets.size( ) + " 0 obj\n" + body + "\nendobj\n" );
+	}
+
+	/**
+	 * Write PDF syntax, one byte per character.
+	 *
+	 * @param string The syntax to write, only Latin-1 characters.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void write( String string ) throws IOException {
+		out.write( string.getBytes( StandardCharsets.ISO_8859_1 ) );
+	}
+
+	/**
+	 * Write text as the inside of a PDF string in the WinAnsi encoding of the fonts.  Parentheses and backslashes are
+	 * escaped, control characters become spaces and characters outside Latin-1 become question marks.
+	 *
+	 * @param text The text to write.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void writeEscaped( String text ) throws IOException {
+		for ( int i = 0; i < text.length( ); i++ ) {
+			char c = text.charAt( i );
+
+			if ( c == '(' || c == ')' || c == '\\' ) {
+				out.write( '\\' );
+				out.write( c );
+			}
+			else if ( c < 0x20 ) {
+				out.write( ' ' );
+			}
+			else if ( c > 0xFF ) {
+				out.write( '?' );
+			}
+			else {
+				out.write( c );
+			}
+		}
+	}
+
+	/**
+	 * Format a {@link Color} as the three PDF colour components.
+	 *
+	 * @param color The {@link Color}.
+	 * @return The red, green and blue components between 0 and 1.
+	 */
+	private static String rgb( Color color ) {
+		return decimal( color.getRed( ) / 255.0 ) + " " + decimal( color.getGreen( ) / 255.0 ) + " "
+				+ decimal( color.getBlue( ) / 255.0 );
+	}
+
+	/**
+	 * Format a number for PDF with at most four decimals and no trailing zeros, independent of the default {@link
+	 * Locale}.
+	 *
+	 * @param value The number.
+	 * @return The formatted number.
+	 */
+	private static String decimal( double value ) {
+		String formatted = String.format( Locale.ROOT, "%.4f", value );
+
+		int end = formatted.length( );
+		while ( formatted.charAt( end - 1 ) == '0' )
+			end--;
+		if ( formatted.charAt( end - 1 ) == '.' )
+			end--;
+
+		return formatted.substring( 0, end );
+	}
+
+	/**
+	 * CountingOutputStream - An {@link OutputStream} that counts the bytes written through it.
+	 */
+	private static class CountingOutputStream extends FilterOutputStream {
+		/** The number of bytes written so far. */
+		private long count = 0;
+
+		/**
+		 * Wrap an {@link OutputStream}.
+		 *
+		 * @param out The {@link OutputStream} to write to.
+		 */
+		CountingOutputStream( OutputStream out ) {
+			super( out );
+		}
+
+		@Override
+		public void write( int b ) throws IOException {
+			out.write( b );
+			count++;
+		}
+
+		@Override
+		public void write( byte[] b, int off, int len ) throws IOException {
+			out.write( b, off, len );
+			count += len;
+		}
+
+		/**
+		 * Get the number of bytes written so far.
+		 *
+		 * @return The byte count.
+		 */
+		long getCount() {
+			return count;
+		}
+	}
+}
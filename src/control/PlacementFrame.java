@@ -0,0 +1,63 @@
+package control;
+
+import model.Word;
+import model.WordPlacement;
+
+/**
+ * PlacementFrame.java - One entry in the undo log of the {@link GridController}.  Records a {@link Word} that was
+ * written onto the board together with the ranked candidates it has not tried yet, so that backtracking can back the
+ * {@link Word} out and resume with its next best candidate.  Candidates are kept packed, see {@link CandidateBuffer},
+ * and only become a {@link WordPlacement} when they are written.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see GridController
+ */
+class PlacementFrame {
+	/** The {@link Word} this frame is placing. */
+	private final Word word;
+
+	/** The packed candidate placements for the {@link Word}, best first. */
+	private final long[] candidates;
+
+	/** The index of the next candidate to try. */
+	private int nextCandidate = 0;
+
+	/**
+	 * Create a new {@link PlacementFrame} for a {@link Word} and its ranked candidates.
+	 *
+	 * @param word       The {@link Word} being placed.
+	 * @param candidates The packed candidate placements, best first.
+	 */
+	PlacementFrame( Word word, long[] candidates ) {
+		this.word = word;
+		this.candidates = candidates;
+	}
+
+	/**
+	 * Get the {@link Word} this frame is placing.
+	 *
+	 * @return The {@link Word} of this frame.
+	 */
+	Word getWord() {
+		return word;
+	}
+
+	/**
+	 * Check if there are candidates left to try.
+	 *
+	 * @return True if {@link #nextCandidate()} can be called.
+	 */
+	boolean hasNextCandidate() {
+		return nextCandidate < candidates.length;
+	}
+
+	/**
+	 * Take the next untried candidate.
+	 *
+	 * @return The next best packed candidate for the {@link Word}.
+	 */
+	long nextCandidate() {
+		return candidates[nextCandidate++];
+	}
+}
@@ -0,0 +1,74 @@
+package control;
+
+import model.BoundingBox;
+import model.Orientation;
+
+/**
+ * PlacementScorer.java - Decides which candidate placements of a {@link model.Word} the {@link GridController} tries
+ * first.  Every candidate is scored once against the current extents of the board, those extents are tracked by the
+ * {@link model.LetterBoard} as letters come and go, so scoring never has to walk the cells.  Candidates are passed as
+ * plain values, most of them are rejected and never become a {@link model.WordPlacement}.  Higher scores are tried
+ * first.  A {@link PlacementScorer} may be shared between threads, so it should not keep any state of its own.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see CrossingScorer
+ * @see CompactScorer
+ * @see AspectRatioScorer
+ */
+public interface PlacementScorer {
+	/**
+	 * Score a candidate placement.
+	 *
+	 * @param x           The x position of the first letter.
+	 * @param y           The y position of the first letter.
+	 * @param orientation The {@link Orientation} of the candidate.
+	 * @param length      The length of the {@link model.Word} being placed.
+	 * @param crossings   How many {@link model.Word}s already on the board the candidate would cross.
+	 * @param extents     The extents of the occupied cells of the board before the {@link model.Word} is written.
+	 * @return The score of the candidate, higher is better.
+	 */
+	double score( int x, int y, Orientation orientation, int length, int crossings, BoundingBox extents );
+
+	/**
+	 * Get the width the occupied part of the board would have once a candidate is written.
+	 *
+	 * @param x           The x position of the first letter.
+	 * @param orientation The {@link Orientation} of the candidate.
+	 * @param length      The length of the {@link model.Word} being placed.
+	 * @param extents     The extents of the occupied cells of the board before the {@link model.Word} is written.
+	 * @return The width in cells, not counting the border of the finished {@link model.Grid}.
+	 */
+	static int widthAfter( int x, Orientation orientation, int length, BoundingBox extents ) {
+		int endX = x + ( orientation == Orientation.HORIZONTAL ? length - 1 : 0 );
+
+		return Math.max( extents.getMaxX( ), endX ) - Math.min( extents.getMinX( ), x ) + 1;
+	}
+
+	/**
+	 * Get the height the occupied part of the board would have once a candidate is written.
+	 *
+	 * @param y           The y position of the first letter.
+	 * @param orientation The {@link Orientation} of the candidate.
+	 * @param length      The length of the {@link model.Word} being placed.
+	 * @param extents     The extents of the occupied cells of the board before the {@link model.Word} is written.
+	 * @return The height in cells, not counting the border of the finished {@link model.Grid}.
+	 */
+	static int heightAfter( int y, Orientation orientation, int length, BoundingBox extents ) {
+		int endY = y + ( orientation == Orientation.VERTICAL ? length - 1 : 0 );
+
+		return Math.max( extents.getMaxY( ), endY ) - Math.min( extents.getMinY( ), y ) + 1;
+	}
+
+	/**
+	 * Turn the number of crossings of a candidate into a tie-breaker that is always smaller than 1, so it can be added
+	 * to a whole-numbered score without ever outweighing it.
+	 *
+	 * @param crossings How many {@link model.Word}s the candidate would cross.
+	 * @param length    The length of the {@link model.Word} being placed.
+	 * @return A value from 0 up to but not including 1, higher for more crossings.
+	 */
+	static double crossingTieBreak( int crossings, int length ) {
+		return crossings / ( double ) ( length + 1 );
+	}
+}
@@ -0,0 +1,188 @@
+package control;
+
+import model.PuzzleImage;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * PngEncoder.java - Writes {@link BufferedImage}s as PNG files on a small pool of its own threads.  Each image is
+ * encoded on its own thread and handed back as a {@link CompletableFuture}, so the blank and answered image of a
+ * {@link PuzzleImage} are compressed at the same time and the caller is not blocked.  The queue of waiting images is
+ * bounded, when it is full the caller encodes the image itself, which keeps a fast producer from piling up images in
+ * memory.
+ *
+ * The PNG writer of {@link javax.imageio.ImageIO} ignores the compression settings on Java 8, so the files are
+ * written here directly with a {@link Deflater} at the chosen level.  Opaque images are written without an alpha
+ * channel.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see PuzzleImage
+ */
+public class PngEncoder {
+	/** The deflate level that encodes fastest, at the cost of larger files. {@value} */
+	public static final int FAST = Deflater.BEST_SPEED;
+
+	/** The deflate level that writes the smallest files, at the cost of encoding time. {@value} */
+	public static final int SMALL = Deflater.BEST_COMPRESSION;
+
+	/** The deflate level zlib recommends as a balance between speed and size. {@value} */
+	public static final int DEFAULT_LEVEL = 6;
+
+	/** How many images may wait for an encoding thread per thread before the caller encodes them itself. {@value} */
+	private static final int QUEUE_PER_THREAD = 2;
+
+	/** The threads that encode the images. */
+	private final ThreadPoolExecutor executor;
+
+	/** The deflate level used for every image, from 0 to 9. */
+	private final int level;
+
+	/**
+	 * Create a {@link PngEncoder} with two threads, enough to write the two images of a {@link PuzzleImage} at once.
+	 *
+	 * @param level The deflate level, from 0 (no compression) to 9 ({@link #SMALL}).
+	 */
+	public PngEncoder( int level ) {
+		this( 2, level );
+	}
+
+	/**
+	 * Create a {@link PngEncoder}.
+	 *
+	 * @param threads How many images are encoded at the same time.
+	 * @param level   The deflate level, from 0 (no compression) to 9 ({@link #SMALL}).
+	 * @throws IllegalArgumentException Thrown if the level is not between 0 and 9.
+	 */
+	public PngEncoder( int threads, int level ) {
+		if ( level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION )
+			throw new IllegalArgumentException( "The deflate level must be between 0 and 9, not " + level + "." );
+
+		int poolSize = Math.max( 1, threads );
+		this.level = level;
+		this.executor = new ThreadPoolExecutor( poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue< Runnable >( poolSize * QUEUE_PER_THREAD ), runnable -> {
+			Thread thread = new Thread( runnable, "png-encoder" );
+			thread.setDaemon( true );
+			return thread;
+		}, new ThreadPoolExecutor.CallerRunsPolicy( ) );
+	}
+
+	/**
+	 * Get the deflate level of this {@link PngEncoder}.
+	 *
+	 * @return The deflate level, from 0 to 9.
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Write a {@link BufferedImage} to a PNG {@link File} in the background.
+	 *
+	 * @param image The {@link BufferedImage} to write, it must not change until the write is done.
+	 * @param file  The {@link File} to write.
+	 * @return A {@link CompletableFuture} that completes with the {@link File} once it is written, or exceptionally
+	 * with an {@link UncheckedIOException} if it could not be written.
+	 */
+	public CompletableFuture< File > encode( BufferedImage image, File file ) {
+		return CompletableFuture.supplyAsync( () -> {
+			try {
+				write( image, file, level );
+			} catch ( IOException ioe ) {
+				throw new UncheckedIOException( ioe );
+			}
+			return file;
+		}, executor );
+	}
+
+	/**
+	 * Write both images of a {@link PuzzleImage} at the same time.
+	 *
+	 * @param puzzleImage  The {@link PuzzleImage} to write.
+	 * @param blankFile    The {@link File} for the blank image.
+	 * @param answeredFile The {@link File} for the answered image.
+	 * @return A {@link CompletableFuture} that completes once both {@link File}s are written.
+	 */
+	public CompletableFuture< Void > encode( PuzzleImage puzzleImage, File blankFile, File answeredFile ) {
+		return CompletableFuture.allOf(
+				encode( puzzleImage.getBlankImage( ), blankFile ),
+				encode( puzzleImage.getAnsweredImage( ), answeredFile ) );
+	}
+
+	/**
+	 * Stop the encoding threads once the images that were already handed over are written.
+	 */
+	public void shutdown() {
+		executor.shutdown( );
+	}
+
+	/**
+	 * Write a {@link BufferedImage} to a PNG {@link File} on the calling thread.
+	 *
+	 * @param image The {@link BufferedImage} to write.
+	 * @param file  The {@link File} to write.
+	 * @param level The deflate level, from 0 to 9.
+	 * @throws IOException Thrown if the {@link File} can't be written.
+	 */
+	public static void write( BufferedImage image, File file, int level ) throws IOException {
+		OutputStream out = new BufferedOutputStream( new FileOutputStream( file ) );
+
+		try {
+			write( image, out, level );
+		} finally {
+			out.close( );
+		}
+	}
+
+	/**
+	 * Write a {@link BufferedImage} as a PNG to an {@link OutputStream} on the calling thread, as a single band of a
+	 * {@link PngRowWriter}.
+	 *
+	 * @param image The {@link BufferedImage} to write.
+	 * @param out   The {@link OutputStream} to write to, it is not closed.
+	 * @param level The deflate level, from 0 to 9.
+	 * @throws IOException Thrown if the {@link OutputStream} fails.
+	 */
+	public static void write( BufferedImage image, OutputStream out, int level ) throws IOException {
+		boolean alpha = image.getColorModel( ).hasAlpha( ) && !isOpaque( image );
+		PngRowWriter png = new PngRowWriter( out, image.getWidth( ), image.getHeight( ), alpha, level );
+
+		try {
+			png.writeRows( image, 0, image.getHeight( ) );
+			png.finish( );
+		} finally {
+			png.close( );
+		}
+	}
+
+	/**
+	 * Check if every pixel of a {@link BufferedImage} is fully opaque.
+	 *
+	 * @param image The {@link BufferedImage} to check.
+	 * @return True if no pixel is transparent.
+	 */
+	private static boolean isOpaque( BufferedImage image ) {
+		int[] pixels = new int[ image.getWidth( ) ];
+		boolean opaque = true;
+
+		for ( int y = 0; y < image.getHeight( ) && opaque; y++ ) {
+			PngRowWriter.readRow( image, y, pixels );
+			for ( int x = 0; x < pixels.length && opaque; x++ )
+				opaque = ( pixels[x] >>> 24 ) == 0xFF;
+		}
+
+		return opaque;
+	}
+}
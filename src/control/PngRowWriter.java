@@ -0,0 +1,270 @@
+package control;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * PngRowWriter.java - Streams a PNG a band of rows at a time.  The header is written up front from the size of the
+ * whole image, then the rows are deflated as they are handed over and the compressed data is written out in IDAT
+ * chunks of at most {@value #CHUNK_SIZE} bytes as soon as each one fills.  Neither the image nor its compressed data
+ * ever has to be in memory at once, only the band being written.
+ *
+ * Every row is stored unfiltered, the rows of a puzzle repeat often enough for deflate to find them on its own.
+ *
+ * The time spent encoding and writing the rows is added up and recorded in the shared {@link GenerationMetrics} once
+ * the PNG is finished, the time spent drawing the bands between calls is not.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see PngEncoder
+ */
+class PngRowWriter {
+	/** The most compressed bytes held back before they are written as an IDAT chunk. {@value} */
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	/** The eight bytes every PNG file starts with. */
+	private static final byte[] SIGNATURE = { ( byte ) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+	/** The PNG colour type of 8 bit RGB pixels. */
+	private static final int COLOR_RGB = 2;
+
+	/** The PNG colour type of 8 bit RGBA pixels. */
+	private static final int COLOR_RGBA = 6;
+
+	/** Where the chunks are written. */
+	private final DataOutputStream png;
+
+	/** The size of the image in pixels. */
+	private final int width, height;
+
+	/** True if the alpha channel is written. */
+	private final boolean alpha;
+
+	/** Compresses the rows, ended by {@link #finish()} or {@link #close()}. */
+	private final Deflater deflater;
+
+	/** Deflates the rows into IDAT chunks. */
+	private final DeflaterOutputStream idat;
+
+	/** One row of pixels read from a band. */
+	private final int[] pixels;
+
+	/** One row of the image as PNG bytes, the filter type followed by the channels of every pixel. */
+	private final byte[] row;
+
+	/** The number of rows written so far. */
+	private int rowsWritten = 0;
+
+	/** The time spent in {@link #writeRows(BufferedImage, int, int)} and {@link #finish()} so far, in nanoseconds. */
+	private long encodingNanos = 0;
+
+	/**
+	 * Start a PNG by writing its signature and header.
+	 *
+	 * @param out    The {@link OutputStream} to write to, it is not closed.
+	 * @param width  The width of the image in pixels.
+	 * @param height The height of the image in pixels.
+	 * @param alpha  True to write the alpha channel, false if the image is opaque.
+	 * @param level  The deflate level, from 0 to 9.
+	 * @throws IOException Thrown if the {@link OutputStream} fails.
+	 */
+	PngRowWriter( OutputStream out, int width, int height, boolean alpha, int level ) throws IOException {
+		this.png = new DataOutputStream( out );
+		this.width = width;
+		this.height = height;
+		this.alpha = alpha;
+
+		png.write( SIGNATURE );
+
+		byte[] header = new byte[ 13 ];
+		writeInt( header, 0, width );
+		writeInt( header, 4, height );
+		header[8] = 8;
+		header[9] = ( byte ) ( alpha ? COLOR_RGBA : COLOR_RGB );
+		writeChunk( "IHDR", header, header.length );
+
+		pixels = new int[ width ];
+		row = new byte[ 1 + width * ( alpha ? 4 : 3 ) ];
+		deflater = new Deflater( level );
+		idat = new DeflaterOutputStream( new IdatOutputStream( ), deflater, CHUNK_SIZE );
+	}
+
+	/**
+	 * Write the next rows of the image from a band.
+	 *
+	 * @param band     The {@link BufferedImage} holding the rows, as wide as the image.
+	 * @param firstRow The row of the band to start at.
+	 * @param rows     How many rows of the band to write.
+	 * @throws IOException              Thrown if the {@link OutputStream} fails.
+	 * @throws IllegalArgumentException Thrown if the band is the wrong width or the image would get too many rows.
+	 */
+	void writeRows( BufferedImage band, int firstRow, int rows ) throws IOException {
+		if ( band.getWidth( ) != width || firstRow + rows > band.getHeight( ) || rowsWritten + rows > height )
+			throw new IllegalArgumentException( "The band doesn't fit the rest of the image." );
+
+		long start = System.nanoTime( );
+		for ( int y = firstRow; y < firstRow + rows; y++ ) {
+			readRow( band, y, pixels );
+
+			int i = 1;
+			for ( int x = 0; x < width; x++ ) {
+				int argb = pixels[x];
+				row[i++] = ( byte ) ( argb >> 16 );
+				row[i++] = ( byte ) ( argb >> 8 );
+				row[i++] = ( byte ) argb;
+				if ( alpha )
+					row[i++] = ( byte ) ( argb >>> 24 );
+			}
+			idat.write( row );
+		}
+
+		rowsWritten += rows;
+		encodingNanos += System.nanoTime( ) - start;
+	}
+
+	/**
+	 * Write the last IDAT chunk and the end of the PNG, then free the {@link Deflater} and record the encoding time.
+	 *
+	 * @throws IOException           Thrown if the {@link OutputStream} fails.
+	 * @throws IllegalStateException Thrown if not every row was written.
+	 */
+	void finish() throws IOException {
+		if ( rowsWritten != height )
+			throw new IllegalStateException( "Only " + rowsWritten + " of " + height + " rows were written." );
+
+		long start = System.nanoTime( );
+		try {
+			idat.close( );
+			writeChunk( "IEND", new byte[ 0 ], 0 );
+			png.flush( );
+		} finally {
+			deflater.end( );
+		}
+
+		encodingNanos += System.nanoTime( ) - start;
+		GenerationMetrics.getShared( ).recordPng( encodingNanos );
+	}
+
+	/**
+	 * Free the {@link Deflater} of a PNG that won't be finished.  Does nothing once {@link #finish()} has run.
+	 */
+	void close() {
+		deflater.end( );
+	}
+
+	/**
+	 * Read one row of a {@link BufferedImage} as ARGB pixels.  Images that already store ARGB or RGB ints are copied
+	 * straight from their raster, anything else goes through the colour model.
+	 *
+	 * @param image  The {@link BufferedImage} to read.
+	 * @param y      The row to read.
+	 * @param pixels Filled with the ARGB pixels of the row.
+	 */
+	static void readRow( BufferedImage image, int y, int[] pixels ) {
+		int type = image.getType( );
+
+		if ( type == BufferedImage.TYPE_INT_ARGB ) {
+			image.getRaster( ).getDataElements( 0, y, pixels.length, 1, pixels );
+		}
+		else if ( type == BufferedImage.TYPE_INT_RGB ) {
+			WritableRaster raster = image.getRaster( );
+			raster.getDataElements( 0, y, pixels.length, 1, pixels );
+			for ( int x = 0; x < pixels.length; x++ )
+				pixels[x] |= 0xFF000000;
+		}
+		else {
+			image.getRGB( 0, y, pixels.length, 1, pixels, 0, pixels.length );
+		}
+	}
+
+	/**
+	 * Write one PNG chunk: its length, type, data and the CRC of the type and data.
+	 *
+	 * @param type   The four letter chunk type.
+	 * @param data   Holds the data of the chunk at its start.
+	 * @param length The length of the data.
+	 * @throws IOException Thrown if the stream fails.
+	 */
+	private void writeChunk( String type, byte[] data, int length ) throws IOException {
+		byte[] typeBytes = type.getBytes( StandardCharsets.US_ASCII );
+
+		CRC32 crc = new CRC32( );
+		crc.update( typeBytes );
+		crc.update( data, 0, length );
+
+		png.writeInt( length );
+		png.write( typeBytes );
+		png.write( data, 0, length );
+		png.writeInt( ( int ) crc.getValue( ) );
+	}
+
+	/**
+	 * Store an int in big endian order, as PNG does.
+	 *
+	 * @param bytes  The array to store into.
+	 * @param offset Where the int starts.
+	 * @param value  The int.
+	 */
+	private static void writeInt( byte[] bytes, int offset, int value ) {
+		bytes[offset] = ( byte ) ( value >>> 24 );
+		bytes[offset + 1] = ( byte ) ( value >>> 16 );
+		bytes[offset + 2] = ( byte ) ( value >>> 8 );
+		bytes[offset + 3] = ( byte ) value;
+	}
+
+	/**
+	 * IdatOutputStream - Collects compressed data and writes it out as IDAT chunks of at most {@value #CHUNK_SIZE}
+	 * bytes.  Closing it writes whatever is left, it does not close the PNG stream.
+	 */
+	private class IdatOutputStream extends OutputStream {
+		/** The compressed bytes not yet written. */
+		private final byte[] buffer = new byte[ CHUNK_SIZE ];
+
+		/** How many bytes of the buffer are used. */
+		private int count = 0;
+
+		@Override
+		public void write( int b ) throws IOException {
+			if ( count == buffer.length )
+				flushChunk( );
+			buffer[count++] = ( byte ) b;
+		}
+
+		@Override
+		public void write( byte[] b, int off, int len ) throws IOException {
+			while ( len > 0 ) {
+				if ( count == buffer.length )
+					flushChunk( );
+
+				int n = Math.min( len, buffer.length - count );
+				System.arraycopy( b, off, buffer, count, n );
+				count += n;
+				off += n;
+				len -= n;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if ( count > 0 )
+				flushChunk( );
+		}
+
+		/**
+		 * Write the collected bytes as one IDAT chunk.
+		 *
+		 * @throws IOException Thrown if the stream fails.
+		 */
+		private void flushChunk() throws IOException {
+			writeChunk( "IDAT", buffer, count );
+			count = 0;
+		}
+	}
+}
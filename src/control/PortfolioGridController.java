@@ -0,0 +1,361 @@
+package control;
+
+import model.DictionaryFile;
+import model.Grid;
+import model.PuzzleGenerationException;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PortfolioGridController.java - Races several independently seeded {@link GridController}s against each other, each
+ * on a thread of its own.  Each attempt works on its own copy of the {@link DictionaryFile} and its own board, so the
+ * run time of a single unlucky shuffle no longer decides how long generation takes.  The losing attempts are cancelled
+ * cooperatively once a result has been chosen.
+ *
+ * Every call starts a pool of exactly one thread per attempt and shuts it down before returning, the attempts block for
+ * a long time and must not take the threads of the common ForkJoinPool that {@link model.DictionaryParser} waits on.
+ * Which attempt wins depends on timing, so unlike a single {@link GridController} the same seed does not always build
+ * the same {@link Grid}.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see GridController
+ */
+public class PortfolioGridController {
+	/** The number of {@link GridController}s raced against each other. */
+	private final int attempts;
+
+	/** The source of the seeds handed to each {@link GridController}. */
+	private final Random seeds;
+
+	/** The {@link PlacementScorer} shared by every attempt. */
+	private PlacementScorer placementScorer = new CrossingScorer( );
+
+	/** The {@link GridController}s of the running call, so {@link #cancel()} can reach them, null before the first. */
+	private volatile ArrayList< GridController > running;
+
+	/** Set from another thread by {@link #cancel()} to stop the running and every later call. */
+	private volatile boolean cancelled = false;
+
+	/** How many times the attempt that built the last returned {@link Grid} had to start over. */
+	private volatile int restarts;
+
+	/**
+	 * Create a {@link PortfolioGridController} that runs one attempt per available core with an unpredictable seed.
+	 */
+	public PortfolioGridController() {
+		this( Runtime.getRuntime( ).availableProcessors( ), new Random( ).nextLong( ) );
+	}
+
+	/**
+	 * Create a {@link PortfolioGridController} with a fixed number of attempts and a base seed.
+	 *
+	 * @param attempts How many {@link GridController}s to race.
+	 * @param seed     The seed used to derive the seed of each attempt.
+	 */
+	public PortfolioGridController( int attempts, long seed ) {
+		this.attempts = Math.max( 1, attempts );
+		this.seeds = new Random( seed );
+	}
+
+	/**
+	 * Change how every attempt ranks the candidate {@link model.WordPlacement}s of each {@link model.Word}.  The
+	 * {@link PlacementScorer} is shared between the attempts, so it must not keep any state.
+	 *
+	 * @param placementScorer The {@link PlacementScorer} to use, the default is a {@link CrossingScorer}.
+	 */
+	public void setPlacementScorer( PlacementScorer placementScorer ) {
+		this.placementScorer = placementScorer;
+	}
+
+	/**
+	 * Describe everything besides the seed and the {@link DictionaryFile} that decides which {@link Grid}s the attempts
+	 * build: their number and the options of their {@link GridController}s.  Used in the key of a {@link GridCache}.
+	 *
+	 * @return The options as text.
+	 */
+	public String getOptions() {
+		return "portfolio=" + attempts + "," + GridController.optionsOf( placementScorer );
+	}
+
+	/**
+	 * Ask the running call to give up, and every later one to give up at once.  Safe to call from any thread, like
+	 * {@link GridController#cancel()} the attempts stop at their next placement attempt.
+	 */
+	public void cancel() {
+		cancelled = true;
+
+		ArrayList< GridController > controllers = running;
+		if ( controllers != null )
+			cancelAll( controllers );
+	}
+
+	/**
+	 * Get how many times the attempt that built the {@link Grid} returned by the last call had to start over.
+	 *
+	 * @return The number of restarts, 0 if the last call found no {@link Grid}.
+	 */
+	public int getRestarts() {
+		return restarts;
+	}
+
+	/**
+	 * Build a {@link Grid} the way the time budget asks for: the first one found with no budget, the most compact one
+	 * found within it otherwise.
+	 *
+	 * @param dictionaryFile The {@link DictionaryFile} to build the {@link Grid} from.
+	 * @param timeBudget     How long to keep looking for a more compact {@link Grid} in milliseconds, 0 to take the
+	 *                       first.
+	 * @return The {@link Grid}.
+	 * @throws PuzzleGenerationException Thrown if no attempt found a {@link Grid}.
+	 * @see #createGrid(DictionaryFile)
+	 * @see #createBestGrid(DictionaryFile, long)
+	 */
+	public Grid createGrid( DictionaryFile dictionaryFile, long timeBudget ) throws PuzzleGenerationException {
+		return timeBudget > 0 ? createBestGrid( dictionaryFile, timeBudget ) : createGrid( dictionaryFile );
+	}
+
+	/**
+	 * Race the attempts and return the first valid {@link Grid} any of them finds.  The {@link DictionaryFile} passed
+	 * in is only read, the returned {@link Grid} is built from a copy of its {@link model.Word}s.
+	 *
+	 * @param dictionaryFile The {@link DictionaryFile} to build the {@link Grid} from.
+	 * @return The first finished {@link Grid}.
+	 * @throws PuzzleGenerationException Thrown if every attempt gave up without a {@link Grid}.
+	 */
+	public Grid createGrid( DictionaryFile dictionaryFile ) throws PuzzleGenerationException {
+		restarts = 0;
+
+		ArrayList< GridController > controllers = new ArrayList< GridController >( );
+		ExecutorService pool = newPool( );
+		ExecutorCompletionService< Result > completion = new ExecutorCompletionService< Result >( pool );
+
+		for ( int i = 0; i < attempts; i++ ) {
+			final GridController controller = new GridController( seeds.nextLong( ) );
+			controller.setPlacementScorer( placementScorer );
+			final DictionaryFile copy = new DictionaryFile( dictionaryFile );
+			copy.reset( new Random( seeds.nextLong( ) ) );
+
+			controllers.add( controller );
+			completion.submit( () -> new Result( controller.createGrid( copy ), controller.getRestarts( ) ) );
+		}
+		watch( controllers );
+
+		Result winner = null;
+		try {
+			int finished = 0;
+			while ( winner == null && finished < attempts ) {
+				winner = resultOf( completion.take( ) );
+				finished++;
+			}
+		} catch ( InterruptedException ie ) {
+			Thread.currentThread( ).interrupt( );
+		} finally {
+			cancelAll( controllers );
+			pool.shutdown( );
+		}
+
+		if ( winner == null )
+			throw new PuzzleGenerationException( attempts );
+
+		restarts = winner.restarts;
+		return winner.grid;
+	}
+
+	/**
+	 * Keep every attempt generating {@link Grid}s until the time budget runs out, then return the most compact one
+	 * found.  A {@link Grid} with a smaller area leaves room for larger cells when it is printed.  The attempts publish
+	 * each improvement as soon as they find it, so this returns once the budget is spent without waiting for the
+	 * {@link Grid}s that are still being built.
+	 *
+	 * @param dictionaryFile The {@link DictionaryFile} to build the {@link Grid}s from.
+	 * @param timeBudget     How long to keep searching, in milliseconds.
+	 * @return The {@link Grid} with the smallest area.
+	 * @throws PuzzleGenerationException Thrown if no attempt found a {@link Grid} within the time budget.
+	 */
+	public Grid createBestGrid( DictionaryFile dictionaryFile, long timeBudget ) throws PuzzleGenerationException {
+		final long deadline = System.nanoTime( ) + TimeUnit.MILLISECONDS.toNanos( timeBudget );
+		restarts = 0;
+
+		ArrayList< GridController > controllers = new ArrayList< GridController >( );
+		ArrayList< Future< ? > > results = new ArrayList< Future< ? > >( );
+		AtomicReference< Result > best = new AtomicReference< Result >( );
+		ExecutorService pool = newPool( );
+
+		for ( int i = 0; i < attempts; i++ ) {
+			final GridController controller = new GridController( seeds.nextLong( ) );
+			controller.setPlacementScorer( placementScorer );
+			final Random random = new Random( seeds.nextLong( ) );
+
+			controllers.add( controller );
+			results.add( pool.submit( () -> searchUntil( controller, dictionaryFile, random, deadline, best ) ) );
+		}
+		watch( controllers );
+
+		try {
+			for ( Future< ? > result : results ) {
+				try {
+					result.get( Math.max( 0, deadline - System.nanoTime( ) ), TimeUnit.NANOSECONDS );
+				} catch ( TimeoutException te ) {
+					//Out of time, stop the Grids that are still being built and don't wait for them
+					cancelAll( controllers );
+				} catch ( ExecutionException ee ) {
+					//The attempt failed, the others may still have published a Grid
+				}
+			}
+		} catch ( InterruptedException ie ) {
+			Thread.currentThread( ).interrupt( );
+		} finally {
+			cancelAll( controllers );
+			pool.shutdown( );
+		}
+
+		Result result = best.get( );
+		if ( result == null )
+			throw new PuzzleGenerationException( "No grid was found within " + timeBudget + "ms." );
+
+		restarts = result.restarts;
+		return result.grid;
+	}
+
+	/**
+	 * The body of one attempt in {@link #createBestGrid(DictionaryFile, long)}.  Builds {@link Grid}s from fresh copies
+	 * of the {@link DictionaryFile} until the deadline passes or the {@link GridController} is cancelled, and
+	 * publishes each one that is more compact than the best of every attempt so far.
+	 *
+	 * @param controller     The {@link GridController} owned by this attempt.
+	 * @param dictionaryFile The {@link DictionaryFile} to copy for each {@link Grid}.
+	 * @param random         The {@link Random} used to shuffle each copy.
+	 * @param deadline       The {@link System#nanoTime()} after which no new {@link Grid} is started.
+	 * @param best           The most compact {@link Grid} found by any attempt, shared between them.
+	 */
+	private void searchUntil( GridController controller, DictionaryFile dictionaryFile, Random random, long deadline,
+	                          AtomicReference< Result > best ) {
+		while ( !controller.isCancelled( ) && System.nanoTime( ) < deadline ) {
+			DictionaryFile copy = new DictionaryFile( dictionaryFile );
+			copy.reset( random );
+
+			try {
+				Grid grid = controller.createGrid( copy );
+				best.accumulateAndGet( new Result( grid, controller.getRestarts( ) ), this::moreCompact );
+			} catch ( PuzzleGenerationException pge ) {
+				//This shuffle or the deadline beat us, try again if there is time left
+			}
+		}
+	}
+
+	/**
+	 * Start the threads of one call, one per attempt.  They are daemons, so a cancelled attempt that is still winding
+	 * down never keeps the process alive.
+	 *
+	 * @return The {@link ExecutorService} to run the attempts on, to be shut down by the caller.
+	 */
+	private ExecutorService newPool() {
+		AtomicInteger attemptCount = new AtomicInteger( );
+
+		return Executors.newFixedThreadPool( attempts, runnable -> {
+			Thread thread = new Thread( runnable, "portfolio-attempt-" + attemptCount.incrementAndGet( ) );
+			thread.setDaemon( true );
+			return thread;
+		} );
+	}
+
+	/**
+	 * Make the {@link GridController}s of the running call reachable from {@link #cancel()}, and cancel them right away
+	 * if {@link #cancel()} came first.
+	 *
+	 * @param controllers The {@link GridController}s of the running call.
+	 */
+	private void watch( ArrayList< GridController > controllers ) {
+		running = controllers;
+
+		if ( cancelled )
+			cancelAll( controllers );
+	}
+
+	/**
+	 * Unwrap the {@link Result} of a finished attempt.
+	 *
+	 * @param result The {@link Future} of the attempt, already done.
+	 * @return The {@link Result} of the attempt, or null if the attempt failed.
+	 * @throws InterruptedException Thrown if the calling thread is interrupted while waiting.
+	 */
+	private Result resultOf( Future< Result > result ) throws InterruptedException {
+		Result finished = null;
+
+		try {
+			finished = result.get( );
+		} catch ( ExecutionException ee ) {
+			//The attempt gave up, another one may still succeed
+		}
+
+		return finished;
+	}
+
+	/**
+	 * Pick the {@link Result} with the smaller {@link Grid} area, either may be null.
+	 *
+	 * @param a The first {@link Result}.
+	 * @param b The second {@link Result}.
+	 * @return The more compact of the two {@link Result}s, or null if both are null.
+	 */
+	private Result moreCompact( Result a, Result b ) {
+		Result compact = a;
+
+		if ( a == null || ( b != null && b.area( ) < a.area( ) ) )
+			compact = b;
+
+		return compact;
+	}
+
+	/**
+	 * Cancel every {@link GridController} in the portfolio.
+	 *
+	 * @param controllers The {@link GridController}s to cancel.
+	 */
+	private void cancelAll( ArrayList< GridController > controllers ) {
+		for ( GridController controller : controllers )
+			controller.cancel( );
+	}
+
+	/**
+	 * Result - A {@link Grid} built by one attempt and how many times that attempt had to start over for it.
+	 */
+	private static class Result {
+		/** The finished {@link Grid}. */
+		private final Grid grid;
+
+		/** How many times the {@link GridController} started over while building it. */
+		private final int restarts;
+
+		/**
+		 * Create a {@link Result}.
+		 *
+		 * @param grid     The finished {@link Grid}.
+		 * @param restarts How many times the {@link GridController} started over while building it.
+		 */
+		Result( Grid grid, int restarts ) {
+			this.grid = grid;
+			this.restarts = restarts;
+		}
+
+		/**
+		 * Get the number of cells of the {@link Grid}.
+		 *
+		 * @return The area of the {@link Grid}.
+		 */
+		int area() {
+			return grid.getWidth( ) * grid.getHeight( );
+		}
+	}
+}
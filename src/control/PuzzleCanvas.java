@@ -0,0 +1,62 @@
+package control;
+
+import java.awt.Color;
+import java.io.IOException;
+
+/**
+ * PuzzleCanvas.java - The few drawing operations a puzzle page needs, written straight to a vector file.  Coordinates
+ * are in the pixels of the page drawn by the {@link PuzzleImageController}, with the origin in the top left corner, so
+ * both kinds of output share the same layout.  Everything is written in the order it is drawn, nothing is kept in
+ * memory.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see VectorPuzzleController
+ * @see SvgCanvas
+ * @see PdfCanvas
+ */
+interface PuzzleCanvas {
+	/**
+	 * Fill a rect.
+	 *
+	 * @param x      The left edge.
+	 * @param y      The top edge.
+	 * @param width  The width.
+	 * @param height The height.
+	 * @param color  The fill {@link Color}.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	void fillRect( int x, int y, int width, int height, Color color ) throws IOException;
+
+	/**
+	 * Outline a rect with a one pixel line.
+	 *
+	 * @param x      The left edge.
+	 * @param y      The top edge.
+	 * @param width  The width.
+	 * @param height The height.
+	 * @param color  The line {@link Color}.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	void strokeRect( int x, int y, int width, int height, Color color ) throws IOException;
+
+	/**
+	 * Draw a line of text in the serif font.
+	 *
+	 * @param text  The text to draw.
+	 * @param x     The left end of the baseline.
+	 * @param y     The baseline.
+	 * @param size  The font size in pixels.
+	 * @param bold  True for the bold face.
+	 * @param color The text {@link Color}.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	void drawText( String text, int x, int y, int size, boolean bold, Color color ) throws IOException;
+
+	/**
+	 * Write whatever closes the file and flush it.  The underlying stream is not closed.
+	 *
+	 * @throws IOException Thrown if the output fails.
+	 */
+	void finish() throws IOException;
+}
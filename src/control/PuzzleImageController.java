@@ -4,268 +4,416 @@ import model.*;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.Scanner;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
- * PuzzleImageController.java - The Controller that can build {@link PuzzleImage}s.  It is set to represent a puzzle
- * using the standard U.S. Paper size of 8.5x11 with a resolution of 150 pixels-per-inch
+ * PuzzleImageController.java - The Controller that can build {@link PuzzleImage}s.  It represents a puzzle on the page
+ * of its {@link PageSetup}, by default the standard U.S. Paper size of 8.5x11 with a resolution of 150 pixels-per-inch.
+ *
+ * Pages too large to hold in memory, like posters at print resolution, are drawn by {@link #writeTiledPng(Grid, int,
+ * boolean, OutputStream, int)} instead, one band of {@value #TILE_HEIGHT} rows at a time straight into the PNG.
  *
  * @author Andrew McGuiness
- * @version 15/Feb/2017
+ * @version 16/Feb/2017
  */
 public class PuzzleImageController {
-	/** The standard Width in inches of U.S. Printer Paper. {@value} */
-	private static final double PAPER_WIDTH = 8.5;
+	/** The number of pixels the edges of a {@link PuzzleImage} are padded by unless told otherwise. {@value} */
+	public static final int DEFAULT_BUFFER = 50;
+
+	/** The height in pixels of the bands a tiled page is drawn in. {@value} */
+	public static final int TILE_HEIGHT = 256;
+
+	/** The {@link PageSetup} of the page the puzzle is drawn on. */
+	private final PageSetup page;
 
-	/** The standard Height in inches of U.S. Printer Paper. {@value} */
-	private static final double PAPER_HEIGHT = 11;
+	/** The characters of the answer letters that are rasterized ahead of time. */
+	private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
 
-	/** The resolution of the final image in pixels per square inch. {@value} */
-	private static final int PIXELS_PER_INCH = 150;
+	/** The characters of the word numbers. */
+	private static final String DIGITS = "0123456789";
 
-	/** The image Width in pixels, based on the PPI. */
-	private static final int IMAGE_WIDTH = ( int ) ( PAPER_WIDTH * PIXELS_PER_INCH );
+	/** Set based on the {@link Grid} and buffer passed in when drawing, determines where everything is drawn. */
+	private PuzzleLayout layout;
 
-	/** The image Height in pixels, based on the PPI. */
-	private static final int IMAGE_HEIGHT = ( int ) ( PAPER_HEIGHT * PIXELS_PER_INCH );
+	/** The answer letters and word numbers at the current cell size, shared with every other render. */
+	private GlyphAtlas letterAtlas, numberAtlas;
+
+	/** The image being drawn on, the {@link GlyphAtlas}es fill their glyphs straight into its pixels. */
+	private BufferedImage canvas;
+
+	/** The pixel row of the page at the top of the image being drawn on. */
+	private int canvasTop;
 
 	/**
-	 * Set based on the height, width and buffer passed in when building the {@link PuzzleImage}.  Determine where the
-	 * rects will be draw on the output image.
+	 * Create a {@link PuzzleImageController} that draws on {@link PageSetup#LETTER} pages.
 	 */
-	private int width, height, cellSize, yOffset, xOffset, buffer, fontSize;
+	public PuzzleImageController() {
+		this( PageSetup.LETTER );
+	}
 
-	/** The {@link Graphics2D} used to write to the answered image of the {@link PuzzleImage}. */
-	private Graphics2D answerKeyWriter;
+	/**
+	 * Create a {@link PuzzleImageController}.
+	 *
+	 * @param page The {@link PageSetup} of the page the puzzle is drawn on.
+	 */
+	public PuzzleImageController( PageSetup page ) {
+		this.page = page;
+	}
 
-	/** The {@link Graphics2D} used to write to the blank image of the {@link PuzzleImage}. */
-	private Graphics2D blankPuzzleWriter;
+	/**
+	 * Get the {@link PageSetup} the puzzles are drawn on.
+	 *
+	 * @return The {@link PageSetup}.
+	 */
+	public PageSetup getPage() {
+		return page;
+	}
 
 	/**
 	 * Factory Method to create a new {@link PuzzleImage} with the given buffer amount from the given {@link Grid}. The
 	 * words and definitions will be pulled from the {@link Word} {@link java.util.ArrayList} inside the {@link Grid}.
 	 *
+	 * The two images only differ in the answer letters, so everything else is drawn once onto the blank image, which
+	 * is then copied and has the letters drawn over it to become the answered image.  How long it took is recorded in
+	 * the shared {@link GenerationMetrics}.
+	 *
 	 * @param grid   The {@link Grid} to use to create the {@link BufferedImage}s.
 	 * @param buffer The buffer is the number of pixels to pad the edge of the {@link BufferedImage}s by and the amount
 	 *               of spacing for the definitions at the bottom.
 	 */
 	public PuzzleImage createPuzzleImage( Grid grid, int buffer ) {
-		setImageDimensions( grid, buffer );
+		long start = System.nanoTime( );
+		setLayout( new PuzzleLayout( page, grid, buffer ) );
+
+		GridCell[][] letterGrid = grid.getLetterGrid( );
+		int top = 0;
+		int bottom = layout.getHeight( );
+
+		BufferedImage blankImage = new BufferedImage( layout.getWidth( ), layout.getHeight( ),
+				BufferedImage.TYPE_INT_ARGB );
+		Graphics2D puzzleWriter = createGraphics2dWriter( blankImage, 0 );
+		try {
+			drawBlankLayer( puzzleWriter, grid, letterGrid, top, bottom );
+		} finally {
+			puzzleWriter.dispose( );
+		}
 
-		PuzzleImage puzzleImage = initPuzzleImage( );
+		BufferedImage answeredImage = new BufferedImage( layout.getWidth( ), layout.getHeight( ),
+				BufferedImage.TYPE_INT_ARGB );
+		blankImage.copyData( answeredImage.getRaster( ) );
 
-		buildGrid( grid.getLetterGrid( ) );
-		writeWordNumbersOnGrid( grid );
-		puzzleImage.storeTempFiles( );
+		Graphics2D answerKeyWriter = startDrawing( answeredImage, 0 );
+		try {
+			drawAnswers( answerKeyWriter, grid, letterGrid, top, bottom );
+		} finally {
+			answerKeyWriter.dispose( );
+		}
+
+		PuzzleImage puzzleImage = new PuzzleImage( blankImage, answeredImage );
+		GenerationMetrics.getShared( ).recordImage( System.nanoTime( ) - start );
 
 		return puzzleImage;
 	}
 
 	/**
-	 * Initialize a new {@link PuzzleImage} and it's {@link BufferedImage}s to be written to.  The {@link Graphics2D}
-	 * references are pulled and they are stored.
+	 * Draw the blank puzzle or the answer key of a {@link Grid} straight into a PNG {@link File}, see {@link
+	 * #writeTiledPng(Grid, int, boolean, OutputStream, int)}.
 	 *
-	 * @return The initialized {@link PuzzleImage}.
+	 * @param grid    The {@link Grid} to draw.
+	 * @param buffer  The number of pixels to pad the edge of the page by.
+	 * @param answers True to draw the answer key, false for the blank puzzle.
+	 * @param file    The {@link File} to write.
+	 * @param level   The deflate level, from 0 to 9.
+	 * @throws IOException Thrown if the {@link File} can't be written.
 	 */
-	private PuzzleImage initPuzzleImage() {
-		BufferedImage blankImage = new BufferedImage( IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_ARGB );
-		BufferedImage answeredImage = new BufferedImage( IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_ARGB );
-
-		PuzzleImage puzzleImage = new PuzzleImage( blankImage, answeredImage );
+	public void writeTiledPng( Grid grid, int buffer, boolean answers, File file, int level ) throws IOException {
+		OutputStream out = new BufferedOutputStream( new FileOutputStream( file ) );
 
-		answerKeyWriter = createGraphics2dWriter( answeredImage );
-		blankPuzzleWriter = createGraphics2dWriter( blankImage );
-
-		return puzzleImage;
+		try {
+			writeTiledPng( grid, buffer, answers, out, level );
+		} finally {
+			out.close( );
+		}
 	}
 
 	/**
-	 * Prepare the dimension variables based on the input {@link Grid} and buffer amount.
+	 * Draw the blank puzzle or the answer key of a {@link Grid} straight into a PNG, one band of {@value #TILE_HEIGHT}
+	 * rows at a time.  Each band only draws the cells, numbers and definitions that reach into it and is deflated
+	 * before the next one is drawn over it, so the memory used depends on the width of the page and the size of its
+	 * cells, but not on the height of the page or the size of the {@link Grid}.  The pixels are the same as those of
+	 * {@link #createPuzzleImage(Grid, int)}.
 	 *
-	 * @param grid   The {@link Grid} that the {@link PuzzleImage} will be based on.
-	 * @param buffer How much of a buffer that should be used when building the {@link PuzzleImage}.
+	 * @param grid    The {@link Grid} to draw.
+	 * @param buffer  The number of pixels to pad the edge of the page by.
+	 * @param answers True to draw the answer key, false for the blank puzzle.
+	 * @param out     The {@link OutputStream} to write to, it is not closed.
+	 * @param level   The deflate level, from 0 to 9.
+	 * @throws IOException Thrown if the {@link OutputStream} fails.
 	 */
-	private void setImageDimensions( Grid grid, int buffer ) {
-		this.buffer = buffer;
-		width = ( IMAGE_WIDTH - buffer ) / grid.getWidth( );
-		height = ( ( int ) ( IMAGE_HEIGHT * .65 ) - buffer ) / grid.getHeight( );
+	public void writeTiledPng( Grid grid, int buffer, boolean answers, OutputStream out,
+	                           int level ) throws IOException {
+		setLayout( new PuzzleLayout( page, grid, buffer ) );
+
+		GridCell[][] letterGrid = grid.getLetterGrid( );
+		int width = layout.getWidth( );
+		int height = layout.getHeight( );
+
+		//Large glyphs are filled as outlines, which come out slightly different where the edge of the image cuts them,
+		//so the band is drawn with a margin above and below that holds any glyph reaching into the band whole
+		int margin = 2 * Math.max( layout.getCellSize( ), layout.getClues( ).getFontSize( ) );
+		BufferedImage band = new BufferedImage( width, Math.min( TILE_HEIGHT, height ) + 2 * margin,
+				BufferedImage.TYPE_INT_RGB );
+		PngRowWriter png = new PngRowWriter( out, width, height, false, level );
+
+		try {
+			for ( int top = 0; top < height; top += TILE_HEIGHT ) {
+				int bottom = Math.min( top + TILE_HEIGHT, height );
+
+				Graphics2D bandWriter = createGraphics2dWriter( band, top - margin );
+				try {
+					drawBlankLayer( bandWriter, grid, letterGrid, top - margin, bottom + margin );
+					if ( answers )
+						drawAnswers( bandWriter, grid, letterGrid, top - margin, bottom + margin );
+				} finally {
+					bandWriter.dispose( );
+				}
 
-		cellSize = Math.min( width, height );
+				png.writeRows( band, margin, bottom - top );
+			}
 
-		yOffset = buffer / 2;
-		xOffset = ( IMAGE_WIDTH - ( cellSize * grid.getWidth( ) ) ) / 2;
-		fontSize = cellSize;
+			png.finish( );
+		} finally {
+			png.close( );
+		}
 	}
 
 	/**
-	 * Write the word numbers on the  {@link Grid}, then write the corresponding definitions under the  {@link Grid}.
+	 * Get the width to height ratio of the area the {@link Grid} is drawn in on a {@link PageSetup#LETTER} page.
 	 *
-	 * @param grid The  {@link Grid}'s {@link Word}s and the {@link WordPlacement} of those {@link Word}s will be used
-	 *             to correctly write the definitions.
+	 * @param buffer The buffer that will be passed to {@link #createPuzzleImage(Grid, int)}.
+	 * @return The printable width divided by the printable height.
+	 * @see #getPrintableAspectRatio(PageSetup, int)
 	 */
-	private void writeWordNumbersOnGrid( Grid grid ) {
-		resetGraphics2DWriters( );
+	public static double getPrintableAspectRatio( int buffer ) {
+		return getPrintableAspectRatio( PageSetup.LETTER, buffer );
+	}
 
-		String vertical = "Down: \n";
-		String horizontals = "Across: \n";
-		int wordNumber = 1;
+	/**
+	 * Get the width to height ratio of the area the {@link Grid} is drawn in.  A {@link Grid} of the same shape gets
+	 * the largest cells, so this is the ratio an {@link AspectRatioScorer} should aim for.
+	 *
+	 * @param page   The {@link PageSetup} of the page.
+	 * @param buffer The buffer that will be passed to {@link #createPuzzleImage(Grid, int)}.
+	 * @return The printable width divided by the printable height.
+	 */
+	public static double getPrintableAspectRatio( PageSetup page, int buffer ) {
+		return PuzzleLayout.printableWidth( page, buffer ) / ( double ) PuzzleLayout.printableHeight( page, buffer );
+	}
 
-		for ( Word word : grid.getWordsOnGrid( ) ) {
-			Vector2 pos = word.getWordPlacement( ).getStartPosition( );
+	/**
+	 * Use a new {@link PuzzleLayout} and the shared {@link GlyphAtlas}es of its cell size, which are only rasterized
+	 * the first time any render in the process uses that size.
+	 *
+	 * @param layout The {@link PuzzleLayout} of the next render.
+	 */
+	private void setLayout( PuzzleLayout layout ) {
+		this.layout = layout;
 
-			int x = pos.getX( ) * cellSize + xOffset + ( int ) ( cellSize * .1 );
-			int y = pos.getY( ) * cellSize + yOffset + ( int ) ( cellSize * 0.6 );
+		letterAtlas = GlyphAtlas.get( Font.PLAIN, layout.getCellSize( ), Color.red, LETTERS );
+		numberAtlas = GlyphAtlas.get( Font.BOLD, layout.getNumberSize( ), Color.BLACK, DIGITS );
+	}
 
-			answerKeyWriter.drawString( "" + wordNumber, x, y );
-			blankPuzzleWriter.drawString( "" + wordNumber, x, y );
+	/**
+	 * Draw the layer both images share: the grid, the word numbers and the definitions under the grid.  Only what
+	 * reaches between the top and bottom is drawn.
+	 *
+	 * @param writer     The {@link Graphics2D} to draw with.
+	 * @param grid       The {@link Grid} being drawn.
+	 * @param letterGrid The 2D array of {@link GridCell}s of the {@link Grid}.
+	 * @param top        The first pixel row to draw.
+	 * @param bottom     The pixel row after the last one to draw.
+	 */
+	private void drawBlankLayer( Graphics2D writer, Grid grid, GridCell[][] letterGrid, int top, int bottom ) {
+		buildGrid( writer, letterGrid, top, bottom );
+		drawWordNumbers( writer, grid, top, bottom );
+		drawDefinitions( writer, top, bottom );
+	}
 
-			if ( word.getWordPlacement( ).getOrientation( ) == Orientation.HORIZONTAL )
-				horizontals += "\t" + wordNumber + " : " + word.getDefinitionString( ) + "\n";
-			else
-				vertical += "\t" + wordNumber + " : " + word.getDefinitionString( ) + "\n";
+	/**
+	 * Draw the red answer letters over the blank layer.  Wide letters reach into the cell to their right, so the grid
+	 * lines and filled cells are drawn again over the letters, followed by the word numbers, giving the same layering
+	 * as drawing the answered image on its own.  Only the rects and numbers are repeated, the definitions are not.
+	 *
+	 * @param writer     The {@link Graphics2D} to draw with.
+	 * @param grid       The {@link Grid} whose {@link Word}s are numbered.
+	 * @param letterGrid The 2D array of {@link GridCell}s of the {@link Grid}.
+	 * @param top        The first pixel row to draw.
+	 * @param bottom     The pixel row after the last one to draw.
+	 */
+	private void drawAnswers( Graphics2D writer, Grid grid, GridCell[][] letterGrid, int top, int bottom ) {
+		int firstRow = firstRow( top );
+		int lastRow = lastRow( bottom );
 
-			wordNumber++;
+		for ( int x = 0; x < letterGrid.length; x++ ) {
+			for ( int y = firstRow; y <= lastRow && y < letterGrid[x].length; y++ ) {
+				if ( hasLetter( letterGrid[x][y] ) )
+					letterAtlas.drawChar( writer, canvas, canvasTop, letterGrid[x][y].getCharacter( ),
+							layout.letterX( x ), layout.letterY( y ) );
+			}
 		}
 
-		writeDefinitionsUnderGrid( grid, vertical, horizontals, wordNumber );
+		buildGrid( writer, letterGrid, top, bottom );
+		drawWordNumbers( writer, grid, top, bottom );
 	}
 
 	/**
-	 * Write the definitions along with their number sorted into the "Across" and "Down" sections
+	 * Build the grid itself out of a 2D array of {@link GridCell}s, boxes for the letters and filled rects for the
+	 * empty cells.  The letters themselves are left for {@link #drawAnswers(Graphics2D, Grid, GridCell[][], int,
+	 * int)}.
 	 *
-	 * @param grid        The {@link Grid} where the {@link Word}s come from.
-	 * @param vertical    A {@link String} containing all of the definions for the "Down" words
-	 * @param horizontals A {@link String} containing all the definitions for the "Across" words
-	 * @param wordNumber  The total number of {@link Word}s.  Used to calculate a font size to fit all the {@link Word}
-	 *                    into the given area.
+	 * @param writer     The {@link Graphics2D} to draw with.
+	 * @param letterGrid The 2D array of GridCell's that this PuzzleImage is being built from.
+	 * @param top        The first pixel row to draw.
+	 * @param bottom     The pixel row after the last one to draw.
 	 */
-	private void writeDefinitionsUnderGrid( Grid grid, String vertical, String horizontals, int wordNumber ) {
-		fontSize = ( int ) ( IMAGE_HEIGHT * .35 ) / ( wordNumber + 4 );
-
-		answerKeyWriter.setFont( new Font( "TimesRoman", Font.PLAIN, fontSize ) );
-		blankPuzzleWriter.setFont( new Font( "TimesRoman", Font.PLAIN, fontSize ) );
+	private void buildGrid( Graphics2D writer, GridCell[][] letterGrid, int top, int bottom ) {
+		writer.setColor( Color.black );
 
-		int row = 1;
-		int initialY = grid.getHeight( ) * cellSize + yOffset + fontSize;
+		int firstRow = firstRow( top );
+		int lastRow = lastRow( bottom );
+		int cellSize = layout.getCellSize( );
 
-		row = writeStringOfDefinitions( vertical, row, initialY );
-		row++;
-		writeStringOfDefinitions( horizontals, row, initialY );
+		for ( int x = 0; x < letterGrid.length; x++ ) {
+			for ( int y = firstRow; y <= lastRow && y < letterGrid[x].length; y++ ) {
+				if ( hasLetter( letterGrid[x][y] ) )
+					writer.drawRect( layout.cellX( x ), layout.cellY( y ), cellSize, cellSize );
+				else
+					writer.fillRect( layout.cellX( x ), layout.cellY( y ), cellSize, cellSize );
+			}
+		}
 	}
 
 	/**
-	 * Reset the two {@link Graphics2D} objects to write the {@link Word} numbers on the {@link BufferedImage} grid.
+	 * Draw the number of every {@link Word} in the corner of its first cell.
+	 *
+	 * @param writer The {@link Graphics2D} to draw with.
+	 * @param grid   The {@link Grid} whose {@link Word}s are numbered.
+	 * @param top    The first pixel row to draw.
+	 * @param bottom The pixel row after the last one to draw.
 	 */
-	private void resetGraphics2DWriters() {
-		answerKeyWriter.setFont( new Font( "TimesRoman", Font.BOLD, ( int ) ( cellSize * .75 ) ) );
-		blankPuzzleWriter.setFont( new Font( "TimesRoman", Font.BOLD, ( int ) ( cellSize * .75 ) ) );
-		answerKeyWriter.setColor( Color.BLACK );
-		blankPuzzleWriter.setColor( Color.BLACK );
-	}
+	private void drawWordNumbers( Graphics2D writer, Grid grid, int top, int bottom ) {
+		int fontSize = layout.getNumberSize( );
+
+		int wordNumber = 1;
+		for ( Word word : grid.getWordsOnGrid( ) ) {
+			Vector2 pos = word.getWordPlacement( ).getStartPosition( );
+			int y = layout.numberY( pos.getY( ) );
 
+			if ( reaches( y, fontSize, top, bottom ) )
+				numberAtlas.drawString( writer, canvas, canvasTop, Integer.toString( wordNumber ),
+						layout.numberX( pos.getX( ) ), y );
+			wordNumber++;
+		}
+	}
 
 	/**
-	 * Writes a series of definitions on the {@link BufferedImage} under the {@link Grid}.  Starting at initial Y, it
-	 * counts down "row"-many rows based on the font size, and begins writing there.
+	 * Write the clues laid out by the {@link ClueLayout} under the grid, skipping the lines that don't reach between
+	 * the top and bottom.
 	 *
-	 * @param string   All the definitions that need to be written under the {@link BufferedImage} grid.
-	 * @param row      the row on the page from the initial Y that this method begins at
-	 * @param initialY The initial Y for the definition section
-	 * @return the row on the page from the initial Y that this method finished at
+	 * @param writer The {@link Graphics2D} to draw with.
+	 * @param top    The first pixel row to draw.
+	 * @param bottom The pixel row after the last one to draw.
 	 */
-	private int writeStringOfDefinitions( String string, int row, int initialY ) {
-		boolean heading = true;
-		Scanner stringScanner = new Scanner( string ).useDelimiter( "\n" );
-		String def;
-		int x, y;
+	private void drawDefinitions( Graphics2D writer, int top, int bottom ) {
+		ClueLayout clues = layout.getClues( );
+		int fontSize = clues.getFontSize( );
 
-		while ( stringScanner.hasNext( ) ) {
-			def = stringScanner.next( );
-			x = buffer + ( heading ? 0 : fontSize );
-			y = initialY + ( row * fontSize );
+		writer.setFont( FontCache.get( Font.PLAIN, fontSize ) );
+		writer.setColor( Color.BLACK );
 
-			answerKeyWriter.drawString( def, x, y );
-			blankPuzzleWriter.drawString( def, x, y );
-
-			if ( heading )
-				heading = false;
-
-			row++;
+		for ( ClueLayout.Run run : clues.getRuns( ) ) {
+			if ( reaches( run.getY( ), fontSize, top, bottom ) )
+				writer.drawString( run.getText( ), run.getX( ), run.getY( ) );
 		}
-		return row;
 	}
 
 	/**
-	 * Build the grid itself out of a 2D array of {@link GridCell}s.  Both {@link BufferedImage}s will be written to.
-	 * One with just the boxes and the other with the boxes and letters.
+	 * Get the first row of the grid that can draw between the top and bottom.  Answer letters and the outline of a
+	 * box reach a little past their own cell, so one row more than the cells between them is included.
 	 *
-	 * @param letterGrid The 2D array of GridCell's that this PuzzleImage is being built from.
+	 * @param top The first pixel row to draw.
+	 * @return The first grid row to draw, at least 0.
 	 */
-	private void buildGrid( GridCell[][] letterGrid ) {
-		for ( int x = 0; x < letterGrid.length; x++ ) {
-			for ( int y = 0; y < letterGrid[x].length; y++ ) {
-				if ( letterGrid[x][y] != null && letterGrid[x][y].getCharacter( ) != 0 ) {
-					answerKeyWriter.setColor( Color.red );
-					answerKeyWriter.drawString( "" + letterGrid[x][y].getCharacter( ), x * cellSize + xOffset + ( cellSize / 4 ), y * cellSize + yOffset + ( int ) ( cellSize * 0.85 ) );
+	private int firstRow( int top ) {
+		return Math.max( 0, layout.rowAt( top ) - 1 );
+	}
 
-					drawHollowRect( x, y, Color.black );
-				}
-				else if ( letterGrid[x][y] == null || letterGrid[x][y].getCharacter( ) == 0 ) {
-					drawFilledRect( x, y, Color.black );
-				}
-			}
-		}
+	/**
+	 * Get the last row of the grid that can draw between the top and bottom, see {@link #firstRow(int)}.
+	 *
+	 * @param bottom The pixel row after the last one to draw.
+	 * @return The last grid row to draw, may be past the end of the grid.
+	 */
+	private int lastRow( int bottom ) {
+		return layout.rowAt( bottom ) + 1;
 	}
 
 	/**
-	 * Draw a filled rect on the blank and answered {@link BufferedImage}s.
+	 * Check if a line of text can draw between the top and bottom.  The glyphs of a font rise less than its size
+	 * above the baseline and fall less than its size below it.
 	 *
-	 * @param x     The x of the rect in the original {@link Grid}.
-	 * @param y     The y of the rect in the original {@link Grid}.
-	 * @param color What {@link Color} to use for the rect.
+	 * @param baseline The baseline of the text.
+	 * @param fontSize The font size of the text.
+	 * @param top      The first pixel row to draw.
+	 * @param bottom   The pixel row after the last one to draw.
+	 * @return True if the text should be drawn.
 	 */
-	private void drawFilledRect( int x, int y, Color color ) {
-		answerKeyWriter.setColor( color );
-		answerKeyWriter.fillRect( x * cellSize + xOffset,
-		                          y * cellSize + yOffset,
-		                          cellSize, cellSize );
-
-		blankPuzzleWriter.setColor( color );
-		blankPuzzleWriter.fillRect( x * cellSize + xOffset,
-		                            y * cellSize + yOffset,
-		                            cellSize, cellSize );
+	private boolean reaches( int baseline, int fontSize, int top, int bottom ) {
+		return baseline + fontSize >= top && baseline - fontSize < bottom;
 	}
 
 	/**
-	 * Draw a hollow rect on both {@link BufferedImage}s.
+	 * Check if a cell of the letter grid holds a letter.
 	 *
-	 * @param x     The x of the rect in the original {@link Grid}.
-	 * @param y     The y of the rect in the original {@link Grid}.
-	 * @param color What {@link Color} to use for the rect.
+	 * @param cell The {@link GridCell}, may be null.
+	 * @return True if the cell holds a letter.
 	 */
-	private void drawHollowRect( int x, int y, Color color ) {
-		answerKeyWriter.setColor( color );
-		answerKeyWriter.drawRect( x * cellSize + xOffset,
-		                          y * cellSize + yOffset,
-		                          cellSize, cellSize );
-
-		blankPuzzleWriter.setColor( color );
-		blankPuzzleWriter.drawRect( x * cellSize + xOffset,
-		                            y * cellSize + yOffset,
-		                            cellSize, cellSize );
+	private boolean hasLetter( GridCell cell ) {
+		return cell != null && cell.getCharacter( ) != 0;
 	}
 
 	/**
-	 * Create a {@link Graphics2D} object to work correctly with the {@link BufferedImage}.
+	 * Create a {@link Graphics2D} object to work correctly with the {@link BufferedImage}, which is cleared to white
+	 * and shows the part of the page starting at the given pixel row.
 	 *
 	 * @param image The {@link BufferedImage} that this {@link Graphics2D} object will be writing to.
+	 * @param top   The pixel row of the page at the top of the image.
 	 * @return The initialized {@link Graphics2D} object.
 	 */
-	private Graphics2D createGraphics2dWriter( BufferedImage image ) {
-		Graphics2D g2d = image.createGraphics( );
+	private Graphics2D createGraphics2dWriter( BufferedImage image, int top ) {
+		Graphics2D g2d = startDrawing( image, top );
 		g2d.setColor( Color.white );
-		g2d.fillRect( 0, 0, IMAGE_WIDTH, IMAGE_HEIGHT );
-		g2d.setFont( new Font( "TimesRoman", Font.PLAIN, fontSize ) );
+		g2d.fillRect( 0, top, image.getWidth( ), image.getHeight( ) );
+		return g2d;
+	}
+
+	/**
+	 * Start drawing on a {@link BufferedImage} that shows the part of the page starting at the given pixel row.
+	 *
+	 * @param image The {@link BufferedImage} to draw on.
+	 * @param top   The pixel row of the page at the top of the image.
+	 * @return A {@link Graphics2D} that draws in pixels of the page.
+	 */
+	private Graphics2D startDrawing( BufferedImage image, int top ) {
+		canvas = image;
+		canvasTop = top;
+
+		Graphics2D g2d = image.createGraphics( );
+		g2d.translate( 0, -top );
 		return g2d;
 	}
-}
\ No newline at end of file
+}
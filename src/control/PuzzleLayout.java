@@ -0,0 +1,201 @@
+package control;
+
+import model.Grid;
+import model.PageSetup;
+
+/**
+ * PuzzleLayout.java - Where everything of a puzzle page goes, in pixels of the {@link PageSetup}.  The top 65% of the
+ * page, less the buffer, holds the grid with square cells as large as fit, centred across the page.  The rest holds
+ * the clues, laid out by a {@link ClueLayout}.  The raster and vector pages are both laid out from here, so they always
+ * match.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see PuzzleImageController
+ * @see VectorPuzzleController
+ */
+class PuzzleLayout {
+	/** The share of the page height the grid and buffer are fit into, the definitions get the rest. {@value} */
+	private static final double GRID_SHARE = .65;
+
+	/** The share of the page height the largest font size of the clues is based on. {@value} */
+	private static final double DEFINITION_SHARE = .35;
+
+	/**
+	 * Up to this many clues the font size starts as large as giving each clue a row of the rest of the page allows,
+	 * more clues start from the size of this many and go into columns. {@value}
+	 */
+	private static final int FULL_SIZE_CLUES = 20;
+
+	/** The size of the page in pixels. */
+	private final int width, height;
+
+	/** The side of a cell in pixels. */
+	private final int cellSize;
+
+	/** Where the top left cell of the grid starts. */
+	private final int xOffset, yOffset;
+
+	/** Where the clues go under the grid. */
+	private final ClueLayout clues;
+
+	/**
+	 * Lay out a {@link Grid} on a page.
+	 *
+	 * @param page   The {@link PageSetup} of the page.
+	 * @param grid   The {@link Grid} to lay out.
+	 * @param buffer The number of pixels to pad the edge of the page by.
+	 */
+	PuzzleLayout( PageSetup page, Grid grid, int buffer ) {
+		this.width = page.getPixelWidth( );
+		this.height = page.getPixelHeight( );
+
+		cellSize = Math.max( 1, Math.min( printableWidth( page, buffer ) / grid.getWidth( ),
+				printableHeight( page, buffer ) / grid.getHeight( ) ) );
+
+		yOffset = buffer / 2;
+		xOffset = ( width - ( cellSize * grid.getWidth( ) ) ) / 2;
+
+		int maxClueSize = ( int ) ( height * DEFINITION_SHARE )
+				/ ( Math.min( grid.getWordsOnGrid( ).size( ), FULL_SIZE_CLUES ) + 5 );
+		clues = new ClueLayout( grid, buffer, width - buffer, cellY( grid.getHeight( ) ), height - yOffset, maxClueSize );
+	}
+
+	/**
+	 * Get the width in pixels of the area the {@link Grid} is drawn in.
+	 *
+	 * @param page   The {@link PageSetup} of the page.
+	 * @param buffer The number of pixels the edges of the page are padded by.
+	 * @return The printable width.
+	 */
+	static int printableWidth( PageSetup page, int buffer ) {
+		return page.getPixelWidth( ) - buffer;
+	}
+
+	/**
+	 * Get the height in pixels of the area the {@link Grid} is drawn in, the rest of the page is left for the
+	 * definitions.
+	 *
+	 * @param page   The {@link PageSetup} of the page.
+	 * @param buffer The number of pixels the edges of the page are padded by.
+	 * @return The printable height.
+	 */
+	static int printableHeight( PageSetup page, int buffer ) {
+		return ( int ) ( page.getPixelHeight( ) * GRID_SHARE ) - buffer;
+	}
+
+	/**
+	 * Get the width of the page.
+	 *
+	 * @return The width in pixels.
+	 */
+	int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the height of the page.
+	 *
+	 * @return The height in pixels.
+	 */
+	int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get the side of a cell, also the font size of the answer letters.
+	 *
+	 * @return The cell size in pixels.
+	 */
+	int getCellSize() {
+		return cellSize;
+	}
+
+	/**
+	 * Get the left edge of a column of the grid.
+	 *
+	 * @param x The column.
+	 * @return The left edge of its cells.
+	 */
+	int cellX( int x ) {
+		return x * cellSize + xOffset;
+	}
+
+	/**
+	 * Get the top edge of a row of the grid.
+	 *
+	 * @param y The row.
+	 * @return The top edge of its cells.
+	 */
+	int cellY( int y ) {
+		return y * cellSize + yOffset;
+	}
+
+	/**
+	 * Get the first row of the grid whose cells reach the given pixel row or below it.
+	 *
+	 * @param top The pixel row.
+	 * @return The grid row, may be before the first or after the last.
+	 */
+	int rowAt( int top ) {
+		return Math.floorDiv( top - yOffset, cellSize );
+	}
+
+	/**
+	 * Get where the answer letter of a column starts.
+	 *
+	 * @param x The column.
+	 * @return The left end of the baseline.
+	 */
+	int letterX( int x ) {
+		return cellX( x ) + ( cellSize / 4 );
+	}
+
+	/**
+	 * Get the baseline of the answer letters of a row.
+	 *
+	 * @param y The row.
+	 * @return The baseline.
+	 */
+	int letterY( int y ) {
+		return cellY( y ) + ( int ) ( cellSize * 0.85 );
+	}
+
+	/**
+	 * Get the font size of the word numbers.
+	 *
+	 * @return The font size in pixels.
+	 */
+	int getNumberSize() {
+		return ( int ) ( cellSize * .75 );
+	}
+
+	/**
+	 * Get where the number of a word starting in a column starts.
+	 *
+	 * @param x The column.
+	 * @return The left end of the baseline.
+	 */
+	int numberX( int x ) {
+		return cellX( x ) + ( int ) ( cellSize * .1 );
+	}
+
+	/**
+	 * Get the baseline of the numbers of words starting in a row.
+	 *
+	 * @param y The row.
+	 * @return The baseline.
+	 */
+	int numberY( int y ) {
+		return cellY( y ) + ( int ) ( cellSize * 0.6 );
+	}
+
+	/**
+	 * Get where the clues go under the grid.
+	 *
+	 * @return The {@link ClueLayout}.
+	 */
+	ClueLayout getClues() {
+		return clues;
+	}
+}
@@ -0,0 +1,690 @@
+package control;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.DictionaryCache;
+import model.DictionaryFile;
+import model.Grid;
+import model.GridCell;
+import model.IncompleteWordException;
+import model.Orientation;
+import model.OutputFormat;
+import model.PageSetup;
+import model.PuzzleGenerationException;
+import model.Vector2;
+import model.Word;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PuzzleServer.java - A small HTTP service that generates puzzles for other tools, without the JavaFX shell.  It
+ * serves two endpoints:
+ *
+ * GET /dictionaries lists the ids of the dictionaries in the dictionary directory, each one the file name without its
+ * extension.
+ *
+ * GET or POST /puzzles generates one puzzle.  The query takes dictionary=&lt;id&gt;, or the body of a POST is used as
+ * the word list, in the same "word definition" lines as a dictionary file.  It also takes seed=&lt;n&gt;,
+ * format=json|png|svg|pdf (default json), answers=true for the answer key, page=&lt;WxH&gt; and dpi=&lt;n&gt;.  JSON
+ * describes the {@link Grid}, its letters and its numbered {@link Word}s, the other formats return the page.
+ *
+ * Requests are accepted on a cached pool of lightweight request threads that only parse the query and wait.  The
+ * {@link GridController} and page rendering, which are bound by the CPU, run on a fixed pool of generator threads with
+ * a short queue, a request that finds the queue full is turned away with 503 instead of piling up.  A puzzle that
+ * takes longer than {@value #GENERATION_TIMEOUT_SECONDS} seconds is cancelled.  A puzzle that was already
+ * generated from the same word list and seed is taken from the shared {@link GridCache}, so only drawing it costs.
+ * With {@link #setPortfolio(int, long)} every puzzle is raced by a {@link PortfolioGridController} with threads of its
+ * own instead.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see GridController
+ * @see PortfolioGridController
+ * @see BatchController
+ */
+public class PuzzleServer {
+	/** The port the server listens on unless told otherwise. {@value} */
+	public static final int DEFAULT_PORT = 8080;
+
+	/** How many puzzles may wait for a generator thread per thread before requests are turned away. {@value} */
+	private static final int QUEUE_PER_THREAD = 4;
+
+	/** How long a request waits for its puzzle before it is cancelled. {@value} */
+	private static final int GENERATION_TIMEOUT_SECONDS = 60;
+
+	/** The largest word list that may be sent in the body of a request, in bytes. {@value} */
+	private static final int MAX_UPLOAD_BYTES = 8 << 20;
+
+	/** The most pixels a requested page may have. {@value} */
+	private static final long MAX_PAGE_PIXELS = 1L << 26;
+
+	/** The format of the grid description. {@value} */
+	private static final String JSON = "json";
+
+	/** The dictionary files that can be asked for, by id. */
+	private final Map< String, File > dictionaries;
+
+	/** Accepts the connections and parses the requests. */
+	private final HttpServer server;
+
+	/** The threads the requests are handled on. */
+	private final ExecutorService requestThreads;
+
+	/** The threads the puzzles are generated and drawn on. */
+	private final ThreadPoolExecutor generators;
+
+	/** How many attempts race for each puzzle, 0 to build it with a single {@link GridController}. */
+	private volatile int portfolio = 0;
+
+	/** How long each portfolio keeps looking for a more compact {@link Grid} in milliseconds, 0 to take the first. */
+	private volatile long timeBudget = 0;
+
+	/**
+	 * Create a {@link PuzzleServer}, it does not accept requests until it is started.
+	 *
+	 * @param address             The address and port to listen on, port 0 picks a free one.
+	 * @param dictionaryDirectory The directory holding the dictionaries that can be asked for by id.
+	 * @param threads             How many puzzles are generated at the same time.
+	 * @throws IOException Thrown if the directory can't be listed or the port can't be bound.
+	 */
+	public PuzzleServer( InetSocketAddress address, File dictionaryDirectory, int threads ) throws IOException {
+		dictionaries = findDictionaries( dictionaryDirectory );
+
+		int poolSize = Math.max( 1, threads );
+		AtomicInteger generatorCount = new AtomicInteger( );
+		generators = new ThreadPoolExecutor( poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue< Runnable >( poolSize * QUEUE_PER_THREAD ), runnable -> {
+			Thread thread = new Thread( runnable, "puzzle-generator-" + generatorCount.incrementAndGet( ) );
+			thread.setDaemon( true );
+			return thread;
+		}, new ThreadPoolExecutor.AbortPolicy( ) );
+
+		AtomicInteger requestCount = new AtomicInteger( );
+		requestThreads = Executors.newCachedThreadPool( runnable -> {
+			Thread thread = new Thread( runnable, "puzzle-request-" + requestCount.incrementAndGet( ) );
+			thread.setDaemon( true );
+			return thread;
+		} );
+
+		server = HttpServer.create( address, 0 );
+		server.setExecutor( requestThreads );
+		server.createContext( "/dictionaries", this::serveDictionaries );
+		server.createContext( "/puzzles", this::servePuzzle );
+	}
+
+	/**
+	 * Race several {@link GridController}s for every puzzle with a {@link PortfolioGridController}.  Each puzzle being
+	 * generated then uses that many threads of its own on top of its generator thread.
+	 *
+	 * @param attempts   How many attempts race for each puzzle, 0 to build it with a single {@link GridController}.
+	 * @param timeBudget How long to keep looking for a more compact {@link Grid} in milliseconds, 0 to take the first
+	 *                   one found.
+	 * @throws IllegalArgumentException Thrown if the time budget is not shorter than the time a request may take.
+	 */
+	public void setPortfolio( int attempts, long timeBudget ) {
+		if ( timeBudget >= TimeUnit.SECONDS.toMillis( GENERATION_TIMEOUT_SECONDS ) )
+			throw new IllegalArgumentException( "The time budget must be under " + GENERATION_TIMEOUT_SECONDS + "s." );
+
+		this.portfolio = Math.max( 0, attempts );
+		this.timeBudget = Math.max( 0, timeBudget );
+	}
+
+	/**
+	 * Start accepting requests.
+	 */
+	public void start() {
+		server.start( );
+	}
+
+	/**
+	 * Stop accepting requests, give the open ones a moment to finish and stop the threads.
+	 *
+	 * @param delaySeconds How long to wait for the open requests.
+	 */
+	public void stop( int delaySeconds ) {
+		server.stop( delaySeconds );
+		generators.shutdownNow( );
+		requestThreads.shutdownNow( );
+	}
+
+	/**
+	 * Get the port the server listens on, useful when it was created with port 0.
+	 *
+	 * @return The port.
+	 */
+	public int getPort() {
+		return server.getAddress( ).getPort( );
+	}
+
+	/**
+	 * Get the ids of the dictionaries that can be asked for.
+	 *
+	 * @return The ids, sorted by file name.
+	 */
+	public List< String > getDictionaryIds() {
+		return Collections.unmodifiableList( new ArrayList< String >( dictionaries.keySet( ) ) );
+	}
+
+	/**
+	 * Find the dictionaries of a directory and give each one an id.  When a text and a compiled dictionary share a
+	 * name the compiled one is used, it sorts first.
+	 *
+	 * @param directory The directory.
+	 * @return The dictionary files by id, in the order of their names.
+	 * @throws IOException Thrown if the directory can't be listed.
+	 */
+	private static Map< String, File > findDictionaries( File directory ) throws IOException {
+		LinkedHashMap< String, File > found = new LinkedHashMap< String, File >( );
+
+		for ( File file : BatchController.findDictionaries( Collections.singletonList( directory ) ) ) {
+			String id = file.getName( );
+			if ( id.lastIndexOf( '.' ) > 0 )
+				id = id.substring( 0, id.lastIndexOf( '.' ) );
+
+			if ( !found.containsKey( id ) )
+				found.put( id, file );
+		}
+
+		return found;
+	}
+
+	/**
+	 * Answer GET /dictionaries with the ids of the dictionaries.
+	 *
+	 * @param exchange The request.
+	 * @throws IOException Thrown if the response can't be sent.
+	 */
+	private void serveDictionaries( HttpExchange exchange ) throws IOException {
+		Reply reply;
+
+		if ( !exchange.getRequestMethod( ).equals( "GET" ) ) {
+			reply = Reply.error( 405, "Only GET is supported." );
+		}
+		else {
+			StringBuilder json = new StringBuilder( "{ \"dictionaries\": [" );
+			String separator = " ";
+			for ( String id : dictionaries.keySet( ) ) {
+				json.append( separator ).append( BatchController.quote( id ) );
+				separator = ", ";
+			}
+			json.append( " ] }\n" );
+
+			reply = Reply.json( 200, json.toString( ) );
+		}
+
+		send( exchange, reply );
+	}
+
+	/**
+	 * Answer GET or POST /puzzles by generating a puzzle on a generator thread and waiting for it.
+	 *
+	 * @param exchange The request.
+	 * @throws IOException Thrown if the response can't be sent.
+	 */
+	private void servePuzzle( HttpExchange exchange ) throws IOException {
+		Reply reply;
+
+		try {
+			reply = generate( exchange );
+		} catch ( RequestException re ) {
+			reply = Reply.error( re.status, re.getMessage( ) );
+		} catch ( IllegalArgumentException iae ) {
+			reply = Reply.error( 400, iae.getMessage( ) );
+		}
+
+		send( exchange, reply );
+	}
+
+	/**
+	 * Read the options of a puzzle request, hand the puzzle to a generator thread and wait for it.
+	 *
+	 * @param exchange The request.
+	 * @return The {@link Reply} holding the puzzle.
+	 * @throws IOException              Thrown if the body of the request can't be read.
+	 * @throws RequestException         Thrown if the request can't be answered with a puzzle.
+	 * @throws IllegalArgumentException Thrown if an option can't be understood.
+	 */
+	private Reply generate( HttpExchange exchange ) throws IOException, RequestException {
+		String method = exchange.getRequestMethod( );
+		if ( !method.equals( "GET" ) && !method.equals( "POST" ) )
+			throw new RequestException( 405, "Only GET and POST are supported." );
+
+		Map< String, String > query = parseQuery( exchange.getRequestURI( ).getRawQuery( ) );
+
+		String format = query.getOrDefault( "format", JSON ).toLowerCase( Locale.ROOT );
+		OutputFormat outputFormat = null;
+		if ( !format.equals( JSON ) ) {
+			try {
+				outputFormat = OutputFormat.valueOf( format.toUpperCase( Locale.ROOT ) );
+			} catch ( IllegalArgumentException iae ) {
+				throw new RequestException( 400, "Unknown format " + format + ", expected json, png, svg or pdf." );
+			}
+		}
+		PageSetup page = PageSetup.parse( query.getOrDefault( "page", PageSetup.LETTER.getPaperSize( ) ),
+				Integer.parseInt( query.getOrDefault( "dpi",
+						Integer.toString( PageSetup.LETTER.getPixelsPerInch( ) ) ) ) );
+		if ( ( long ) page.getPixelWidth( ) * page.getPixelHeight( ) > MAX_PAGE_PIXELS )
+			throw new RequestException( 400, "The page may have at most " + MAX_PAGE_PIXELS + " pixels." );
+
+		long seed = query.containsKey( "seed" )
+				? Long.parseLong( query.get( "seed" ) ) : ThreadLocalRandom.current( ).nextLong( );
+		boolean answers = Boolean.parseBoolean( query.get( "answers" ) );
+
+		File dictionary = null;
+		byte[] upload = method.equals( "POST" ) ? readBody( exchange ) : new byte[ 0 ];
+		if ( upload.length == 0 ) {
+			String id = query.get( "dictionary" );
+			if ( id == null )
+				throw new RequestException( 400, "Expected a dictionary id or a word list in the body." );
+
+			dictionary = dictionaries.get( id );
+			if ( dictionary == null )
+				throw new RequestException( 404, "No such dictionary: " + id );
+		}
+
+		PuzzleTask task = new PuzzleTask( dictionary, upload, seed, outputFormat, answers, page, portfolio,
+				timeBudget );
+		Future< Reply > result;
+		try {
+			result = generators.submit( task );
+		} catch ( RejectedExecutionException ree ) {
+			throw new RequestException( 503, "Too many puzzles are being generated, try again later." );
+		}
+
+		return await( task, result );
+	}
+
+	/**
+	 * Wait for a {@link PuzzleTask} and turn its failures into {@link RequestException}s.
+	 *
+	 * @param task   The {@link PuzzleTask}.
+	 * @param result Its {@link Future}.
+	 * @return The {@link Reply} holding the puzzle.
+	 * @throws RequestException Thrown if the puzzle could not be generated in time.
+	 */
+	private Reply await( PuzzleTask task, Future< Reply > result ) throws RequestException {
+		Reply reply;
+
+		try {
+			reply = result.get( GENERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS );
+		} catch ( TimeoutException te ) {
+			task.cancel( );
+			result.cancel( true );
+			throw new RequestException( 503,
+					"The puzzle took longer than " + GENERATION_TIMEOUT_SECONDS + " seconds." );
+		} catch ( InterruptedException ie ) {
+			task.cancel( );
+			result.cancel( true );
+			Thread.currentThread( ).interrupt( );
+			throw new RequestException( 503, "The server is shutting down." );
+		} catch ( ExecutionException ee ) {
+			Throwable cause = ee.getCause( );
+			if ( cause instanceof IncompleteWordException || cause instanceof IllegalArgumentException )
+				throw new RequestException( 400, String.valueOf( cause.getMessage( ) ) );
+			else if ( cause instanceof PuzzleGenerationException )
+				throw new RequestException( 422, String.valueOf( cause.getMessage( ) ) );
+			else
+				throw new RequestException( 500, String.valueOf( cause.getMessage( ) ) );
+		}
+
+		return reply;
+	}
+
+	/**
+	 * Read the body of a request, refusing anything larger than {@value #MAX_UPLOAD_BYTES} bytes.
+	 *
+	 * @param exchange The request.
+	 * @return The body, empty if there is none.
+	 * @throws IOException      Thrown if the body can't be read.
+	 * @throws RequestException Thrown if the body is too large.
+	 */
+	private static byte[] readBody( HttpExchange exchange ) throws IOException, RequestException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream( );
+		byte[] buffer = new byte[ 8192 ];
+
+		try ( InputStream in = exchange.getRequestBody( ) ) {
+			int read;
+			while ( ( read = in.read( buffer ) ) != -1 ) {
+				if ( body.size( ) + read > MAX_UPLOAD_BYTES )
+					throw new RequestException( 413, "The word list may be at most " + MAX_UPLOAD_BYTES + " bytes." );
+				body.write( buffer, 0, read );
+			}
+		}
+
+		return body.toByteArray( );
+	}
+
+	/**
+	 * Split a raw query into its decoded names and values.
+	 *
+	 * @param rawQuery The query of the request URI, may be null.
+	 * @return The values by name, the last one wins if a name repeats.
+	 * @throws UnsupportedEncodingException Never, UTF-8 is always supported.
+	 */
+	private static Map< String, String > parseQuery( String rawQuery ) throws UnsupportedEncodingException {
+		HashMap< String, String > query = new HashMap< String, String >( );
+
+		if ( rawQuery != null ) {
+			for ( String pair : rawQuery.split( "&" ) ) {
+				int equals = pair.indexOf( '=' );
+				if ( equals > 0 )
+					query.put( URLDecoder.decode( pair.substring( 0, equals ), "UTF-8" ),
+							URLDecoder.decode( pair.substring( equals + 1 ), "UTF-8" ) );
+				else if ( !pair.isEmpty( ) )
+					query.put( URLDecoder.decode( pair, "UTF-8" ), "" );
+			}
+		}
+
+		return query;
+	}
+
+	/**
+	 * Send a {@link Reply} and close the exchange.
+	 *
+	 * @param exchange The request.
+	 * @param reply    The {@link Reply}.
+	 * @throws IOException Thrown if the response can't be sent.
+	 */
+	private static void send( HttpExchange exchange, Reply reply ) throws IOException {
+		try {
+			exchange.getResponseHeaders( ).set( "Content-Type", reply.contentType );
+			if ( reply.status == 503 )
+				exchange.getResponseHeaders( ).set( "Retry-After", "1" );
+			exchange.sendResponseHeaders( reply.status, reply.body.length );
+
+			try ( OutputStream out = exchange.getResponseBody( ) ) {
+				out.write( reply.body );
+			}
+		} finally {
+			exchange.close( );
+		}
+	}
+
+	/**
+	 * Describe a {@link Grid} as JSON: its size, its rows of letters with '.' for the empty cells, and its {@link
+	 * Word}s numbered like the printed page.
+	 *
+	 * @param grid     The {@link Grid}.
+	 * @param seed     The seed it was generated with.
+	 * @param cached   True if it was taken from the {@link GridCache}.
+	 * @param restarts How many times the {@link GridController} that built it had to start over, 0 if it was cached.
+	 * @param millis   How long it took to generate, in milliseconds.
+	 * @return The JSON.
+	 */
+	private static String toJson( Grid grid, long seed, boolean cached, int restarts, long millis ) {
+		GridCell[][] letterGrid = grid.getLetterGrid( );
+		StringBuilder json = new StringBuilder( );
+
+		json.append( "{\n  \"seed\": " ).append( seed );
+		json.append( ",\n  \"width\": " ).append( grid.getWidth( ) );
+		json.append( ",\n  \"height\": " ).append( grid.getHeight( ) );
+		json.append( ",\n  \"cached\": " ).append( cached );
+		json.append( ",\n  \"restarts\": " ).append( restarts );
+		json.append( ",\n  \"millis\": " ).append( millis );
+
+		json.append( ",\n  \"rows\": [" );
+		StringBuilder row = new StringBuilder( grid.getWidth( ) );
+		for ( int y = 0; y < grid.getHeight( ); y++ ) {
+			row.setLength( 0 );
+			for ( int x = 0; x < grid.getWidth( ); x++ ) {
+				GridCell cell = letterGrid[x][y];
+				row.append( cell != null && cell.getCharacter( ) != 0 ? cell.getCharacter( ) : '.' );
+			}
+			json.append( y == 0 ? "\n    " : ",\n    " ).append( BatchController.quote( row.toString( ) ) );
+		}
+		json.append( "\n  ]" );
+
+		json.append( ",\n  \"words\": [" );
+		int wordNumber = 1;
+		for ( Word word : grid.getWordsOnGrid( ) ) {
+			Vector2 start = word.getWordPlacement( ).getStartPosition( );
+
+			json.append( wordNumber == 1 ? "\n    " : ",\n    " );
+			json.append( "{ \"number\": " ).append( wordNumber );
+			json.append( ", \"word\": " ).append( BatchController.quote( word.getWordString( ) ) );
+			json.append( ", \"definition\": " ).append( BatchController.quote( word.getDefinitionString( ).trim( ) ) );
+			json.append( ", \"x\": " ).append( start.getX( ) ).append( ", \"y\": " ).append( start.getY( ) );
+			json.append( ", \"direction\": " ).append(
+					word.getWordPlacement( ).getOrientation( ) == Orientation.HORIZONTAL ? "\"across\"" : "\"down\"" );
+			json.append( " }" );
+			wordNumber++;
+		}
+		json.append( "\n  ]\n}\n" );
+
+		return json.toString( );
+	}
+
+	/**
+	 * PuzzleTask - Generates one puzzle on a generator thread and turns it into a {@link Reply}.
+	 */
+	private static class PuzzleTask implements Callable< Reply > {
+		/** The dictionary file to use, or null to use the uploaded word list. */
+		private final File dictionary;
+
+		/** The uploaded word list, only used if there is no dictionary file. */
+		private final byte[] upload;
+
+		/** The seed of the puzzle. */
+		private final long seed;
+
+		/** The {@link OutputFormat} of the page, or null for JSON. */
+		private final OutputFormat format;
+
+		/** True for the answer key instead of the blank page. */
+		private final boolean answers;
+
+		/** The {@link PageSetup} of the page. */
+		private final PageSetup page;
+
+		/** The {@link GridController} building the puzzle, kept so it can be cancelled, null for a portfolio. */
+		private final GridController gridController;
+
+		/** The {@link PortfolioGridController} building the puzzle, null for a single {@link GridController}. */
+		private final PortfolioGridController portfolio;
+
+		/** How long the portfolio looks for a more compact {@link Grid} in milliseconds, 0 to take the first. */
+		private final long timeBudget;
+
+		/**
+		 * Create a {@link PuzzleTask}.
+		 *
+		 * @param dictionary The dictionary file to use, or null to use the uploaded word list.
+		 * @param upload     The uploaded word list.
+		 * @param seed       The seed of the puzzle.
+		 * @param format     The {@link OutputFormat} of the page, or null for JSON.
+		 * @param answers    True for the answer key instead of the blank page.
+		 * @param page       The {@link PageSetup} of the page.
+		 * @param attempts   How many attempts race for the puzzle, 0 to build it with a single {@link GridController}.
+		 * @param timeBudget How long the portfolio keeps looking for a more compact {@link Grid} in milliseconds.
+		 */
+		PuzzleTask( File dictionary, byte[] upload, long seed, OutputFormat format, boolean answers, PageSetup page,
+		            int attempts, long timeBudget ) {
+			this.dictionary = dictionary;
+			this.upload = upload;
+			this.seed = seed;
+			this.format = format;
+			this.answers = answers;
+			this.page = page;
+			this.timeBudget = timeBudget;
+
+			PlacementScorer scorer = new AspectRatioScorer(
+					PuzzleImageController.getPrintableAspectRatio( page, PuzzleImageController.DEFAULT_BUFFER ) );
+			if ( attempts > 0 ) {
+				gridController = null;
+				portfolio = new PortfolioGridController( attempts, seed );
+				portfolio.setPlacementScorer( scorer );
+			}
+			else {
+				gridController = new GridController( seed );
+				gridController.setPlacementScorer( scorer );
+				portfolio = null;
+			}
+		}
+
+		/**
+		 * Stop the {@link GridController} or {@link PortfolioGridController} if it is still building the puzzle.
+		 */
+		void cancel() {
+			if ( portfolio != null )
+				portfolio.cancel( );
+			else
+				gridController.cancel( );
+		}
+
+		@Override
+		public Reply call() throws IncompleteWordException, IOException, PuzzleGenerationException {
+			long start = System.nanoTime( );
+
+			DictionaryFile dictionaryFile = dictionary != null
+					? DictionaryCache.getShared( ).load( dictionary ) : new DictionaryFile( upload );
+			dictionaryFile.reset( new Random( seed ) );
+
+			GridCache.Key key = portfolio != null ? GridCache.keyOf( dictionaryFile, portfolio, timeBudget, seed )
+					: GridCache.keyOf( dictionaryFile, gridController, seed );
+			Grid grid = GridCache.getShared( ).get( key );
+			boolean cached = grid != null;
+			if ( !cached && portfolio != null )
+				grid = GridCache.getShared( ).put( key, portfolio.createGrid( dictionaryFile, timeBudget ) );
+			else if ( !cached )
+				grid = GridCache.getShared( ).put( key, gridController.createGrid( dictionaryFile ) );
+
+			Reply reply;
+			if ( format == null ) {
+				int restarts = portfolio != null ? portfolio.getRestarts( ) : gridController.getRestarts( );
+				reply = Reply.json( 200, toJson( grid, seed, cached, restarts,
+						( System.nanoTime( ) - start ) / 1000000 ) );
+			}
+			else {
+				ByteArrayOutputStream out = new ByteArrayOutputStream( );
+				if ( format.isVector( ) )
+					new VectorPuzzleController( page ).writePuzzle( grid, PuzzleImageController.DEFAULT_BUFFER, answers,
+							format, out );
+				else
+					new PuzzleImageController( page ).writeTiledPng( grid, PuzzleImageController.DEFAULT_BUFFER,
+							answers, out, PngEncoder.DEFAULT_LEVEL );
+
+				reply = new Reply( 200, contentTypeOf( format ), out.toByteArray( ) );
+			}
+
+			return reply;
+		}
+
+		/**
+		 * Get the media type of a page format.
+		 *
+		 * @param format The {@link OutputFormat}.
+		 * @return The media type.
+		 */
+		private static String contentTypeOf( OutputFormat format ) {
+			String contentType;
+
+			if ( format == OutputFormat.SVG )
+				contentType = "image/svg+xml";
+			else if ( format == OutputFormat.PDF )
+				contentType = "application/pdf";
+			else
+				contentType = "image/png";
+
+			return contentType;
+		}
+	}
+
+	/**
+	 * Reply - The status, media type and body of a response.
+	 */
+	private static class Reply {
+		/** The HTTP status. */
+		private final int status;
+
+		/** The media type of the body. */
+		private final String contentType;
+
+		/** The body. */
+		private final byte[] body;
+
+		/**
+		 * Create a {@link Reply}.
+		 *
+		 * @param status      The HTTP status.
+		 * @param contentType The media type of the body.
+		 * @param body        The body.
+		 */
+		Reply( int status, String contentType, byte[] body ) {
+			this.status = status;
+			this.contentType = contentType;
+			this.body = body;
+		}
+
+		/**
+		 * Create a JSON {@link Reply}.
+		 *
+		 * @param status The HTTP status.
+		 * @param json   The JSON.
+		 * @return The {@link Reply}.
+		 */
+		static Reply json( int status, String json ) {
+			return new Reply( status, "application/json; charset=utf-8", json.getBytes( StandardCharsets.UTF_8 ) );
+		}
+
+		/**
+		 * Create a JSON {@link Reply} describing an error.
+		 *
+		 * @param status  The HTTP status.
+		 * @param message Why the request failed.
+		 * @return The {@link Reply}.
+		 */
+		static Reply error( int status, String message ) {
+			return json( status, "{ \"error\": " + BatchController.quote( message ) + " }\n" );
+		}
+	}
+
+	/**
+	 * RequestException - A request that can't be answered with a puzzle, and the HTTP status that says why.
+	 */
+	private static class RequestException extends Exception {
+		/** The version of the serialized form. {@value} */
+		private static final long serialVersionUID = 1L;
+
+		/** The HTTP status of the response. */
+		private final int status;
+
+		/**
+		 * Create a {@link RequestException}.
+		 *
+		 * @param status  The HTTP status of the response.
+		 * @param message Why the request can't be answered.
+		 */
+		RequestException( int status, String message ) {
+			super( message );
+			this.status = status;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package control;
+
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * SvgCanvas.java - A {@link PuzzleCanvas} that streams an SVG document.  The view box is the pixel size of the page and
+ * the document size is the paper size in inches, so the page prints at its real size.  Runs of shapes with the same
+ * style share a group that carries the style, so each shape only writes its position.  Only integers and fixed
+ * strings are written, so the same puzzle always gives the same bytes.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see VectorPuzzleController
+ */
+class SvgCanvas implements PuzzleCanvas {
+	/** The font families asked for, the serif face of the raster images first. */
+	private static final String FONT_FAMILY = "Times New Roman,Times,serif";
+
+	/** Where the document is written. */
+	private final Writer out;
+
+	/** The style attributes of the group that is open, null if none is. */
+	private String openStyle = null;
+
+	/**
+	 * Start an SVG document and paint the page white.
+	 *
+	 * @param stream      The {@link OutputStream} to write to.
+	 * @param width       The width of the page in pixels.
+	 * @param height      The height of the page in pixels.
+	 * @param paperWidth  The width of the page in inches.
+	 * @param paperHeight The height of the page in inches.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	SvgCanvas( OutputStream stream, int width, int height, double paperWidth, double paperHeight ) throws IOException {
+		out = new BufferedWriter( new OutputStreamWriter( stream, StandardCharsets.UTF_8 ) );
+
+		out.write( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" );
+		out.write( "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + paperWidth + "in\" height=\"" + paperHeight
+				+ "in\" viewBox=\"0 0 " + width + " " + height + "\">\n" );
+		out.write( "<rect width=\"" + width + "\" height=\"" + height + "\" fill=\"#ffffff\"/>\n" );
+		out.write( "<g font-family=\"" + FONT_FAMILY + "\">\n" );
+	}
+
+	@Override
+	public void fillRect( int x, int y, int width, int height, Color color ) throws IOException {
+		useStyle( "fill=\"" + hex( color ) + "\"" );
+		writeRect( x, y, width, height );
+	}
+
+	@Override
+	public void strokeRect( int x, int y, int width, int height, Color color ) throws IOException {
+		useStyle( "fill=\"none\" stroke=\"" + hex( color ) + "\" stroke-width=\"1\"" );
+		writeRect( x, y, width, height );
+	}
+
+	@Override
+	public void drawText( String text, int x, int y, int size, boolean bold, Color color ) throws IOException {
+		useStyle( "fill=\"" + hex( color ) + "\" font-size=\"" + size + "\"" + ( bold ? " font-weight=\"bold\"" : "" ) );
+
+		out.write( "<text x=\"" + x + "\" y=\"" + y + "\">" );
+		writeEscaped( text );
+		out.write( "</text>\n" );
+	}
+
+	@Override
+	public void finish() throws IOException {
+		if ( openStyle != null )
+			out.write( "</g>\n" );
+		out.write( "</g>\n" );
+		out.write( "</svg>\n" );
+		out.flush( );
+	}
+
+	/**
+	 * Make sure the next shape is written inside a group with the given style, closing the open group and starting a
+	 * new one if its style is different.
+	 *
+	 * @param style The style attributes of the shape.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void useStyle( String style ) throws IOException {
+		if ( !style.equals( openStyle ) ) {
+			if ( openStyle != null )
+				out.write( "</g>\n" );
+			out.write( "<g " + style + ">\n" );
+			openStyle = style;
+		}
+	}
+
+	/**
+	 * Write a rect that takes its style from the open group.
+	 *
+	 * @param x      The left edge.
+	 * @param y      The top edge.
+	 * @param width  The width.
+	 * @param height The height.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void writeRect( int x, int y, int width, int height ) throws IOException {
+		out.write( "<rect x=\"" + x + "\" y=\"" + y + "\" width=\"" + width + "\" height=\"" + height + "\"/>\n" );
+	}
+
+	/**
+	 * Write text with the characters XML reserves escaped.  Control characters, which XML 1.0 does not allow, are
+	 * written as spaces.
+	 *
+	 * @param text The text to write.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void writeEscaped( String text ) throws IOException {
+		for ( int i = 0; i < text.length( ); i++ ) {
+			char c = text.charAt( i );
+
+			if ( c == '&' )
+				out.write( "&amp;" );
+			else if ( c == '<' )
+				out.write( "&lt;" );
+			else if ( c == '>' )
+				out.write( "&gt;" );
+			else if ( c < 0x20 )
+				out.write( ' ' );
+			else
+				out.write( c );
+		}
+	}
+
+	/**
+	 * Format a {@link Color} as a #rrggbb hex colour.
+	 *
+	 * @param color The {@link Color}.
+	 * @return The hex colour.
+	 */
+	private static String hex( Color color ) {
+		return String.format( "#%06x", color.getRGB( ) & 0xFFFFFF );
+	}
+}
@@ -0,0 +1,202 @@
+package control;
+
+import model.*;
+
+import java.awt.Color;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * VectorPuzzleController.java - Writes a puzzle page as SVG or PDF instead of a raster.  The page has the same layout
+ * as the images of the {@link PuzzleImageController}, but the grid squares, numbers and definitions are streamed to
+ * the file as they are laid out, so no page sized image is ever allocated.  The output only depends on the {@link
+ * Grid}, so the same {@link Grid} always gives the same bytes.
+ *
+ * @author Andrew McGuiness
+ * @version 16/Feb/2017
+ * @see PuzzleImageController
+ * @see OutputFormat
+ */
+public class VectorPuzzleController {
+	/** The {@link PageSetup} of the page the puzzle is written on. */
+	private final PageSetup page;
+
+	/** Set based on the {@link Grid} and buffer passed in when writing a page, shared with the raster images. */
+	private PuzzleLayout layout;
+
+	/**
+	 * Create a {@link VectorPuzzleController} that writes {@link PageSetup#LETTER} pages.
+	 */
+	public VectorPuzzleController() {
+		this( PageSetup.LETTER );
+	}
+
+	/**
+	 * Create a {@link VectorPuzzleController}.
+	 *
+	 * @param page The {@link PageSetup} of the page the puzzle is written on, its resolution sets the units of the
+	 *             layout.
+	 */
+	public VectorPuzzleController( PageSetup page ) {
+		this.page = page;
+	}
+
+	/**
+	 * Write the blank puzzle or the answer key of a {@link Grid} to a {@link File}.
+	 *
+	 * @param grid    The {@link Grid} to write.
+	 * @param buffer  The number of pixels to pad the edge of the page by, as for {@link
+	 *                PuzzleImageController#createPuzzleImage(Grid, int)}.
+	 * @param answers True to write the answer key, false for the blank puzzle.
+	 * @param format  {@link OutputFormat#SVG} or {@link OutputFormat#PDF}.
+	 * @param file    The {@link File} to write.
+	 * @throws IOException Thrown if the {@link File} can't be written.
+	 */
+	public void writePuzzle( Grid grid, int buffer, boolean answers, OutputFormat format, File file ) throws IOException {
+		OutputStream out = new BufferedOutputStream( new FileOutputStream( file ) );
+
+		try {
+			writePuzzle( grid, buffer, answers, format, out );
+		} finally {
+			out.close( );
+		}
+	}
+
+	/**
+	 * Write the blank puzzle or the answer key of a {@link Grid} to an {@link OutputStream}.
+	 *
+	 * @param grid    The {@link Grid} to write.
+	 * @param buffer  The number of pixels to pad the edge of the page by.
+	 * @param answers True to write the answer key, false for the blank puzzle.
+	 * @param format  {@link OutputFormat#SVG} or {@link OutputFormat#PDF}.
+	 * @param out     The {@link OutputStream} to write to, it is flushed but not closed.
+	 * @throws IOException              Thrown if the {@link OutputStream} fails.
+	 * @throws IllegalArgumentException Thrown if the format is not a vector format.
+	 */
+	public void writePuzzle( Grid grid, int buffer, boolean answers, OutputFormat format, OutputStream out )
+			throws IOException {
+		PuzzleCanvas canvas;
+		layout = new PuzzleLayout( page, grid, buffer );
+
+		switch ( format ) {
+			case SVG:
+				canvas = new SvgCanvas( out, layout.getWidth( ), layout.getHeight( ),
+						page.getPaperWidth( ), page.getPaperHeight( ) );
+				break;
+			case PDF:
+				canvas = new PdfCanvas( out, layout.getWidth( ), layout.getHeight( ),
+						page.getPaperWidth( ), page.getPaperHeight( ) );
+				break;
+			default:
+				throw new IllegalArgumentException( format + " is not a vector format." );
+		}
+
+		GridCell[][] letterGrid = grid.getLetterGrid( );
+		if ( answers )
+			writeAnswers( canvas, letterGrid );
+		writeGrid( canvas, letterGrid );
+		writeWordNumbers( canvas, grid );
+		writeDefinitions( canvas );
+
+		canvas.finish( );
+	}
+
+	/**
+	 * Write the red answer letters.  They come before the grid so the grid lines cross over wide letters, as they do
+	 * on the answered image.
+	 *
+	 * @param canvas     The {@link PuzzleCanvas} to write to.
+	 * @param letterGrid The 2D array of {@link GridCell}s of the {@link Grid}.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void writeAnswers( PuzzleCanvas canvas, GridCell[][] letterGrid ) throws IOException {
+		int cellSize = layout.getCellSize( );
+
+		for ( int x = 0; x < letterGrid.length; x++ ) {
+			for ( int y = 0; y < letterGrid[x].length; y++ ) {
+				if ( hasLetter( letterGrid[x][y] ) )
+					canvas.drawText( String.valueOf( letterGrid[x][y].getCharacter( ) ),
+							layout.letterX( x ), layout.letterY( y ), cellSize, false, Color.red );
+			}
+		}
+	}
+
+	/**
+	 * Write a filled square for every empty cell and then a box for every letter.  Both are black, so their order
+	 * doesn't change the page, and the empty cells of a column are merged into one rect per run, which keeps the file
+	 * small for sparse grids.
+	 *
+	 * @param canvas     The {@link PuzzleCanvas} to write to.
+	 * @param letterGrid The 2D array of {@link GridCell}s of the {@link Grid}.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void writeGrid( PuzzleCanvas canvas, GridCell[][] letterGrid ) throws IOException {
+		int cellSize = layout.getCellSize( );
+
+		for ( int x = 0; x < letterGrid.length; x++ ) {
+			int runStart = 0;
+
+			for ( int y = 0; y <= letterGrid[x].length; y++ ) {
+				if ( y == letterGrid[x].length || hasLetter( letterGrid[x][y] ) ) {
+					if ( y > runStart )
+						canvas.fillRect( layout.cellX( x ), layout.cellY( runStart ),
+								cellSize, ( y - runStart ) * cellSize, Color.black );
+					runStart = y + 1;
+				}
+			}
+		}
+
+		for ( int x = 0; x < letterGrid.length; x++ ) {
+			for ( int y = 0; y < letterGrid[x].length; y++ ) {
+				if ( hasLetter( letterGrid[x][y] ) )
+					canvas.strokeRect( layout.cellX( x ), layout.cellY( y ), cellSize, cellSize, Color.black );
+			}
+		}
+	}
+
+	/**
+	 * Write the number of every {@link Word} in the corner of its first cell.
+	 *
+	 * @param canvas The {@link PuzzleCanvas} to write to.
+	 * @param grid   The {@link Grid} whose {@link Word}s are numbered.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void writeWordNumbers( PuzzleCanvas canvas, Grid grid ) throws IOException {
+		int fontSize = layout.getNumberSize( );
+		int wordNumber = 1;
+
+		for ( Word word : grid.getWordsOnGrid( ) ) {
+			Vector2 pos = word.getWordPlacement( ).getStartPosition( );
+
+			canvas.drawText( String.valueOf( wordNumber ), layout.numberX( pos.getX( ) ), layout.numberY( pos.getY( ) ),
+					fontSize, true, Color.BLACK );
+			wordNumber++;
+		}
+	}
+
+	/**
+	 * Write the "Down" and then the "Across" clues under the grid, as laid out by the {@link ClueLayout}.
+	 *
+	 * @param canvas The {@link PuzzleCanvas} to write to.
+	 * @throws IOException Thrown if the output fails.
+	 */
+	private void writeDefinitions( PuzzleCanvas canvas ) throws IOException {
+		ClueLayout clues = layout.getClues( );
+
+		for ( ClueLayout.Run run : clues.getRuns( ) )
+			canvas.drawText( run.getText( ), run.getX( ), run.getY( ), clues.getFontSize( ), false, Color.BLACK );
+	}
+
+	/**
+	 * Check if a cell of the letter grid holds a letter.
+	 *
+	 * @param cell The {@link GridCell}, may be null.
+	 * @return True if the cell holds a letter.
+	 */
+	private boolean hasLetter( GridCell cell ) {
+		return cell != null && cell.getCharacter( ) != 0;
+	}
+}
@@ -0,0 +1,175 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * CompiledDictionary.java - Compiles a text dictionary into a binary file that can be loaded without parsing, and
+ * loads such files back into {@link DictionaryFile}s.  The compiled file is memory-mapped when it is loaded, each
+ * {@link Word} is a small view of its entry that only decodes its word and definition the first time they are asked
+ * for, so loading takes time in proportion to the number of entries rather than the size of the text.
+ *
+ * The layout, all numbers big-endian:
+ * <pre>
+ *   header       magic "CWD1", format version, entry count, size of the string data
+ *   entry table  one entry per word: word offset, word bytes, word length in chars, definition offset,
+ *                definition bytes, letter mask
+ *   string data  the UTF-8 bytes of every word and definition, offsets are relative to its start
+ * </pre>
+ * Bit n of the letter mask is set if the word contains the n-th letter of the alphabet in either case, bit 26 if it
+ * contains anything else.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see DictionaryFile
+ */
+public class CompiledDictionary {
+	/** The extension given to compiled dictionary files. {@value} */
+	public static final String EXTENSION = ".cwd";
+
+	/** The first four bytes of every compiled dictionary, "CWD1". {@value} */
+	private static final int MAGIC = 0x43574431;
+
+	/** The version of the layout written by this class. {@value} */
+	private static final int VERSION = 1;
+
+	/** The size of the header in bytes. {@value} */
+	private static final int HEADER_SIZE = 16;
+
+	/** The size of one entry of the entry table in bytes. {@value} */
+	static final int ENTRY_SIZE = 24;
+
+	/**
+	 * Parse a text dictionary and write it out in the compiled format.  The entries keep the order of the text file.
+	 *
+	 * @param source The text dictionary to compile.
+	 * @param target The compiled file to create or overwrite.
+	 * @throws IOException             Thrown if the source can't be read or the target can't be written.
+	 * @throws IncompleteWordException Thrown if the source has a word without a definition.
+	 */
+	public static void compile( File source, File target ) throws IOException, IncompleteWordException {
+		ArrayList< Word > words = DictionaryParser.parse( source );
+
+		ArrayList< byte[] > strings = new ArrayList< byte[] >( words.size( ) * 2 );
+		long dataSize = 0;
+		for ( Word w : words ) {
+			byte[] word = w.getWordString( ).getBytes( StandardCharsets.UTF_8 );
+			byte[] definition = w.getDefinitionString( ).getBytes( StandardCharsets.UTF_8 );
+
+			strings.add( word );
+			strings.add( definition );
+			dataSize += word.length + definition.length;
+		}
+
+		if ( HEADER_SIZE + ( long ) words.size( ) * ENTRY_SIZE + dataSize > Integer.MAX_VALUE )
+			throw new IOException( "The dictionary is too large to be compiled: " + source );
+
+		DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( target ) ) );
+		try {
+			out.writeInt( MAGIC );
+			out.writeInt( VERSION );
+			out.writeInt( words.size( ) );
+			out.writeInt( ( int ) dataSize );
+
+			int offset = 0;
+			for ( int i = 0; i < words.size( ); i++ ) {
+				byte[] word = strings.get( i * 2 );
+				byte[] definition = strings.get( i * 2 + 1 );
+
+				out.writeInt( offset );
+				out.writeInt( word.length );
+				out.writeInt( words.get( i ).getWordString( ).length( ) );
+				out.writeInt( offset + word.length );
+				out.writeInt( definition.length );
+				out.writeInt( letterMask( words.get( i ).getWordString( ) ) );
+
+				offset += word.length + definition.length;
+			}
+
+			for ( byte[] string : strings )
+				out.write( string );
+		} finally {
+			out.close( );
+		}
+	}
+
+	/**
+	 * Map a compiled dictionary and create a {@link DictionaryFile} of lazy {@link Word} views over it.  The mapping
+	 * stays valid after the file is closed, the compiled file should not be modified while the {@link DictionaryFile}
+	 * is in use.
+	 *
+	 * @param file The compiled dictionary.
+	 * @return A {@link DictionaryFile} with every entry of the compiled dictionary, shuffled.
+	 * @throws IOException Thrown if the file can't be read or is not a valid compiled dictionary.
+	 */
+	public static DictionaryFile load( File file ) throws IOException {
+		ByteBuffer buffer;
+
+		try ( FileChannel channel = FileChannel.open( file.toPath( ), StandardOpenOption.READ ) ) {
+			if ( channel.size( ) > Integer.MAX_VALUE )
+				throw new IOException( "The compiled dictionary is too large to be loaded: " + file );
+
+			buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size( ) );
+		}
+
+		if ( buffer.limit( ) < HEADER_SIZE || buffer.getInt( 0 ) != MAGIC )
+			throw new IOException( "Not a compiled dictionary: " + file );
+		if ( buffer.getInt( 4 ) != VERSION )
+			throw new IOException( "Unsupported compiled dictionary version " + buffer.getInt( 4 ) + ": " + file );
+
+		int count = buffer.getInt( 8 );
+		int dataSize = buffer.getInt( 12 );
+		if ( count < 0 || dataSize < 0 || HEADER_SIZE + ( long ) count * ENTRY_SIZE + dataSize != buffer.limit( ) )
+			throw new IOException( "The compiled dictionary is truncated or corrupt: " + file );
+
+		ByteBuffer entries = slice( buffer, HEADER_SIZE, count * ENTRY_SIZE );
+		ByteBuffer data = slice( buffer, HEADER_SIZE + count * ENTRY_SIZE, dataSize );
+
+		ArrayList< Word > words = new ArrayList< Word >( count );
+		for ( int i = 0; i < count; i++ )
+			words.add( new MappedWord( entries, data, i ) );
+
+		return new DictionaryFile( new WordList( words ) );
+	}
+
+	/**
+	 * Compute the letter mask of a word.
+	 *
+	 * @param word The word.
+	 * @return The mask with a bit set for each letter the word contains.
+	 */
+	static int letterMask( String word ) {
+		int mask = 0;
+
+		for ( int i = 0; i < word.length( ); i++ ) {
+			char c = Character.toLowerCase( word.charAt( i ) );
+			mask |= c >= 'a' && c <= 'z' ? 1 << ( c - 'a' ) : 1 << 26;
+		}
+
+		return mask;
+	}
+
+	/**
+	 * Cut a region out of a buffer as a new buffer starting at index 0.
+	 *
+	 * @param buffer The buffer to cut from.
+	 * @param offset The first byte of the region.
+	 * @param length The length of the region.
+	 * @return The region as its own buffer.
+	 */
+	private static ByteBuffer slice( ByteBuffer buffer, int offset, int length ) {
+		ByteBuffer region = buffer.duplicate( );
+		region.position( offset );
+		region.limit( offset + length );
+
+		return region.slice( );
+	}
+}
@@ -0,0 +1,125 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * CrossingIndex.java - A per-letter index of the cells on a {@link LetterBoard} that a new {@link Word} could cross.
+ * Each letter maps to a bucket of cell ids, cells are added and removed in constant time as {@link Word}s are
+ * written and erased, so the {@link control.GridController} can look up crossing points in O(matches) instead of
+ * rescanning every {@link Word} on the board.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see LetterBoard
+ */
+class CrossingIndex {
+	/** The number of letter buckets.  Letters outside of ASCII share a bucket with an ASCII letter. {@value} */
+	private static final int BUCKETS = 128;
+
+	/** The cell ids stored in each letter bucket. */
+	private final int[][] buckets = new int[ BUCKETS ][ 8 ];
+
+	/** How many cell ids are currently stored in each letter bucket. */
+	private final int[] sizes = new int[ BUCKETS ];
+
+	/** The position of each cell inside its bucket plus one, or 0 if the cell is not indexed. */
+	private int[] positions;
+
+	/**
+	 * Create an empty {@link CrossingIndex} for a board with the given number of cells.
+	 *
+	 * @param cellCount The number of cells on the {@link LetterBoard}.
+	 */
+	CrossingIndex( int cellCount ) {
+		positions = new int[ cellCount ];
+	}
+
+	/**
+	 * Make room for cell ids up to the given number of cells, used when the {@link LetterBoard} grows.
+	 *
+	 * @param cellCount The new number of cells on the {@link LetterBoard}.
+	 */
+	void ensureCapacity( int cellCount ) {
+		if ( cellCount > positions.length )
+			positions = Arrays.copyOf( positions, cellCount );
+	}
+
+	/**
+	 * Add a cell to the bucket of its letter.  Does nothing if the cell is already indexed.
+	 *
+	 * @param cell   The cell id.
+	 * @param letter The char written in the cell.
+	 */
+	void add( int cell, char letter ) {
+		if ( positions[cell] == 0 ) {
+			int bucket = bucketOf( letter );
+			if ( sizes[bucket] >= buckets[bucket].length )
+				buckets[bucket] = Arrays.copyOf( buckets[bucket], buckets[bucket].length * 2 );
+
+			buckets[bucket][sizes[bucket]] = cell;
+			positions[cell] = ++sizes[bucket];
+		}
+	}
+
+	/**
+	 * Remove a cell from the bucket of its letter by swapping the last entry into its place.  Does nothing if the cell
+	 * is not indexed.
+	 *
+	 * @param cell   The cell id.
+	 * @param letter The char written in the cell.
+	 */
+	void remove( int cell, char letter ) {
+		int position = positions[cell] - 1;
+
+		if ( position >= 0 ) {
+			int bucket = bucketOf( letter );
+			int last = buckets[bucket][--sizes[bucket]];
+
+			buckets[bucket][position] = last;
+			positions[last] = position + 1;
+			positions[cell] = 0;
+		}
+	}
+
+	/**
+	 * Get the number of cells stored in the bucket of a letter.
+	 *
+	 * @param letter The char to look up.
+	 * @return The number of indexed cells that may hold that letter.
+	 */
+	int size( char letter ) {
+		return sizes[bucketOf( letter )];
+	}
+
+	/**
+	 * Get a cell stored in the bucket of a letter.
+	 *
+	 * @param letter The char to look up.
+	 * @param i      The position inside the bucket, from 0 to {@link #size(char)}.
+	 * @return The cell id.
+	 */
+	int get( char letter, int i ) {
+		return buckets[bucketOf( letter )][i];
+	}
+
+	/**
+	 * Empty every bucket.  Only the cells that are actually indexed are touched.
+	 */
+	void clear() {
+		for ( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+			for ( int i = 0; i < sizes[bucket]; i++ )
+				positions[buckets[bucket][i]] = 0;
+			sizes[bucket] = 0;
+		}
+	}
+
+	/**
+	 * Map a letter to its bucket.
+	 *
+	 * @param letter The char to map.
+	 * @return The index of the bucket.
+	 */
+	private int bucketOf( char letter ) {
+		return letter % BUCKETS;
+	}
+}
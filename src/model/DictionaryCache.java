@@ -0,0 +1,238 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DictionaryCache.java - Keeps recently loaded dictionaries in memory so loading the same file again skips parsing.
+ * Entries are keyed by the canonical path, modification time, size and SHA-256 digest of the file, so an edited file
+ * is always parsed again.  The cache is bounded by the total size of the cached files and evicts the least recently
+ * used dictionary first.
+ *
+ * The cached {@link DictionaryFile}s are never handed out, every load returns a fresh copy with its own {@link Word}s,
+ * already reset and shuffled, so callers can place and mutate it freely.  A {@link DictionaryCache} can be shared
+ * between threads.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see DictionaryFile
+ * @see CompiledDictionary
+ */
+public class DictionaryCache {
+	/** The default limit on the total size of the cached dictionary files, in bytes. {@value} */
+	private static final long DEFAULT_MAX_BYTES = 128L << 20;
+
+	/** The {@link DictionaryCache} shared by the whole application. */
+	private static final DictionaryCache SHARED = new DictionaryCache( DEFAULT_MAX_BYTES );
+
+	/** The limit on the total size of the cached dictionary files, in bytes. */
+	private final long maxBytes;
+
+	/** The cached dictionaries, least recently used first. */
+	private final LinkedHashMap< Key, DictionaryFile > entries =
+			new LinkedHashMap< Key, DictionaryFile >( 16, .75f, true );
+
+	/** The total size of the cached dictionary files, in bytes. */
+	private long cachedBytes = 0;
+
+	/**
+	 * Create an empty {@link DictionaryCache}.
+	 *
+	 * @param maxBytes The limit on the total size of the cached dictionary files, in bytes.
+	 */
+	public DictionaryCache( long maxBytes ) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Get the {@link DictionaryCache} shared by the whole application.
+	 *
+	 * @return The shared {@link DictionaryCache}.
+	 */
+	public static DictionaryCache getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * Load a text or compiled dictionary, parsing it only if it is not already cached.
+	 *
+	 * @param file The dictionary {@link File}, compiled if its name ends in {@value CompiledDictionary#EXTENSION}.
+	 * @return A fresh, shuffled copy of the dictionary.
+	 * @throws IncompleteWordException Thrown if a text dictionary has a word without a definition.
+	 * @throws IOException             Thrown if the {@link File} can't be read or is not a valid dictionary.
+	 */
+	public DictionaryFile load( File file ) throws IncompleteWordException, IOException {
+		Key key = new Key( file );
+		DictionaryFile cached;
+
+		synchronized ( this ) {
+			cached = entries.get( key );
+		}
+
+		if ( cached == null ) {
+			cached = parse( file, key );
+			store( key, cached );
+		}
+
+		DictionaryFile copy = new DictionaryFile( cached );
+		copy.reset( );
+
+		return copy;
+	}
+
+	/**
+	 * Get the number of cached dictionaries.
+	 *
+	 * @return How many dictionaries are cached.
+	 */
+	public synchronized int size() {
+		return entries.size( );
+	}
+
+	/**
+	 * Forget every cached dictionary.
+	 */
+	public synchronized void clear() {
+		entries.clear( );
+		cachedBytes = 0;
+	}
+
+	/**
+	 * Parse a dictionary {@link File} according to its extension.  The digest of the {@link File} becomes the digest of
+	 * the {@link DictionaryFile}, every copy shares it and nothing has to be decoded to compute it.
+	 *
+	 * @param file The dictionary {@link File}.
+	 * @param key  The {@link Key} of the {@link File}, holding its digest.
+	 * @return The parsed {@link DictionaryFile}.
+	 * @throws IncompleteWordException Thrown if a text dictionary has a word without a definition.
+	 * @throws IOException             Thrown if the {@link File} can't be read or is not a valid dictionary.
+	 */
+	private DictionaryFile parse( File file, Key key ) throws IncompleteWordException, IOException {
+		DictionaryFile dictionaryFile;
+
+		if ( file.getName( ).endsWith( CompiledDictionary.EXTENSION ) )
+			dictionaryFile = CompiledDictionary.load( file );
+		else
+			dictionaryFile = new DictionaryFile( file );
+
+		dictionaryFile.useDigest( key.digest );
+		return dictionaryFile;
+	}
+
+	/**
+	 * Add a parsed dictionary, replacing older versions of the same file and evicting the least recently used
+	 * dictionaries until the cache fits its limit.  A file larger than the whole limit is not cached.
+	 *
+	 * @param key            The {@link Key} of the file.
+	 * @param dictionaryFile The parsed dictionary.
+	 */
+	private synchronized void store( Key key, DictionaryFile dictionaryFile ) {
+		if ( key.size <= maxBytes && !entries.containsKey( key ) ) {
+			Iterator< Map.Entry< Key, DictionaryFile > > older = entries.entrySet( ).iterator( );
+			while ( older.hasNext( ) ) {
+				Key other = older.next( ).getKey( );
+				if ( other.path.equals( key.path ) ) {
+					cachedBytes -= other.size;
+					older.remove( );
+				}
+			}
+
+			Iterator< Key > leastRecent = entries.keySet( ).iterator( );
+			while ( cachedBytes + key.size > maxBytes && leastRecent.hasNext( ) ) {
+				cachedBytes -= leastRecent.next( ).size;
+				leastRecent.remove( );
+			}
+
+			entries.put( key, dictionaryFile );
+			cachedBytes += key.size;
+		}
+	}
+
+	/**
+	 * Key - Identifies one version of a dictionary {@link File}.
+	 */
+	private static class Key {
+		/** The canonical path of the {@link File}. */
+		private final String path;
+
+		/** The modification time of the {@link File}. */
+		private final long modified;
+
+		/** The size of the {@link File} in bytes. */
+		private final long size;
+
+		/** The hex encoded SHA-256 digest of the contents of the {@link File}. */
+		private final String digest;
+
+		/**
+		 * Read the identity of a {@link File}.
+		 *
+		 * @param file The dictionary {@link File}.
+		 * @throws IOException Thrown if the {@link File} can't be read.
+		 */
+		Key( File file ) throws IOException {
+			File canonical = file.getCanonicalFile( );
+
+			path = canonical.getPath( );
+			modified = canonical.lastModified( );
+			size = canonical.length( );
+			digest = digestOf( canonical );
+		}
+
+		/**
+		 * Compute the SHA-256 digest of a {@link File} by mapping it into memory.
+		 *
+		 * @param file The {@link File} to digest.
+		 * @return The digest as lower case hex.
+		 * @throws IOException Thrown if the {@link File} can't be read.
+		 */
+		private static String digestOf( File file ) throws IOException {
+			MessageDigest sha;
+			try {
+				sha = MessageDigest.getInstance( "SHA-256" );
+			} catch ( NoSuchAlgorithmException nsae ) {
+				throw new IllegalStateException( "Every Java platform provides SHA-256.", nsae );
+			}
+
+			try ( FileChannel channel = FileChannel.open( file.toPath( ), StandardOpenOption.READ ) ) {
+				long position = 0;
+				while ( position < channel.size( ) ) {
+					long length = Math.min( Integer.MAX_VALUE, channel.size( ) - position );
+					sha.update( channel.map( FileChannel.MapMode.READ_ONLY, position, length ) );
+					position += length;
+				}
+			}
+
+			StringBuilder hex = new StringBuilder( );
+			for ( byte b : sha.digest( ) )
+				hex.append( String.format( "%02x", b ) );
+
+			return hex.toString( );
+		}
+
+		@Override
+		public boolean equals( Object o ) {
+			boolean equal = false;
+
+			if ( o instanceof Key ) {
+				Key other = ( Key ) o;
+				equal = path.equals( other.path ) && modified == other.modified && size == other.size &&
+						digest.equals( other.digest );
+			}
+
+			return equal;
+		}
+
+		@Override
+		public int hashCode() {
+			return path.hashCode( ) * 31 + digest.hashCode( );
+		}
+	}
+}
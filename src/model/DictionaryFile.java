@@ -1,8 +1,8 @@
 package model;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.io.IOException;
+import java.util.Random;
 
 /**
  * DictionaryFile.java - Model representation of a {@link DictionaryFile} loaded by the {@link
@@ -16,55 +16,72 @@ public class DictionaryFile {
 	/** The collection of {@link Word}s that has helpful manipulation commands. */
 	private WordList wordList;
 
+	/** The digest of the {@link WordList}, computed on first use. */
+	private volatile String digest;
+
+	/** How many {@link Word}s the {@link WordList} held when the digest was computed. */
+	private volatile int digestWords;
+
 	/**
 	 * Create a new {@link DictionaryFile} from a pre-formatted text {@link File}.  A reference to the {@link File} is
 	 * not maintained.e
 	 *
 	 * @param file The {@link File} that will be scanned for {@link Word}s.
 	 * @throws IncompleteWordException Thrown if the passed {@link File} contains a word but no definition on a line.
-	 * @throws FileNotFoundException   Thrown if the passed {@link File} is cannot be found.
+	 * @throws IOException             Thrown if the passed {@link File} is cannot be found or read.
 	 */
-	public DictionaryFile( File file ) throws IncompleteWordException, FileNotFoundException {
+	public DictionaryFile( File file ) throws IncompleteWordException, IOException {
 		parseFile( file );
 		reset( );
 	}
 
 	/**
-	 * Load up a new {@link Scanner} from the passed in {@link File}.  This {@link Scanner} is then passed to generate
-	 * the {@link WordList}.  The handle to the {@link File} is released after this method.
+	 * Create a new {@link DictionaryFile} from the contents of a pre-formatted text file that is already in memory, like
+	 * a word list sent to the {@link control.PuzzleServer}.
 	 *
-	 * @param file The {@link File} to be parsed.
-	 * @throws IncompleteWordException Thrown if the passed {@link File} contains a word but no definition on a line.
-	 * @throws FileNotFoundException   Thrown if the passed {@link File} is cannot be found.
-	 * @see #generateWordList(Scanner) Does the actual parsing
+	 * @param contents The bytes of the "word definition" lines.
+	 * @throws IncompleteWordException Thrown if the contents hold a word but no definition on a line.
+	 * @throws IOException             Thrown if parsing is interrupted.
 	 */
-	private void parseFile( File file ) throws IncompleteWordException, FileNotFoundException {
-		Scanner fileScanner = new Scanner( file );
-		generateWordList( fileScanner );
-		fileScanner.close( );
+	public DictionaryFile( byte[] contents ) throws IncompleteWordException, IOException {
+		wordList = new WordList( DictionaryParser.parse( contents ) );
+		reset( );
 	}
 
 	/**
-	 * This does the actual work of scanning the {@link File} with a {@link Scanner}.  Each {@link String} "word
-	 * definition" token pair is stored in a {@link Word} and then added to the {@link WordList}.
+	 * Create an independent copy of another {@link DictionaryFile}.  Every {@link Word} is copied, so the copy can be
+	 * placed on its own {@link Grid} without touching the {@link WordPlacement}s of the original.
 	 *
-	 * @param scanner A {@link Scanner} that has been initialized with a {@link File} that contains "word definition"
-	 *                pairs.
-	 * @throws IncompleteWordException If there is a word with no definition, then this exception will be thrown.
+	 * @param dictionaryFile The {@link DictionaryFile} to copy.
 	 */
-	private void generateWordList( Scanner scanner ) throws IncompleteWordException {
-		wordList = new WordList( );
-
-		while ( scanner.hasNext( ) ) {
-			String word = scanner.next( );
-			String definition = scanner.nextLine( );
+	public DictionaryFile( DictionaryFile dictionaryFile ) {
+		wordList = new WordList( dictionaryFile.wordList );
+		digest = dictionaryFile.digest;
+		digestWords = dictionaryFile.digestWords;
+	}
 
-			if ( word.isEmpty( ) || definition.isEmpty( ) )
-				throw new IncompleteWordException( );
-			else
-				wordList.addWord( new Word( word, definition ) );
-		}
+	/**
+	 * Create a {@link DictionaryFile} around an already loaded {@link WordList}, used by {@link CompiledDictionary}.
+	 * The {@link WordList} is shuffled like a freshly parsed one.
+	 *
+	 * @param wordList The {@link WordList} holding the {@link Word}s of the dictionary.
+	 */
+	DictionaryFile( WordList wordList ) {
+		this.wordList = wordList;
+		reset( );
+	}
 
+	/**
+	 * Parse the {@link File} into a new {@link WordList}.  Each "word definition" line is stored in a {@link Word}.  The
+	 * handle to the {@link File} is released after this method.
+	 *
+	 * @param file The {@link File} to be parsed.
+	 * @throws IncompleteWordException Thrown if the passed {@link File} contains a word but no definition on a line.
+	 * @throws IOException             Thrown if the passed {@link File} is cannot be found or read.
+	 * @see DictionaryParser Does the actual parsing
+	 */
+	private void parseFile( File file ) throws IncompleteWordException, IOException {
+		wordList = new WordList( DictionaryParser.parse( file ) );
 		wordList.shuffle( );
 	}
 
@@ -77,6 +94,36 @@ public class DictionaryFile {
 		return wordList;
 	}
 
+	/**
+	 * Get the digest of the contents of the dictionary, see {@link WordList#digest()}.  It is computed on first use and
+	 * shared with the copies made afterwards, and again if {@link Word}s were added since.  A dictionary loaded through
+	 * the {@link DictionaryCache} uses the digest of its file instead, so no {@link Word} has to be decoded for it.
+	 *
+	 * @return The digest as lower case hex.
+	 */
+	public String getDigest() {
+		String current = digest;
+
+		if ( current == null || digestWords != wordList.listSize( ) ) {
+			digestWords = wordList.listSize( );
+			current = wordList.digest( );
+			digest = current;
+		}
+
+		return current;
+	}
+
+	/**
+	 * Use a digest that is already known to identify the contents of the dictionary, like the digest of the file it
+	 * was parsed from, in place of computing one from the {@link WordList}.
+	 *
+	 * @param fileDigest The digest as lower case hex.
+	 */
+	void useDigest( String fileDigest ) {
+		digestWords = wordList.listSize( );
+		digest = fileDigest;
+	}
+
 	/**
 	 * Convert the {@link WordList} into a {@link String}.  Used mostly for debugging.
 	 *
@@ -99,4 +146,15 @@ public class DictionaryFile {
 		wordList.reset( );
 		wordList.shuffle( );
 	}
+
+	/**
+	 * Call reset on the {@link WordList} and then shuffle it using the given {@link Random}.  Used when the order needs
+	 * to be reproducible from a seed.
+	 *
+	 * @param random The {@link Random} used to shuffle the {@link WordList}.
+	 */
+	public void reset( Random random ) {
+		wordList.reset( );
+		wordList.shuffle( random );
+	}
 }
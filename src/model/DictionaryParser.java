@@ -0,0 +1,257 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * DictionaryParser.java - Reads the "word definition" lines of a dictionary {@link File} into {@link Word}s.  The
+ * {@link File} is memory-mapped and split into lines in a single pass over the bytes, without a {@link
+ * java.util.Scanner} or any regular expressions.  Large {@link File}s are cut into chunks on line boundaries that are
+ * parsed in parallel on the common {@link ForkJoinPool}.
+ *
+ * A line is read the same way the old {@link java.util.Scanner} based parser read it: blank lines are skipped, the
+ * word is the first run of non-whitespace characters and the definition is everything after it up to the end of the
+ * line, including the whitespace in between.  The bytes are decoded with the platform charset, which must store '\n'
+ * as a single byte, as every ASCII based charset does.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see DictionaryFile
+ */
+class DictionaryParser {
+	/** The smallest number of bytes worth handing to another thread. {@value} */
+	private static final int MIN_CHUNK_SIZE = 1 << 20;
+
+	/** The charset the dictionary {@link File}s are decoded with. */
+	private static final Charset CHARSET = Charset.defaultCharset( );
+
+	/**
+	 * Parse every line of a dictionary {@link File}.
+	 *
+	 * @param file The {@link File} to parse.
+	 * @return The {@link Word}s in the order they appear in the {@link File}.
+	 * @throws IOException             Thrown if the {@link File} can't be found or read.
+	 * @throws IncompleteWordException Thrown for the first line that has a word but no definition.
+	 */
+	static ArrayList< Word > parse( File file ) throws IOException, IncompleteWordException {
+		ArrayList< Word > words;
+
+		try ( FileChannel channel = FileChannel.open( file.toPath( ), StandardOpenOption.READ ) ) {
+			if ( channel.size( ) > Integer.MAX_VALUE )
+				throw new IOException( "The dictionary is too large to be loaded: " + file );
+
+			words = parse( channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size( ) ) );
+		}
+
+		return words;
+	}
+
+	/**
+	 * Parse every line of the contents of a dictionary that is already in memory, like an uploaded word list.
+	 *
+	 * @param contents The bytes of the dictionary.
+	 * @return The {@link Word}s in the order they appear in the contents.
+	 * @throws IOException             Thrown if the parsing thread is interrupted while waiting for the chunks.
+	 * @throws IncompleteWordException Thrown for the first line that has a word but no definition.
+	 */
+	static ArrayList< Word > parse( byte[] contents ) throws IOException, IncompleteWordException {
+		return parse( ByteBuffer.wrap( contents ) );
+	}
+
+	/**
+	 * Parse the lines of a buffer holding the contents of a dictionary, in parallel if it is large enough.
+	 *
+	 * @param buffer The contents of the dictionary, from position 0 to the limit.
+	 * @return The {@link Word}s in the order they appear in the buffer.
+	 * @throws IOException             Thrown if the parsing thread is interrupted while waiting for the chunks.
+	 * @throws IncompleteWordException Thrown for the first line that has a word but no definition.
+	 */
+	private static ArrayList< Word > parse( ByteBuffer buffer ) throws IOException, IncompleteWordException {
+		int[] bounds = findChunkBounds( buffer );
+		ArrayList< Chunk > chunks = new ArrayList< Chunk >( );
+
+		for ( int i = 0; i < bounds.length - 1; i++ )
+			chunks.add( new Chunk( buffer.duplicate( ), bounds[i], bounds[i + 1] ) );
+
+		if ( chunks.size( ) == 1 )
+			chunks.get( 0 ).parse( );
+		else
+			parseInParallel( chunks );
+
+		int wordCount = 0;
+		for ( Chunk chunk : chunks )
+			wordCount += chunk.words.size( );
+
+		ArrayList< Word > words = new ArrayList< Word >( wordCount );
+		int linesBefore = 0;
+		for ( Chunk chunk : chunks ) {
+			if ( chunk.incompleteLine > 0 )
+				throw new IncompleteWordException( linesBefore + chunk.incompleteLine );
+
+			words.addAll( chunk.words );
+			linesBefore += chunk.lines;
+		}
+
+		return words;
+	}
+
+	/**
+	 * Parse every {@link Chunk} on the common {@link ForkJoinPool} and wait for all of them.
+	 *
+	 * @param chunks The {@link Chunk}s to parse.
+	 * @throws IOException Thrown if the calling thread is interrupted while waiting.
+	 */
+	private static void parseInParallel( ArrayList< Chunk > chunks ) throws IOException {
+		ArrayList< Future< ? > > results = new ArrayList< Future< ? > >( );
+		for ( Chunk chunk : chunks )
+			results.add( ForkJoinPool.commonPool( ).submit( chunk::parse ) );
+
+		try {
+			for ( Future< ? > result : results )
+				result.get( );
+		} catch ( InterruptedException ie ) {
+			Thread.currentThread( ).interrupt( );
+			throw new InterruptedIOException( "Interrupted while parsing the dictionary." );
+		} catch ( ExecutionException ee ) {
+			throw new IllegalStateException( "Failed to parse the dictionary.", ee.getCause( ) );
+		}
+	}
+
+	/**
+	 * Cut a buffer into one chunk per core, each at least {@value #MIN_CHUNK_SIZE} bytes.  Every chunk but the first
+	 * starts right after a '\n', so no line is split between two chunks.
+	 *
+	 * @param buffer The contents of the dictionary.
+	 * @return The start of each chunk followed by the end of the last one.
+	 */
+	private static int[] findChunkBounds( ByteBuffer buffer ) {
+		int size = buffer.limit( );
+		int chunks = Math.max( 1, Math.min( Runtime.getRuntime( ).availableProcessors( ), size / MIN_CHUNK_SIZE ) );
+
+		int[] bounds = new int[ chunks + 1 ];
+		bounds[chunks] = size;
+
+		for ( int i = 1; i < chunks; i++ ) {
+			int bound = Math.max( bounds[i - 1], ( int ) ( ( long ) size * i / chunks ) );
+			while ( bound < size && buffer.get( bound - 1 ) != '\n' )
+				bound++;
+
+			bounds[i] = bound;
+		}
+
+		return bounds;
+	}
+
+	/**
+	 * Check if a byte is one of the ASCII characters {@link Character#isWhitespace(char)} accepts.
+	 *
+	 * @param b The byte to check.
+	 * @return True if the byte separates a word from its definition.
+	 */
+	private static boolean isWhitespace( byte b ) {
+		return b == ' ' || ( b >= '\t' && b <= '\r' ) || ( b >= 0x1C && b <= 0x1F );
+	}
+
+	/**
+	 * Chunk - A run of whole lines of the dictionary, parsed independently of the other chunks.  Line numbers are
+	 * counted from the start of the chunk and made absolute once every chunk is done.
+	 */
+	private static class Chunk {
+		/** A view of the dictionary owned by this chunk. */
+		private final ByteBuffer buffer;
+
+		/** The first byte of the chunk. */
+		private final int start;
+
+		/** One past the last byte of the chunk. */
+		private final int end;
+
+		/** The {@link Word}s found in the chunk, in order. */
+		private final ArrayList< Word > words = new ArrayList< Word >( );
+
+		/** How many lines the chunk holds. */
+		private int lines = 0;
+
+		/** The line, counted from the start of the chunk, of the first incomplete {@link Word}, or 0 if there is none. */
+		private int incompleteLine = 0;
+
+		/**
+		 * Create a chunk covering the bytes from start up to end.
+		 *
+		 * @param buffer A view of the dictionary that no other chunk uses.
+		 * @param start  The first byte of the chunk.
+		 * @param end    One past the last byte of the chunk.
+		 */
+		Chunk( ByteBuffer buffer, int start, int end ) {
+			this.buffer = buffer;
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * Split the chunk into lines and parse each one, stopping at the first incomplete {@link Word}.  Each line is
+		 * copied into a reusable array before it is decoded.
+		 */
+		void parse() {
+			byte[] line = new byte[ 256 ];
+			int position = start;
+
+			while ( incompleteLine == 0 && position < end ) {
+				int lineEnd = position;
+				while ( lineEnd < end && buffer.get( lineEnd ) != '\n' )
+					lineEnd++;
+
+				int length = lineEnd - position;
+				if ( length > line.length )
+					line = new byte[ Math.max( length, line.length * 2 ) ];
+
+				buffer.position( position );
+				buffer.get( line, 0, length );
+
+				lines++;
+				parseLine( line, length );
+				position = lineEnd + 1;
+			}
+		}
+
+		/**
+		 * Split one line into a word and its definition.
+		 *
+		 * @param line   The bytes of the line, without the '\n'.
+		 * @param length The number of bytes of the line.
+		 */
+		private void parseLine( byte[] line, int length ) {
+			if ( length > 0 && line[length - 1] == '\r' )
+				length--;
+
+			int wordStart = 0;
+			while ( wordStart < length && isWhitespace( line[wordStart] ) )
+				wordStart++;
+
+			//Blank lines are skipped
+			if ( wordStart < length ) {
+				int wordEnd = wordStart;
+				while ( wordEnd < length && !isWhitespace( line[wordEnd] ) )
+					wordEnd++;
+
+				if ( wordEnd == length ) {
+					incompleteLine = lines;
+				}
+				else {
+					String word = new String( line, wordStart, wordEnd - wordStart, CHARSET );
+					String definition = new String( line, wordEnd, length - wordEnd, CHARSET );
+					words.add( new Word( word, definition ) );
+				}
+			}
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 
 /**
  * Grid.java - Represents a {@link Grid} of {@link GridCell}s, each one containing a letter.  The {@link Grid} maintains
@@ -20,9 +21,15 @@ public class Grid {
 	/** The int representing the number of rows in the {@link Grid}. */
 	private int height;
 
-	/** The two dimensional array of {@link GridCell}s. */
+	/** The two dimensional array of {@link GridCell}s.  Built on first use when the {@link Grid} is a board view. */
 	private GridCell[][] letterGrid;
 
+	/** The {@link LetterBoard} this {@link Grid} is a view of, or null if it was built from a {@link GridCell} array. */
+	private LetterBoard board;
+
+	/** The board position of the first occupied column and row, which sit at (1, 1) in this {@link Grid}. */
+	private int minX, minY;
+
 	/**
 	 * All of the {@link Word}s that are on this {@link Grid}.  These are maintained to prevent GC of the {@link Word}s
 	 * if the {@link DictionaryFile} that contains them is ever deleted.
@@ -47,6 +54,71 @@ public class Grid {
 		this.wordsOnGrid = wordsOnGrid;
 	}
 
+	/**
+	 * Initialize a {@link Grid} as a view of the occupied region of a finished {@link LetterBoard}.  The {@link
+	 * GridCell} array is only built if something asks for it.
+	 *
+	 * @param width       The final cell count width of the {@link Grid}, including a one cell border.
+	 * @param height      The final cell count height of the {@link Grid}, including a one cell border.
+	 * @param board       The finished {@link LetterBoard}, it must not be written to afterwards.
+	 * @param minX        The board column that becomes column 1 of the {@link Grid}.
+	 * @param minY        The board row that becomes row 1 of the {@link Grid}.
+	 * @param wordsOnGrid The {@link ArrayList} of all {@link Word}s on this {@link Grid}.
+	 */
+	public Grid( int width, int height, LetterBoard board, int minX, int minY, ArrayList< Word > wordsOnGrid ) {
+		this( width, height, ( GridCell[][] ) null, wordsOnGrid );
+
+		this.board = board;
+		this.minX = minX;
+		this.minY = minY;
+	}
+
+	/**
+	 * Create an independent copy of another {@link Grid}.  Every {@link Word}, its {@link WordPlacement} and every
+	 * {@link GridCell} is copied, so the copy stays intact when the {@link DictionaryFile} the original was built from
+	 * is reset for the next {@link Grid}.
+	 *
+	 * @param grid The {@link Grid} to copy.
+	 */
+	public Grid( Grid grid ) {
+		this.width = grid.width;
+		this.height = grid.height;
+
+		IdentityHashMap< Word, Word > copies = new IdentityHashMap< Word, Word >( );
+		wordsOnGrid = new ArrayList< Word >( grid.wordsOnGrid.size( ) );
+		for ( Word word : grid.wordsOnGrid ) {
+			Word copy = new Word( word.getWordString( ), word.getDefinitionString( ) );
+			copy.setWrittenOnGrid( word.isWrittenOnGrid( ) );
+			copies.put( word, copy );
+			wordsOnGrid.add( copy );
+		}
+
+		for ( Word word : grid.wordsOnGrid ) {
+			WordPlacement placement = word.getWordPlacement( );
+			if ( placement != null ) {
+				WordPlacement copy = new WordPlacement(
+						new Vector2( placement.getStartPosition( ) ), placement.getOrientation( ) );
+				for ( Word overlap : placement.getOverlaps( ) )
+					copy.addOverlap( copies.getOrDefault( overlap, overlap ) );
+				copies.get( word ).setWordPlacement( copy );
+			}
+		}
+
+		GridCell[][] cells = grid.getLetterGrid( );
+		letterGrid = new GridCell[ width ][ height ];
+		for ( int x = 0; x < width; x++ ) {
+			for ( int y = 0; y < height; y++ ) {
+				if ( cells[x][y] != null ) {
+					GridCell copy = new GridCell( );
+					copy.setCharacter( cells[x][y].getCharacter( ) );
+					for ( Word reference : cells[x][y].getReferences( ) )
+						copy.addReference( copies.getOrDefault( reference, reference ) );
+					letterGrid[x][y] = copy;
+				}
+			}
+		}
+	}
+
 	/**
 	 * Get the current {@link Grid} width.
 	 *
@@ -71,6 +143,9 @@ public class Grid {
 	 * @return 2D array of {@link GridCell} references.
 	 */
 	public GridCell[][] getLetterGrid() {
+		if ( letterGrid == null && board != null )
+			letterGrid = board.toCellGrid( minX, minY, width, height );
+
 		return letterGrid;
 	}
 
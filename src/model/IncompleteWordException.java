@@ -10,11 +10,35 @@ package model;
  * @see DictionaryFile
  */
 public class IncompleteWordException extends Exception {
+	/** The line of the {@link DictionaryFile} the incomplete {@link Word} is on, or 0 if it is not known. */
+	private final int lineNumber;
+
 	/**
 	 * Default constructor that is used to create a new exception indicating that the DictionaryFile contains a {@link
 	 * Word} that is ill-formed because it doesn't have a definition.
 	 */
 	public IncompleteWordException() {
 		super( "The Word - Defintion pair is incomplete." );
+		lineNumber = 0;
+	}
+
+	/**
+	 * Create a new exception indicating that the {@link Word} on a given line of the DictionaryFile doesn't have a
+	 * definition.
+	 *
+	 * @param lineNumber The line the incomplete {@link Word} is on, counting from 1.
+	 */
+	public IncompleteWordException( int lineNumber ) {
+		super( "The Word - Defintion pair on line " + lineNumber + " is incomplete." );
+		this.lineNumber = lineNumber;
+	}
+
+	/**
+	 * Get the line of the DictionaryFile that holds the incomplete {@link Word}.
+	 *
+	 * @return The line number counting from 1, or 0 if it is not known.
+	 */
+	public int getLineNumber() {
+		return lineNumber;
 	}
 }
@@ -0,0 +1,574 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * LetterBoard.java - A sparse, primitive representation of the crossword puzzle board used by the {@link
+ * control.GridController} while it is placing {@link Word}s.  The board has no fixed size, it is made of square tiles
+ * of cells that are only allocated once a {@link Word} is written into them.  Tiles are found through a hash table
+ * keyed by their packed tile coordinate.  Inside a tile, letters are packed into a char array and the {@link Word}s
+ * that occupy each cell are tracked by integer ids, one slot per {@link Orientation}.  {@link GridCell} objects are only
+ * created once the board is finished and is being turned into a {@link Grid}.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see control.GridController
+ * @see Grid
+ */
+public class LetterBoard {
+	/** The id stored in a word slot that does not reference any {@link Word}. */
+	private static final int NO_WORD = 0;
+
+	/** Log base 2 of the width and height of a tile. {@value} */
+	private static final int TILE_SHIFT = 4;
+
+	/** The mask that gives the position of a cell inside its tile. {@value} */
+	private static final int TILE_MASK = ( 1 << TILE_SHIFT ) - 1;
+
+	/** Log base 2 of the number of cells in a tile. {@value} */
+	private static final int TILE_CELLS_SHIFT = TILE_SHIFT * 2;
+
+	/** The number of cells in a tile. {@value} */
+	private static final int TILE_CELLS = 1 << TILE_CELLS_SHIFT;
+
+	/** The key stored in an empty slot of the tile hash table.  No tile coordinate packs to this value. */
+	private static final long NO_TILE = Long.MIN_VALUE;
+
+	/**
+	 * The char in each cell of each tile.  A cell is addressed by a cell id, the tile number shifted left by {@value
+	 * #TILE_CELLS_SHIFT} plus the position of the cell inside the tile.  A value of 0 marks an empty cell.
+	 */
+	private char[][] tileLetters;
+
+	/**
+	 * The id of the {@link Word} occupying each cell of each tile, two slots per cell.  The even slot holds the {@link
+	 * Orientation} Horizontal {@link Word} and the odd slot holds the {@link Orientation} Vertical {@link Word}.
+	 */
+	private int[][] tileWordIds;
+
+	/** The tile coordinates of each allocated tile, used to turn a cell id back into a position. */
+	private int[] tileXs, tileYs;
+
+	/** The number of tiles currently in use. */
+	private int tileCount = 0;
+
+	/** The packed tile coordinates of the tile hash table, {@link #NO_TILE} marks an empty slot. */
+	private long[] tileKeys;
+
+	/** The tile number stored with each key of the tile hash table. */
+	private int[] tileNumbers;
+
+	/** The packed coordinate of the last tile that was looked up, consecutive cells usually share a tile. */
+	private long lastKey = NO_TILE;
+
+	/** The tile number of the last tile that was looked up, or -1 if it doesn't exist. */
+	private int lastTile = -1;
+
+	/** The per-letter index of cells that are occupied by a single {@link Word} and can still be crossed. */
+	private final CrossingIndex crossings;
+
+	/** The number of occupied cells in each column, used to track the horizontal extents of the board. */
+	private final OccupancyCounter columns = new OccupancyCounter( );
+
+	/** The number of occupied cells in each row, used to track the vertical extents of the board. */
+	private final OccupancyCounter rows = new OccupancyCounter( );
+
+	/** Lookup table from a {@link Word} id back to the {@link Word} itself.  Index 0 is never used. */
+	private Word[] wordTable = new Word[ 16 ];
+
+	/** Stack of ids that have been released by {@link #eraseWord(Word)} and can be handed out again. */
+	private int[] freeIds = new int[ 16 ];
+
+	/** The number of ids currently on the freeIds stack. */
+	private int freeCount = 0;
+
+	/** The next id that has never been handed out. */
+	private int nextId = 1;
+
+	/**
+	 * Create a new, empty {@link LetterBoard} sized for the expected number of letters.  The board still grows past
+	 * this if it has to, the estimate only decides how much is allocated up front.
+	 *
+	 * @param expectedLetters Roughly how many letters will be written, for example the total length of the {@link
+	 *                        Word}s in a {@link WordList}.
+	 */
+	public LetterBoard( int expectedLetters ) {
+		//Crosswords are sparse, so expect a few tiles for every tile's worth of letters
+		int tiles = Math.max( 4, expectedLetters / TILE_CELLS * 4 );
+
+		tileLetters = new char[ tiles ][];
+		tileWordIds = new int[ tiles ][];
+		tileXs = new int[ tiles ];
+		tileYs = new int[ tiles ];
+
+		tileKeys = new long[ Integer.highestOneBit( tiles ) * 4 ];
+		tileNumbers = new int[ tileKeys.length ];
+		Arrays.fill( tileKeys, NO_TILE );
+
+		crossings = new CrossingIndex( tiles * TILE_CELLS );
+	}
+
+	/**
+	 * Get the char written at the given cell.
+	 *
+	 * @param x The column of the cell.
+	 * @param y The row of the cell.
+	 * @return The char in the cell, or 0 if the cell is empty.
+	 */
+	public char getCharacter( int x, int y ) {
+		int tile = findTile( x >> TILE_SHIFT, y >> TILE_SHIFT );
+		return tile < 0 ? 0 : tileLetters[tile][localIndex( x, y )];
+	}
+
+	/**
+	 * Check if any {@link Word} currently occupies the given cell.
+	 *
+	 * @param x The column of the cell.
+	 * @param y The row of the cell.
+	 * @return True if the cell contains a letter.
+	 */
+	public boolean isOccupied( int x, int y ) {
+		return getCharacter( x, y ) != 0;
+	}
+
+	/**
+	 * Get the {@link Word} of the given {@link Orientation} that runs through the given cell.
+	 *
+	 * @param x           The column of the cell.
+	 * @param y           The row of the cell.
+	 * @param orientation Which {@link Orientation} slot of the cell to read.
+	 * @return The {@link Word} in that slot, or null if there is none.
+	 */
+	public Word getWord( int x, int y, Orientation orientation ) {
+		return wordTable[wordIdAt( x, y, orientation )];
+	}
+
+	/**
+	 * Get the number of crossable cells indexed under a letter.  A cell is crossable when it is occupied by a single
+	 * {@link Word} and is not the first letter of that {@link Word}.  Letters outside of ASCII share their index with
+	 * other letters, so the char of each returned cell should still be compared.
+	 *
+	 * @param letter The char to look up.
+	 * @return The number of crossable cells for the letter.
+	 */
+	public int getCrossingCount( char letter ) {
+		return crossings.size( letter );
+	}
+
+	/**
+	 * Get one of the crossable cells indexed under a letter.
+	 *
+	 * @param letter The char to look up.
+	 * @param i      Which of the cells to get, from 0 to {@link #getCrossingCount(char)}.
+	 * @return The cell id, which can be split with {@link #getCellX(int)} and {@link #getCellY(int)}.
+	 */
+	public int getCrossingCell( char letter, int i ) {
+		return crossings.get( letter, i );
+	}
+
+	/**
+	 * Get the column of a cell id.
+	 *
+	 * @param cell The cell id.
+	 * @return The column of the cell.
+	 */
+	public int getCellX( int cell ) {
+		return ( tileXs[cell >> TILE_CELLS_SHIFT] << TILE_SHIFT ) | ( ( cell >> TILE_SHIFT ) & TILE_MASK );
+	}
+
+	/**
+	 * Get the row of a cell id.
+	 *
+	 * @param cell The cell id.
+	 * @return The row of the cell.
+	 */
+	public int getCellY( int cell ) {
+		return ( tileYs[cell >> TILE_CELLS_SHIFT] << TILE_SHIFT ) | ( cell & TILE_MASK );
+	}
+
+	/**
+	 * Write a {@link Word} onto the board at its {@link WordPlacement}, filling in empty cells with its letters and
+	 * claiming the {@link Orientation} slot of every cell it passes through.  Newly filled cells become crossable and
+	 * cells that are now crossed by two {@link Word}s are dropped from the crossing index.
+	 *
+	 * @param word The {@link Word} to write, it must already have a {@link WordPlacement}.
+	 */
+	public void writeWord( Word word ) {
+		WordPlacement placement = word.getWordPlacement( );
+		String string = word.getWordString( );
+		int id = acquireId( word );
+
+		int x = placement.getStartPosition( ).getX( );
+		int y = placement.getStartPosition( ).getY( );
+
+		for ( int i = 0; i < string.length( ); i++ ) {
+			int tile = claimTile( x >> TILE_SHIFT, y >> TILE_SHIFT );
+			int local = localIndex( x, y );
+			char[] letters = tileLetters[tile];
+
+			if ( letters[local] == 0 ) {
+				letters[local] = string.charAt( i );
+				columns.increment( x );
+				rows.increment( y );
+				if ( i > 0 )
+					crossings.add( cellId( tile, local ), letters[local] );
+			}
+			else {
+				crossings.remove( cellId( tile, local ), letters[local] );
+			}
+
+			tileWordIds[tile][slotIndex( local, placement.getOrientation( ) )] = id;
+
+			if ( placement.getOrientation( ) == Orientation.HORIZONTAL )
+				x++;
+			else
+				y++;
+		}
+	}
+
+	/**
+	 * Remove a {@link Word} from the board.  Cells that are no longer referenced by any {@link Word} are cleared, cells
+	 * that are left with a single {@link Word} become crossable again.
+	 *
+	 * @param word The {@link Word} to remove, it must be the same {@link Word} that was written.
+	 */
+	public void eraseWord( Word word ) {
+		WordPlacement placement = word.getWordPlacement( );
+		int length = word.getWordString( ).length( );
+
+		int x = placement.getStartPosition( ).getX( );
+		int y = placement.getStartPosition( ).getY( );
+		int id = wordIdAt( x, y, placement.getOrientation( ) );
+
+		for ( int i = 0; i < length; i++ ) {
+			int tile = findTile( x >> TILE_SHIFT, y >> TILE_SHIFT );
+			int local = localIndex( x, y );
+			int slot = slotIndex( local, placement.getOrientation( ) );
+			int[] wordIds = tileWordIds[tile];
+
+			if ( wordIds[slot] == id ) {
+				wordIds[slot] = NO_WORD;
+				if ( wordIds[local * 2] == NO_WORD && wordIds[local * 2 + 1] == NO_WORD ) {
+					crossings.remove( cellId( tile, local ), tileLetters[tile][local] );
+					tileLetters[tile][local] = 0;
+					columns.decrement( x );
+					rows.decrement( y );
+				}
+				else if ( !isFirstLetter( x, y, crossingOrientation( placement.getOrientation( ) ) ) ) {
+					crossings.add( cellId( tile, local ), tileLetters[tile][local] );
+				}
+			}
+
+			if ( placement.getOrientation( ) == Orientation.HORIZONTAL )
+				x++;
+			else
+				y++;
+		}
+
+		releaseId( id );
+	}
+
+	/**
+	 * Clear every cell on the board and forget all the {@link Word} ids.  The tiles are kept and reused the next time
+	 * the board grows, only the tiles that were actually used are wiped.
+	 */
+	public void clear() {
+		crossings.clear( );
+		columns.clear( );
+		rows.clear( );
+
+		for ( int tile = 0; tile < tileCount; tile++ ) {
+			Arrays.fill( tileLetters[tile], ( char ) 0 );
+			Arrays.fill( tileWordIds[tile], NO_WORD );
+		}
+
+		Arrays.fill( tileKeys, NO_TILE );
+		tileCount = 0;
+		lastKey = NO_TILE;
+		lastTile = -1;
+
+		Arrays.fill( wordTable, null );
+		freeCount = 0;
+		nextId = 1;
+	}
+
+	/**
+	 * Get the extents of every occupied cell on the board.  The extents are kept up to date as {@link Word}s are
+	 * written and erased, so no cells are visited.
+	 *
+	 * @param box The {@link BoundingBox} to store the extents in.
+	 */
+	public void findExtents( BoundingBox box ) {
+		box.setMinX( columns.getMin( ) );
+		box.setMaxX( columns.getMax( ) );
+		box.setMinY( rows.getMin( ) );
+		box.setMaxY( rows.getMax( ) );
+	}
+
+	/**
+	 * Build the 2D array of {@link GridCell}s used by a finished {@link Grid}.  The region of the board starting at
+	 * (minX, minY) is copied into the new array offset by one cell, leaving an empty border around the puzzle.  Only
+	 * occupied cells get a {@link GridCell}, the rest are left null.  Only the allocated tiles are visited.
+	 *
+	 * @param minX       The left-most column of the board to copy.
+	 * @param minY       The upper-most row of the board to copy.
+	 * @param gridWidth  The width of the new array, including the border.
+	 * @param gridHeight The height of the new array, including the border.
+	 * @return The new 2D {@link GridCell} array.
+	 */
+	public GridCell[][] toCellGrid( int minX, int minY, int gridWidth, int gridHeight ) {
+		GridCell[][] cells = new GridCell[ gridWidth ][ gridHeight ];
+
+		for ( int tile = 0; tile < tileCount; tile++ ) {
+			for ( int local = 0; local < TILE_CELLS; local++ ) {
+				int cell = cellId( tile, local );
+				int x = getCellX( cell ) - minX + 1;
+				int y = getCellY( cell ) - minY + 1;
+
+				if ( tileLetters[tile][local] != 0 && x > 0 && x < gridWidth - 1 && y > 0 && y < gridHeight - 1 )
+					cells[x][y] = createGridCell( tile, local );
+			}
+		}
+
+		return cells;
+	}
+
+	/**
+	 * Create the {@link GridCell} for one occupied cell, with its char and {@link Word} references.
+	 *
+	 * @param tile  The tile number of the cell.
+	 * @param local The position of the cell inside the tile.
+	 * @return The new {@link GridCell}.
+	 */
+	private GridCell createGridCell( int tile, int local ) {
+		GridCell gridCell = new GridCell( );
+		gridCell.setCharacter( tileLetters[tile][local] );
+
+		int[] wordIds = tileWordIds[tile];
+		if ( wordIds[local * 2] != NO_WORD )
+			gridCell.addReference( wordTable[wordIds[local * 2]] );
+		if ( wordIds[local * 2 + 1] != NO_WORD )
+			gridCell.addReference( wordTable[wordIds[local * 2 + 1]] );
+
+		return gridCell;
+	}
+
+	/**
+	 * Read the id in one {@link Orientation} slot of a cell.
+	 *
+	 * @param x           The column of the cell.
+	 * @param y           The row of the cell.
+	 * @param orientation The {@link Orientation} of the slot.
+	 * @return The id of the {@link Word} in the slot, or {@link #NO_WORD}.
+	 */
+	private int wordIdAt( int x, int y, Orientation orientation ) {
+		int tile = findTile( x >> TILE_SHIFT, y >> TILE_SHIFT );
+		return tile < 0 ? NO_WORD : tileWordIds[tile][slotIndex( localIndex( x, y ), orientation )];
+	}
+
+	/**
+	 * Check if a cell holds the first letter of the {@link Word} of the given {@link Orientation} that runs through it.
+	 *
+	 * @param x           The column of the cell.
+	 * @param y           The row of the cell.
+	 * @param orientation The {@link Orientation} of the {@link Word} to test.
+	 * @return True if the previous cell in that {@link Orientation} does not belong to the same {@link Word}.
+	 */
+	private boolean isFirstLetter( int x, int y, Orientation orientation ) {
+		int id = wordIdAt( x, y, orientation );
+		boolean firstLetter;
+
+		if ( orientation == Orientation.HORIZONTAL )
+			firstLetter = wordIdAt( x - 1, y, orientation ) != id;
+		else
+			firstLetter = wordIdAt( x, y - 1, orientation ) != id;
+
+		return firstLetter;
+	}
+
+	/**
+	 * Get the {@link Orientation} that crosses the given one.
+	 *
+	 * @param orientation The {@link Orientation} of a {@link Word}.
+	 * @return Vertical for Horizontal and Horizontal for Vertical.
+	 */
+	private Orientation crossingOrientation( Orientation orientation ) {
+		return orientation == Orientation.HORIZONTAL ? Orientation.VERTICAL : Orientation.HORIZONTAL;
+	}
+
+	/**
+	 * Get the position of a cell inside its tile.
+	 *
+	 * @param x The column of the cell.
+	 * @param y The row of the cell.
+	 * @return The index of the cell in the arrays of its tile.
+	 */
+	private int localIndex( int x, int y ) {
+		return ( ( x & TILE_MASK ) << TILE_SHIFT ) | ( y & TILE_MASK );
+	}
+
+	/**
+	 * Combine a tile number and a position inside the tile into a cell id.
+	 *
+	 * @param tile  The tile number.
+	 * @param local The position of the cell inside the tile.
+	 * @return The cell id.
+	 */
+	private int cellId( int tile, int local ) {
+		return ( tile << TILE_CELLS_SHIFT ) | local;
+	}
+
+	/**
+	 * Convert a position inside a tile and an {@link Orientation} into an index for the word id array of the tile.
+	 *
+	 * @param local       The position of the cell inside the tile.
+	 * @param orientation The {@link Orientation} of the slot.
+	 * @return The index of the slot in the word id array of the tile.
+	 */
+	private int slotIndex( int local, Orientation orientation ) {
+		return orientation == Orientation.VERTICAL ? local * 2 + 1 : local * 2;
+	}
+
+	/**
+	 * Pack a tile coordinate into a single key for the tile hash table.
+	 *
+	 * @param tileX The column of the tile.
+	 * @param tileY The row of the tile.
+	 * @return The packed key.
+	 */
+	private long packTile( int tileX, int tileY ) {
+		return ( ( long ) tileX << 32 ) | ( tileY & 0xFFFFFFFFL );
+	}
+
+	/**
+	 * Find the slot of the tile hash table that holds a key, or the empty slot where it would go.
+	 *
+	 * @param key The packed tile coordinate.
+	 * @return The index of the slot.
+	 */
+	private int probe( long key ) {
+		int mask = tileKeys.length - 1;
+		int slot = ( int ) ( ( key * 0x9E3779B97F4A7C15L ) >>> 40 ) & mask;
+
+		while ( tileKeys[slot] != NO_TILE && tileKeys[slot] != key )
+			slot = ( slot + 1 ) & mask;
+
+		return slot;
+	}
+
+	/**
+	 * Look up the tile number of a tile coordinate without allocating anything.
+	 *
+	 * @param tileX The column of the tile.
+	 * @param tileY The row of the tile.
+	 * @return The tile number, or -1 if that tile has never been written to.
+	 */
+	private int findTile( int tileX, int tileY ) {
+		long key = packTile( tileX, tileY );
+
+		if ( key != lastKey ) {
+			int slot = probe( key );
+			lastKey = key;
+			lastTile = tileKeys[slot] == key ? tileNumbers[slot] : -1;
+		}
+
+		return lastTile;
+	}
+
+	/**
+	 * Look up the tile number of a tile coordinate, allocating the tile if it doesn't exist yet.
+	 *
+	 * @param tileX The column of the tile.
+	 * @param tileY The row of the tile.
+	 * @return The tile number.
+	 */
+	private int claimTile( int tileX, int tileY ) {
+		int tile = findTile( tileX, tileY );
+
+		if ( tile < 0 ) {
+			if ( ( tileCount + 1 ) * 2 > tileKeys.length )
+				growTileTable( );
+
+			tile = tileCount++;
+			if ( tile >= tileLetters.length )
+				growTiles( );
+			if ( tileLetters[tile] == null ) {
+				tileLetters[tile] = new char[ TILE_CELLS ];
+				tileWordIds[tile] = new int[ TILE_CELLS * 2 ];
+			}
+
+			tileXs[tile] = tileX;
+			tileYs[tile] = tileY;
+
+			long key = packTile( tileX, tileY );
+			int slot = probe( key );
+			tileKeys[slot] = key;
+			tileNumbers[slot] = tile;
+
+			lastKey = key;
+			lastTile = tile;
+		}
+
+		return tile;
+	}
+
+	/**
+	 * Double the capacity of the tile arrays and the crossing index.
+	 */
+	private void growTiles() {
+		int tiles = tileLetters.length * 2;
+
+		tileLetters = Arrays.copyOf( tileLetters, tiles );
+		tileWordIds = Arrays.copyOf( tileWordIds, tiles );
+		tileXs = Arrays.copyOf( tileXs, tiles );
+		tileYs = Arrays.copyOf( tileYs, tiles );
+
+		crossings.ensureCapacity( tiles * TILE_CELLS );
+	}
+
+	/**
+	 * Double the size of the tile hash table and re-insert every tile.
+	 */
+	private void growTileTable() {
+		tileKeys = new long[ tileKeys.length * 2 ];
+		tileNumbers = new int[ tileKeys.length ];
+		Arrays.fill( tileKeys, NO_TILE );
+
+		for ( int tile = 0; tile < tileCount; tile++ ) {
+			long key = packTile( tileXs[tile], tileYs[tile] );
+			int slot = probe( key );
+			tileKeys[slot] = key;
+			tileNumbers[slot] = tile;
+		}
+	}
+
+	/**
+	 * Hand out an id for a {@link Word} that is being written, reusing released ids first.
+	 *
+	 * @param word The {@link Word} to register.
+	 * @return The id that now refers to the {@link Word}.
+	 */
+	private int acquireId( Word word ) {
+		int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+
+		if ( id >= wordTable.length )
+			wordTable = Arrays.copyOf( wordTable, wordTable.length * 2 );
+
+		wordTable[id] = word;
+		return id;
+	}
+
+	/**
+	 * Return an id to the free stack once its {@link Word} has been erased.
+	 *
+	 * @param id The id to release.
+	 */
+	private void releaseId( int id ) {
+		wordTable[id] = null;
+
+		if ( freeCount >= freeIds.length )
+			freeIds = Arrays.copyOf( freeIds, freeIds.length * 2 );
+
+		freeIds[freeCount++] = id;
+	}
+}
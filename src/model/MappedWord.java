@@ -0,0 +1,100 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * MappedWord.java - A {@link Word} that is a view of one entry of a memory-mapped {@link CompiledDictionary}.  The
+ * word and definition are only decoded the first time they are asked for, the length and letter mask are read
+ * straight from the entry.  The buffers are only read with absolute gets, so views can be shared between threads.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see CompiledDictionary
+ */
+class MappedWord extends Word {
+	/** The entry table of the compiled dictionary. */
+	private final ByteBuffer entries;
+
+	/** The string data of the compiled dictionary. */
+	private final ByteBuffer data;
+
+	/** The offset of this view's entry in the entry table. */
+	private final int entry;
+
+	/** The decoded word, null until it is first asked for. */
+	private String decodedWord;
+
+	/** The decoded definition, null until it is first asked for. */
+	private String decodedDefinition;
+
+	/**
+	 * Create a view of an entry.
+	 *
+	 * @param entries The entry table of the compiled dictionary.
+	 * @param data    The string data of the compiled dictionary.
+	 * @param index   The index of the entry.
+	 */
+	MappedWord( ByteBuffer entries, ByteBuffer data, int index ) {
+		super( null, null );
+		this.entries = entries;
+		this.data = data;
+		this.entry = index * CompiledDictionary.ENTRY_SIZE;
+	}
+
+	@Override
+	public String getWordString() {
+		if ( decodedWord == null )
+			decodedWord = decode( entries.getInt( entry ), entries.getInt( entry + 4 ) );
+
+		return decodedWord;
+	}
+
+	@Override
+	public String getDefinitionString() {
+		if ( decodedDefinition == null )
+			decodedDefinition = decode( entries.getInt( entry + 12 ), entries.getInt( entry + 16 ) );
+
+		return decodedDefinition;
+	}
+
+	/**
+	 * Create a fresh view of the same entry, which shares the buffers and doesn't decode anything that hasn't been
+	 * decoded yet.
+	 *
+	 * @return The copy.
+	 */
+	@Override
+	public Word copy() {
+		MappedWord copy = new MappedWord( entries, data, entry / CompiledDictionary.ENTRY_SIZE );
+		copy.decodedWord = decodedWord;
+		copy.decodedDefinition = decodedDefinition;
+
+		return copy;
+	}
+
+	@Override
+	public int length() {
+		return entries.getInt( entry + 8 );
+	}
+
+	@Override
+	public int getLetterMask() {
+		return entries.getInt( entry + 20 );
+	}
+
+	/**
+	 * Decode a UTF-8 string out of the string data.
+	 *
+	 * @param offset The offset of the string in the string data.
+	 * @param length The length of the string in bytes.
+	 * @return The decoded {@link String}.
+	 */
+	private String decode( int offset, int length ) {
+		byte[] bytes = new byte[ length ];
+		for ( int i = 0; i < length; i++ )
+			bytes[i] = data.get( offset + i );
+
+		return new String( bytes, StandardCharsets.UTF_8 );
+	}
+}
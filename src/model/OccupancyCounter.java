@@ -0,0 +1,115 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * OccupancyCounter.java - Counts the occupied cells of every row or every column of a {@link LetterBoard} and keeps
+ * track of the lowest and highest coordinate that still has any.  Counts go up and down as letters are written and
+ * cleared, so the extents of the board stay correct when {@link Word}s are removed without rescanning any cells.
+ *
+ * @author Andrew McGuiness
+ * @version 15/Feb/2017
+ * @see LetterBoard
+ */
+class OccupancyCounter {
+	/** The number of occupied cells at each coordinate, stored at the coordinate minus the origin. */
+	private int[] counts = new int[ 64 ];
+
+	/** The coordinate that is stored at index 0 of the counts array. */
+	private int origin = -32;
+
+	/** The lowest coordinate with an occupied cell. */
+	private int min = Integer.MAX_VALUE;
+
+	/** The highest coordinate with an occupied cell. */
+	private int max = Integer.MIN_VALUE;
+
+	/** The number of occupied cells across all coordinates. */
+	private int total = 0;
+
+	/**
+	 * Record that a cell at the given coordinate became occupied.
+	 *
+	 * @param coordinate The row or column of the cell.
+	 */
+	void increment( int coordinate ) {
+		ensureCovers( coordinate );
+		counts[coordinate - origin]++;
+		total++;
+
+		min = Math.min( min, coordinate );
+		max = Math.max( max, coordinate );
+	}
+
+	/**
+	 * Record that a cell at the given coordinate was cleared.  If it was the last cell at the lowest or highest
+	 * coordinate, that extent moves inwards to the next coordinate that is still occupied.
+	 *
+	 * @param coordinate The row or column of the cell.
+	 */
+	void decrement( int coordinate ) {
+		counts[coordinate - origin]--;
+		total--;
+
+		if ( total == 0 ) {
+			min = Integer.MAX_VALUE;
+			max = Integer.MIN_VALUE;
+		}
+		else {
+			while ( counts[min - origin] == 0 )
+				min++;
+			while ( counts[max - origin] == 0 )
+				max--;
+		}
+	}
+
+	/**
+	 * Get the lowest coordinate with an occupied cell.
+	 *
+	 * @return The lowest occupied coordinate, or {@link Integer#MAX_VALUE} if nothing is occupied.
+	 */
+	int getMin() {
+		return min;
+	}
+
+	/**
+	 * Get the highest coordinate with an occupied cell.
+	 *
+	 * @return The highest occupied coordinate, or {@link Integer#MIN_VALUE} if nothing is occupied.
+	 */
+	int getMax() {
+		return max;
+	}
+
+	/**
+	 * Forget every count.  Only the occupied range is wiped.
+	 */
+	void clear() {
+		if ( total > 0 )
+			Arrays.fill( counts, min - origin, max - origin + 1, 0 );
+
+		min = Integer.MAX_VALUE;
+		max = Integer.MIN_VALUE;
+		total = 0;
+	}
+
+	/**
+	 * Grow the counts array so that it covers the given coordinate, keeping room on both sides.
+	 *
+	 * @param coordinate The coordinate that must be covered.
+	 */
+	private void ensureCovers( int coordinate ) {
+		if ( coordinate < origin || coordinate >= origin + counts.length ) {
+			int low = Math.min( origin, coordinate );
+			int high = Math.max( origin + counts.length, coordinate + 1 );
+			int length = Math.max( counts.length * 2, ( high - low ) * 2 );
+			int newOrigin = low - ( length - ( high - low ) ) / 2;
+
+			int[] newCounts = new int[ length ];
+			System.arraycopy( counts, 0, newCounts, origin - newOrigin, counts.length );
+
+			counts = newCounts;
+			origin = newOrigin;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package model;
+
+/**
+ * OutputFormat.java - The file formats a puzzle can be written in.  PNG is a raster drawn by the {@link
+ * control.PuzzleImageController}, SVG and PDF are vector pages streamed by the {@link
+ * control.VectorPuzzleController}.
+ *
+ * @author - Andrew McGuiness
+ * @version - 16/Feb/2017
+ * @see control.PuzzleImageController
+ * @see control.VectorPuzzleController
+ */
+public enum OutputFormat {
+	PNG( ".png" ), SVG( ".svg" ), PDF( ".pdf" );
+
+	/** The file extension of the format, with its leading dot. */
+	private final String extension;
+
+	/**
+	 * Create an {@link OutputFormat}.
+	 *
+	 * @param extension The file extension of the format, with its leading dot.
+	 */
+	OutputFormat( String extension ) {
+		this.extension = extension;
+	}
+
+	/**
+	 * Get the file extension of the format.
+	 *
+	 * @return The extension, with its leading dot.
+	 */
+	public String getExtension() {
+		return extension;
+	}
+
+	/**
+	 * Check if the format describes the page with shapes and text instead of pixels.
+	 *
+	 * @return True for SVG and PDF.
+	 */
+	public boolean isVector() {
+		return this != PNG;
+	}
+}
@@ -0,0 +1,122 @@
+package model;
+
+/**
+ * PageSetup.java - The paper size and resolution a puzzle page is laid out for.  The page is measured in inches and
+ * drawn at a number of pixels per inch, which also sets the size of the raster images.
+ *
+ * @author - Andrew McGuiness
+ * @version - 16/Feb/2017
+ * @see control.PuzzleImageController
+ * @see control.VectorPuzzleController
+ */
+public class PageSetup {
+	/** U.S. Letter paper, 8.5x11in at 150 pixels per inch, the page used unless told otherwise. */
+	public static final PageSetup LETTER = new PageSetup( 8.5, 11, 150 );
+
+	/** The width of the paper in inches. */
+	private final double paperWidth;
+
+	/** The height of the paper in inches. */
+	private final double paperHeight;
+
+	/** The resolution of the page in pixels per inch. */
+	private final int pixelsPerInch;
+
+	/**
+	 * Create a new {@link PageSetup}.
+	 *
+	 * @param paperWidth    The width of the paper in inches.
+	 * @param paperHeight   The height of the paper in inches.
+	 * @param pixelsPerInch The resolution of the page in pixels per inch.
+	 * @throws IllegalArgumentException Thrown if any of the values is not positive.
+	 */
+	public PageSetup( double paperWidth, double paperHeight, int pixelsPerInch ) {
+		if ( !( paperWidth > 0 ) || !( paperHeight > 0 ) || pixelsPerInch <= 0 )
+			throw new IllegalArgumentException( "The paper size and resolution must be positive." );
+
+		this.paperWidth = paperWidth;
+		this.paperHeight = paperHeight;
+		this.pixelsPerInch = pixelsPerInch;
+	}
+
+	/**
+	 * Read a paper size written as WIDTHxHEIGHT in inches, like 8.5x11 or 24x36.
+	 *
+	 * @param size          The paper size.
+	 * @param pixelsPerInch The resolution of the page in pixels per inch.
+	 * @return The {@link PageSetup}.
+	 * @throws IllegalArgumentException Thrown if the size can't be read.
+	 */
+	public static PageSetup parse( String size, int pixelsPerInch ) {
+		int x = size.toLowerCase( ).indexOf( 'x' );
+		if ( x < 0 )
+			throw new IllegalArgumentException( "Expected a paper size like 8.5x11, not " + size + "." );
+
+		return new PageSetup( Double.parseDouble( size.substring( 0, x ) ), Double.parseDouble( size.substring( x + 1 ) ),
+				pixelsPerInch );
+	}
+
+	/**
+	 * Get the paper size in the form {@link #parse(String, int)} reads, like 8.5x11.
+	 *
+	 * @return The paper size in inches.
+	 */
+	public String getPaperSize() {
+		return inches( paperWidth ) + "x" + inches( paperHeight );
+	}
+
+	/**
+	 * Get the width of the paper.
+	 *
+	 * @return The width in inches.
+	 */
+	public double getPaperWidth() {
+		return paperWidth;
+	}
+
+	/**
+	 * Get the height of the paper.
+	 *
+	 * @return The height in inches.
+	 */
+	public double getPaperHeight() {
+		return paperHeight;
+	}
+
+	/**
+	 * Get the resolution of the page.
+	 *
+	 * @return The pixels per inch.
+	 */
+	public int getPixelsPerInch() {
+		return pixelsPerInch;
+	}
+
+	/**
+	 * Get the width of the page in pixels.
+	 *
+	 * @return The width of the page at its resolution.
+	 */
+	public int getPixelWidth() {
+		return ( int ) ( paperWidth * pixelsPerInch );
+	}
+
+	/**
+	 * Get the height of the page in pixels.
+	 *
+	 * @return The height of the page at its resolution.
+	 */
+	public int getPixelHeight() {
+		return ( int ) ( paperHeight * pixelsPerInch );
+	}
+
+	/**
+	 * Format a length in inches without a fraction if it is a whole number.
+	 *
+	 * @param inches The length in inches.
+	 * @return The formatted length.
+	 */
+	private static String inches( double inches ) {
+		return inches == Math.rint( inches ) ? Long.toString( ( long ) inches ) : Double.toString( inches );
+	}
+}
@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * PuzzleGenerationException.java - A custom exception that is thrown by the {@link control.GridController} when it is
+ * unable to fit every {@link Word} of a {@link DictionaryFile} onto a {@link Grid}.  This happens when a {@link Word}
+ * shares no letters with the rest of the {@link WordList}, or when the {@link WordList} is simply too hard to cross.
+ *
+ * @author - Andrew McGuiness
+ * @version - 15/Feb/2017
+ * @see control.GridController
+ */
+public class PuzzleGenerationException extends Exception {
+	/** The version of the serialized form. {@value} */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Create a new exception indicating that no valid {@link Grid} was found within the given number of attempts.
+	 *
+	 * @param attempts How many times the {@link control.GridController} started over before giving up.
+	 */
+	public PuzzleGenerationException( int attempts ) {
+		this( "Unable to fit all the words onto a grid after " + attempts + " attempts." );
+	}
+
+	/**
+	 * Create a new exception with a specific message, used when generation stops for a reason other than running out
+	 * of attempts.
+	 *
+	 * @param message The reason the {@link Grid} could not be generated.
+	 */
+	public PuzzleGenerationException( String message ) {
+		super( message );
+	}
+}
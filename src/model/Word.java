@@ -52,6 +52,25 @@ public class Word implements Comparable {
 		return definition;
 	}
 
+	/**
+	 * Get the number of chars in the word.
+	 *
+	 * @return The length of the word {@link String}.
+	 */
+	public int length() {
+		return getWordString( ).length( );
+	}
+
+	/**
+	 * Get a mask of the letters in the word.  Bit n is set if the word contains the n-th letter of the alphabet in
+	 * either case, bit 26 if it contains anything else.
+	 *
+	 * @return The letter mask of the word.
+	 */
+	public int getLetterMask() {
+		return CompiledDictionary.letterMask( getWordString( ) );
+	}
+
 	/**
 	 * Has this {@link Word} already been written to a {@link Grid} by the {@link control.GridController}.
 	 *
@@ -89,6 +108,15 @@ public class Word implements Comparable {
 		this.wordPlacement = wordPlacement;
 	}
 
+	/**
+	 * Create an unplaced copy of this {@link Word} with the same word and definition.
+	 *
+	 * @return The copy.
+	 */
+	public Word copy() {
+		return new Word( word, definition );
+	}
+
 	/**
 	 * Reset the Word's {@link WordPlacement} and Flag.
 	 */
@@ -104,7 +132,7 @@ public class Word implements Comparable {
 	 */
 	@Override
 	public String toString() {
-		return word + " - " + definition + "\n";
+		return getWordString( ) + " - " + getDefinitionString( ) + "\n";
 	}
 
 	/**
@@ -118,7 +146,7 @@ public class Word implements Comparable {
 		int difference = 0;
 
 		if ( otherWord instanceof Word )
-			difference = word.length( ) - ( ( Word ) otherWord ).getWordString( ).length( );
+			difference = length( ) - ( ( Word ) otherWord ).length( );
 
 		return difference;
 	}
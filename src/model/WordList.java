@@ -1,12 +1,21 @@
 package model;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Random;
 
 /**
  * WordList.java - A custom collection that is backed by an ArrayList.  Encapsulates the list of word-definition pairs
  * from a DictionaryFile.  This simplifies interaction between the controllers and the DictionaryFile.
  *
+ * Alongside the list, the {@link Word}s waiting to be placed are kept in a queue in the order they will be tried, so
+ * {@link #getNextUnplaced()} and {@link #pushToBack(Word)} take constant time.  {@link Word}s that are written onto a
+ * {@link Grid} stay at the head of the queue until the next call to {@link #getNextUnplaced()} drops them.
+ *
  * @author - Andrew McGuiness
  * @version - 14/Feb/2017
  */
@@ -14,6 +23,12 @@ public class WordList {
 	/** The {@link ArrayList} of {@link Word}s that contains all the words from a {@link DictionaryFile}. */
 	private ArrayList< Word > wordsArrayList;
 
+	/** The same {@link Word}s in the order they were added, so a seeded shuffle always starts from the same order. */
+	private final ArrayList< Word > addedOrder;
+
+	/** The {@link Word}s that are waiting to be placed, in the order they will be tried. */
+	private final ArrayDeque< Word > unplaced = new ArrayDeque< Word >( );
+
 	/**
 	 * Create a new {@link WordList} with no {@link Word}s.
 	 */
@@ -28,6 +43,22 @@ public class WordList {
 	 */
 	public WordList( ArrayList< Word > wordsArrayList ) {
 		this.wordsArrayList = wordsArrayList;
+		this.addedOrder = new ArrayList< Word >( wordsArrayList );
+		rebuildQueue( );
+	}
+
+	/**
+	 * Create a new {@link WordList} that holds a fresh copy of every {@link Word} in another {@link WordList}, in the
+	 * order they were added to it.  The copies start out unplaced, see {@link Word#copy()}, so copying a compiled
+	 * dictionary doesn't decode its entries.
+	 *
+	 * @param wordList The {@link WordList} to copy.
+	 */
+	public WordList( WordList wordList ) {
+		this( new ArrayList< Word >( wordList.listSize( ) ) );
+
+		for ( Word w : wordList.addedOrder )
+			addWord( w.copy( ) );
 	}
 
 	/**
@@ -37,25 +68,23 @@ public class WordList {
 	 */
 	public void addWord( Word word ) {
 		wordsArrayList.add( word );
+		addedOrder.add( word );
+
+		if ( !word.isWrittenOnGrid( ) )
+			unplaced.addLast( word );
 	}
 
 	/**
-	 * Return the next {@link Word} in the {@link WordList} that has it's placement flag set to false.
+	 * Return the next {@link Word} in the {@link WordList} that has it's placement flag set to false.  Placed {@link
+	 * Word}s at the head of the queue are dropped on the way, each only once, so this is constant time on average.
 	 *
-	 * @return Next {@link Word} in the {@link WordList} that hasn't been placed.
+	 * @return Next {@link Word} in the {@link WordList} that hasn't been placed, or null if every {@link Word} is placed.
 	 */
 	public Word getNextUnplaced() {
-		Word unplaced = null;
-
-		int index = 0;
-		while ( unplaced == null && index < wordsArrayList.size( ) ) {
-			if ( !wordsArrayList.get( index ).isWrittenOnGrid( ) )
-				unplaced = wordsArrayList.get( index );
-			else
-				index++;
-		}
+		while ( !unplaced.isEmpty( ) && unplaced.peekFirst( ).isWrittenOnGrid( ) )
+			unplaced.removeFirst( );
 
-		return unplaced;
+		return unplaced.peekFirst( );
 	}
 
 	/**
@@ -68,11 +97,57 @@ public class WordList {
 	}
 
 	/**
-	 * Reset each {@link Word}. This Nullifies it's {@link WordPlacement} and resets it's placed flag to false.
+	 * Count the letters of every {@link Word} in this {@link WordList}.  Used to size a board before placing them.
+	 *
+	 * @return The total length of all the {@link Word}s.
+	 */
+	public int letterCount() {
+		int letters = 0;
+
+		for ( Word w : wordsArrayList )
+			letters += w.length( );
+
+		return letters;
+	}
+
+	/**
+	 * Compute the SHA-256 digest of the words and definitions in the order they were added, which is what a seeded
+	 * {@link Grid} depends on.  Two {@link WordList}s with the same digest build the same {@link Grid} from the same
+	 * seed, however they were loaded.
+	 *
+	 * @return The digest as lower case hex.
+	 */
+	public String digest() {
+		MessageDigest sha;
+		try {
+			sha = MessageDigest.getInstance( "SHA-256" );
+		} catch ( NoSuchAlgorithmException nsae ) {
+			throw new IllegalStateException( "Every Java platform provides SHA-256.", nsae );
+		}
+
+		for ( Word w : addedOrder ) {
+			sha.update( w.getWordString( ).getBytes( StandardCharsets.UTF_8 ) );
+			sha.update( ( byte ) 0 );
+			sha.update( w.getDefinitionString( ).getBytes( StandardCharsets.UTF_8 ) );
+			sha.update( ( byte ) '\n' );
+		}
+
+		StringBuilder hex = new StringBuilder( );
+		for ( byte b : sha.digest( ) )
+			hex.append( String.format( "%02x", b ) );
+
+		return hex.toString( );
+	}
+
+	/**
+	 * Reset each {@link Word}. This Nullifies it's {@link WordPlacement} and resets it's placed flag to false.  Every
+	 * {@link Word} goes back into the queue in list order.
 	 */
 	public void reset() {
 		for ( Word w : wordsArrayList )
 			w.reset( );
+
+		rebuildQueue( );
 	}
 
 	/**
@@ -80,6 +155,21 @@ public class WordList {
 	 */
 	public void shuffle() {
 		Collections.shuffle( wordsArrayList );
+		rebuildQueue( );
+	}
+
+	/**
+	 * Shuffle the {@link WordList} using the given {@link Random}, so the order can be reproduced from a seed.  The
+	 * shuffle starts from the order the {@link Word}s were added in, not from the current order, so the same seed
+	 * gives the same order however the {@link WordList} was shuffled before.
+	 *
+	 * @param random The {@link Random} used to shuffle.
+	 */
+	public void shuffle( Random random ) {
+		wordsArrayList.clear( );
+		wordsArrayList.addAll( addedOrder );
+		Collections.shuffle( wordsArrayList, random );
+		rebuildQueue( );
 	}
 
 	/**
@@ -101,13 +191,41 @@ public class WordList {
 	/**
 	 * Push the indicated {@link Word} to the back of the {@link WordList},  this will effectively make it the last word
 	 * in line to be placed on the {@link Grid}.  Used if a word is unable to find a suitable {@link WordPlacement}
-	 * based on the current {@link Grid}.
+	 * based on the current {@link Grid}.  Constant time when the {@link Word} is the one {@link #getNextUnplaced()}
+	 * returned, any other {@link Word} has to be searched for in the queue.
 	 *
 	 * @param word Which {@link Word} to push to the back.
 	 */
 	public void pushToBack( Word word ) {
-		wordsArrayList.remove( word );
+		if ( unplaced.peekFirst( ) == word )
+			unplaced.removeFirst( );
+		else
+			unplaced.removeFirstOccurrence( word );
+
 		word.reset( );
-		wordsArrayList.add( word );
+		unplaced.addLast( word );
+	}
+
+	/**
+	 * Put a {@link Word} that was taken off the {@link Grid} at the front of the {@link WordList}, so it is the next
+	 * {@link Word} returned by {@link #getNextUnplaced()}.  The {@link Word} must not already be waiting in the queue,
+	 * which holds for any {@link Word} that was placed and then reset.
+	 *
+	 * @param word Which {@link Word} to push to the front.
+	 */
+	public void pushToFront( Word word ) {
+		word.reset( );
+		unplaced.addFirst( word );
+	}
+
+	/**
+	 * Refill the queue with every unplaced {@link Word}, in list order.
+	 */
+	private void rebuildQueue() {
+		unplaced.clear( );
+
+		for ( Word w : wordsArrayList )
+			if ( !w.isWrittenOnGrid( ) )
+				unplaced.addLast( w );
 	}
 }